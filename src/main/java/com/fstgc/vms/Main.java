@@ -1,20 +1,25 @@
 package com.fstgc.vms;
 
-import com.fstgc.vms.repository.memory.InMemoryAdminRepository;
+import com.fstgc.vms.repository.RepositoryRegistry;
 import com.fstgc.vms.service.AuthenticationService;
 import com.fstgc.vms.ui.LoginDialog;
 import com.fstgc.vms.ui.SystemUI;
-import com.fstgc.vms.util.DataPersistence;
 
 import javax.swing.*;
 
 public class Main {
     public static void main(String[] args) {
+        // One instance of each repository, shared by every service; -Dvms.repository picks the backend
+        RepositoryRegistry repositories = new RepositoryRegistry();
+
         // Initialize data persistence
-        DataPersistence.initialize();
-        
-        // Create authentication service
-        AuthenticationService authService = new AuthenticationService(new InMemoryAdminRepository());
+        repositories.open();
+
+        // Create authentication service; login only needs the admins, which are loaded here
+        AuthenticationService authService = new AuthenticationService(repositories);
+
+        // The rest of the database loads while the login dialog is shown
+        repositories.loadInBackground();
         
         // Show login dialog
         SwingUtilities.invokeLater(() -> {
@@ -22,7 +27,7 @@ public class Main {
             loginDialog.setVisible(true);
             
             if (loginDialog.isAuthenticated()) {
-                SystemUI gui = new SystemUI(authService);
+                SystemUI gui = new SystemUI(authService, repositories);
                 gui.launch();
             } else {
                 System.exit(0);
@@ -1,6 +1,8 @@
 package com.fstgc.vms.controller;
 
 import com.fstgc.vms.model.Announcement;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.service.AnnouncementService;
 
 public class AnnouncementController {
@@ -43,4 +45,16 @@ public class AnnouncementController {
     }
     
     public java.util.List<Announcement> listAll() { return service.listAll(); }
+
+    /**
+     * Get one page of announcements, by offset or continuing from a previous page's cursor
+     */
+    public Page<Announcement> listPage(PageRequest request) {
+        return service.listPage(request);
+    }
+
+    /**
+     * Search announcements by title or message as the user types; best matches first
+     */
+    public java.util.List<Announcement> search(String query, int limit) { return service.search(query, limit); }
 }
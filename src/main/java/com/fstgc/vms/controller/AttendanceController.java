@@ -1,6 +1,11 @@
 package com.fstgc.vms.controller;
 
 import com.fstgc.vms.model.Attendance;
+import com.fstgc.vms.model.Event;
+import com.fstgc.vms.model.WaitlistEntry;
+import com.fstgc.vms.repository.Leaderboard;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.service.AttendanceService;
 
 public class AttendanceController {
@@ -17,6 +22,57 @@ public class AttendanceController {
         return service.recordAttendance(volunteerId, eventId, hoursWorked);
     }
     
+    /**
+     * Record attendance if the event has a free place, otherwise put the volunteer on its waitlist
+     */
+    public AttendanceService.SignUp recordOrWaitlist(int volunteerId, int eventId, double hoursWorked) {
+        return service.recordOrWaitlist(volunteerId, eventId, hoursWorked);
+    }
+    
+    /**
+     * Edit an event and change its free places by capacityChange, keeping registrations made
+     * meanwhile; freed places go to the waitlist
+     */
+    public java.util.List<Attendance> updateEvent(int eventId, int capacityChange,
+                                                  java.util.function.Consumer<Event> edit) {
+        return service.updateEvent(eventId, capacityChange, edit);
+    }
+
+    /**
+     * Give an event's free places to the volunteers waiting for it
+     */
+    public java.util.List<Attendance> promoteWaitlist(int eventId) {
+        return service.promoteWaitlist(eventId);
+    }
+    
+    /**
+     * Get the volunteers waiting for a place at an event, first in line first
+     */
+    public java.util.List<WaitlistEntry> waitlist(int eventId) {
+        return service.waitlist(eventId);
+    }
+    
+    /**
+     * Get a volunteer's position on an event's waitlist (0 if not waiting)
+     */
+    public int waitlistPosition(int volunteerId, int eventId) {
+        return service.waitlistPosition(volunteerId, eventId);
+    }
+    
+    /**
+     * Take a volunteer off an event's waitlist
+     */
+    public boolean leaveWaitlist(int volunteerId, int eventId) {
+        return service.leaveWaitlist(volunteerId, eventId);
+    }
+    
+    /**
+     * Import attendance records that have already happened, in one batch
+     */
+    public java.util.List<Attendance> importAttendance(java.util.List<Attendance> records) {
+        return service.importAttendance(records);
+    }
+    
     /**
      * Update the status of an attendance record
      */
@@ -46,8 +102,39 @@ public class AttendanceController {
     }
     
     public java.util.List<Attendance> listAll() { return service.listAll(); }
+
+    /**
+     * Volunteers ranked by their total hours worked
+     */
+    public Leaderboard hoursLeaderboard() { return service.hoursLeaderboard(); }
+
+    /**
+     * Volunteers ranked by the number of events they checked in to
+     */
+    public Leaderboard eventsLeaderboard() { return service.eventsLeaderboard(); }
     
     public boolean isVolunteerRegisteredForEvent(int volunteerId, int eventId) {
         return service.isVolunteerRegisteredForEvent(volunteerId, eventId);
     }
+
+    /**
+     * Get one page of attendance records, by offset or continuing from a previous page's cursor
+     */
+    public Page<Attendance> listPage(PageRequest request) {
+        return service.listPage(request);
+    }
+
+    /**
+     * Get one page of a volunteer's attendance records
+     */
+    public Page<Attendance> listPageByVolunteer(int volunteerId, PageRequest request) {
+        return service.listPageByVolunteer(volunteerId, request);
+    }
+
+    /**
+     * Get one page of an event's attendance records
+     */
+    public Page<Attendance> listPageByEvent(int eventId, PageRequest request) {
+        return service.listPageByEvent(eventId, request);
+    }
 }
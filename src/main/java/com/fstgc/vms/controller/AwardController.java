@@ -2,6 +2,9 @@ package com.fstgc.vms.controller;
 
 import com.fstgc.vms.model.Award;
 import com.fstgc.vms.model.AwardCriteria;
+import com.fstgc.vms.repository.Leaderboard;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.service.AwardService;
 
 public class AwardController {
@@ -24,4 +27,18 @@ public class AwardController {
     public java.util.List<Award> getAwardsByVolunteer(int volunteerId) {
         return service.getAwardsByVolunteer(volunteerId);
     }
+
+    /**
+     * Volunteers ranked by the number of badges they have earned
+     */
+    public Leaderboard badgeLeaderboard() {
+        return service.badgeLeaderboard();
+    }
+
+    /**
+     * Get one page of awards, by offset or continuing from a previous page's cursor
+     */
+    public Page<Award> listPage(PageRequest request) {
+        return service.listPage(request);
+    }
 }
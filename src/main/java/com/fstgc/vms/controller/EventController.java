@@ -1,7 +1,10 @@
 package com.fstgc.vms.controller;
 
 import com.fstgc.vms.model.Event;
+import com.fstgc.vms.model.enums.EventStatus;
 import com.fstgc.vms.model.enums.EventType;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.service.EventService;
 import java.time.LocalDate;
 
@@ -52,4 +55,46 @@ public class EventController {
     public java.util.List<Event> listAll() {
         return service.listAll();
     }
+
+    /**
+     * Get one page of events, by offset or continuing from a previous page's cursor
+     */
+    public Page<Event> listPage(PageRequest request) {
+        return service.listPage(request);
+    }
+
+    /**
+     * Get one page of the events with the given status
+     */
+    public Page<Event> listPageByStatus(EventStatus status, PageRequest request) {
+        return service.listPageByStatus(status, request);
+    }
+
+    /**
+     * Get all events, earliest date first
+     */
+    public java.util.List<Event> listByDate() {
+        return service.listByDate();
+    }
+
+    /**
+     * Get the events with the given status
+     */
+    public java.util.List<Event> listByStatus(EventStatus status) {
+        return service.listByStatus(status);
+    }
+
+    /**
+     * Count the events with the given status
+     */
+    public int countByStatus(EventStatus status) {
+        return service.countByStatus(status);
+    }
+
+    /**
+     * Search events by title or location as the user types; best matches first
+     */
+    public java.util.List<Event> search(String query, int limit) {
+        return service.search(query, limit);
+    }
 }
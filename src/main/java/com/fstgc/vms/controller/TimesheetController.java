@@ -1,6 +1,10 @@
 package com.fstgc.vms.controller;
 
 import com.fstgc.vms.model.Timesheet;
+import com.fstgc.vms.model.enums.TimesheetStatus;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.service.TimesheetFilter;
 import com.fstgc.vms.service.TimesheetService;
 import java.time.LocalDate;
 
@@ -40,6 +44,55 @@ public class TimesheetController {
         return service.reject(timesheetId, adminId, reason);
     }
 
+    /**
+     * Approve several timesheets at once
+     */
+    public java.util.List<Timesheet> approveAll(java.util.Collection<Integer> timesheetIds, int adminId) {
+        return service.approveAll(timesheetIds, adminId);
+    }
+
+    /**
+     * Reject several timesheets at once with the same reason
+     */
+    public java.util.List<Timesheet> rejectAll(java.util.Collection<Integer> timesheetIds, int adminId, String reason) {
+        return service.rejectAll(timesheetIds, adminId, reason);
+    }
+
+    /**
+     * Approve every pending timesheet matching the filter at once
+     */
+    public TimesheetService.BatchSummary approveAll(TimesheetFilter filter, int adminId) {
+        return service.approveAll(filter, adminId);
+    }
+
+    /**
+     * Reject every pending timesheet matching the filter at once with the same reason
+     */
+    public TimesheetService.BatchSummary rejectAll(TimesheetFilter filter, int adminId, String reason) {
+        return service.rejectAll(filter, adminId, reason);
+    }
+
+    /**
+     * Approve those of the confirmed timesheets that are still pending
+     */
+    public TimesheetService.BatchSummary approvePending(java.util.Collection<Integer> timesheetIds, int adminId) {
+        return service.approvePending(timesheetIds, adminId);
+    }
+
+    /**
+     * Reject those of the confirmed timesheets that are still pending, with the same reason
+     */
+    public TimesheetService.BatchSummary rejectPending(java.util.Collection<Integer> timesheetIds, int adminId, String reason) {
+        return service.rejectPending(timesheetIds, adminId, reason);
+    }
+
+    /**
+     * Get the pending timesheets matching the filter
+     */
+    public java.util.List<Timesheet> listPending(TimesheetFilter filter) {
+        return service.listPending(filter);
+    }
+
     /**
      * Submit a timesheet for a specific event
      */
@@ -61,10 +114,73 @@ public class TimesheetController {
         return service.delete(timesheetId);
     }
 
+    /**
+     * Delete several timesheets, returning how many existed
+     */
+    public int deleteAll(java.util.Collection<Integer> timesheetIds) {
+        return service.deleteAll(timesheetIds);
+    }
+
+    /**
+     * Check whether the volunteer already has a timesheet for the event
+     */
+    public boolean hasTimesheetForEvent(int volunteerId, int eventId) {
+        return service.hasTimesheetForEvent(volunteerId, eventId);
+    }
+
     /**
      * Get a list of all timesheets
      */
     public java.util.List<Timesheet> listAll() {
         return service.listAll();
     }
+
+    /**
+     * Get one page of timesheets, by offset or continuing from a previous page's cursor
+     */
+    public Page<Timesheet> listPage(PageRequest request) {
+        return service.listPage(request);
+    }
+
+    /**
+     * Get one page of a volunteer's timesheets
+     */
+    public Page<Timesheet> listPageByVolunteer(int volunteerId, PageRequest request) {
+        return service.listPageByVolunteer(volunteerId, request);
+    }
+
+    /**
+     * Get one page of the timesheets with the given approval status
+     */
+    public Page<Timesheet> listPageByStatus(TimesheetStatus status, PageRequest request) {
+        return service.listPageByStatus(status, request);
+    }
+
+    /**
+     * Get one page of the timesheets waiting for approval
+     */
+    public Page<Timesheet> listPendingPage(PageRequest request) {
+        return service.listPendingPage(request);
+    }
+
+    /**
+     * Get all timesheets, most recently created first
+     */
+    public java.util.List<Timesheet> listNewestFirst() {
+        return service.listNewestFirst();
+    }
+
+    /**
+     * Get the timesheets with the given approval status
+     */
+    public java.util.List<Timesheet> listByStatus(TimesheetStatus status) {
+        return service.listByStatus(status);
+    }
+
+    /**
+     * Count the timesheets with the given approval status
+     */
+    public int countByStatus(TimesheetStatus status) {
+        return service.countByStatus(status);
+    }
 }
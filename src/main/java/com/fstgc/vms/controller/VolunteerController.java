@@ -2,7 +2,11 @@ package com.fstgc.vms.controller;
 
 import com.fstgc.vms.model.Volunteer;
 import com.fstgc.vms.model.enums.VolunteerStatus;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.service.VolunteerAggregates;
 import com.fstgc.vms.service.VolunteerService;
+import com.fstgc.vms.util.DataPersistence;
 
 import java.util.List;
 import java.util.Optional;
@@ -47,6 +51,13 @@ public class VolunteerController {
         return service.update(volunteer);
     }
 
+    /**
+     * Get the volunteer registered with the given email
+     */
+    public Optional<Volunteer> getByEmail(String email) {
+        return service.getByEmail(email);
+    }
+
     /**
      * Get a list of all volunteers
      */
@@ -61,13 +72,50 @@ public class VolunteerController {
         return service.list();
     }
 
+    /**
+     * Get one page of volunteers, by offset or continuing from a previous page's cursor
+     */
+    public Page<Volunteer> listPage(PageRequest request) {
+        return service.listPage(request);
+    }
+
+    /**
+     * Get one page of the volunteers with the given status
+     */
+    public Page<Volunteer> listPageByStatus(VolunteerStatus status, PageRequest request) {
+        return service.listPageByStatus(status, request);
+    }
+
+    /**
+     * Get the volunteers with the given status
+     */
+    public List<Volunteer> listByStatus(VolunteerStatus status) {
+        return service.listByStatus(status);
+    }
+
+    /**
+     * Count the volunteers with the given status
+     */
+    public int countByStatus(VolunteerStatus status) {
+        return service.countByStatus(status);
+    }
+
+    /**
+     * Search volunteers by name or email as the user types; best matches first
+     */
+    public List<Volunteer> search(String query, int limit) {
+        return service.search(query, limit);
+    }
+
     public Volunteer updateVolunteer(int id,
                                      String firstName,
                                      String lastName,
                                      String email,
                                      String phone,
                                      VolunteerStatus status) {
+        // Edits a copy, so a rejected email or phone leaves the stored volunteer and its email index alone
         Volunteer existing = service.get(id)
+            .map(DataPersistence::copy)
             .orElseThrow(() -> new IllegalArgumentException("Volunteer not found: " + id));
         existing.setFirstName(firstName);
         existing.setLastName(lastName);
@@ -92,4 +140,12 @@ public class VolunteerController {
     public double getTotalHoursWorked(int volunteerId) {
         return service.getTotalHoursWorked(volunteerId);
     }
+
+    public VolunteerAggregates.Totals getTotals(int volunteerId) {
+        return service.getTotals(volunteerId);
+    }
+
+    public List<String> verifyAggregates() {
+        return service.verifyAggregates();
+    }
 }
@@ -0,0 +1,23 @@
+package com.fstgc.vms.model;
+
+import java.time.LocalDateTime;
+
+// A volunteer waiting for a place at a full event; entries with lower ids joined earlier
+public class WaitlistEntry {
+    private int entryId;
+    private int eventId;
+    private int volunteerId;
+    private double hoursWorked; // hours to record once the volunteer gets a place
+    private LocalDateTime joinedAt = LocalDateTime.now();
+
+    public int getEntryId() { return entryId; }
+    public void setEntryId(int entryId) { this.entryId = entryId; }
+    public int getEventId() { return eventId; }
+    public void setEventId(int eventId) { this.eventId = eventId; }
+    public int getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(int volunteerId) { this.volunteerId = volunteerId; }
+    public double getHoursWorked() { return hoursWorked; }
+    public void setHoursWorked(double hoursWorked) { this.hoursWorked = hoursWorked; }
+    public LocalDateTime getJoinedAt() { return joinedAt; }
+    public void setJoinedAt(LocalDateTime joinedAt) { this.joinedAt = joinedAt; }
+}
@@ -1,15 +1,20 @@
 package com.fstgc.vms.repository;
 
 import com.fstgc.vms.model.SystemAdmin;
+import java.util.List;
 import java.util.Optional;
 
 public interface AdminRepository {
     Optional<SystemAdmin> findByUsername(String username);
     Optional<SystemAdmin> findByEmail(String email);
     Optional<SystemAdmin> findById(int id);
+    Page<SystemAdmin> findPage(PageRequest request);
     boolean validateCredentials(String username, String passwordHash);
     SystemAdmin save(SystemAdmin admin);
     SystemAdmin update(SystemAdmin admin);
+    // Saves new admins with ids taken in one block and persists them together
+    List<SystemAdmin> saveAll(List<SystemAdmin> admins);
+    List<SystemAdmin> updateAll(List<SystemAdmin> admins);
     SystemAdmin updatePassword(int id, String newHash);
     SystemAdmin updatePermissions(int id, String permissionsJson);
 }
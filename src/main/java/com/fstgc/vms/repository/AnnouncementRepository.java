@@ -2,18 +2,27 @@ package com.fstgc.vms.repository;
 
 import com.fstgc.vms.model.Announcement;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AnnouncementRepository {
     Optional<Announcement> findById(int id);
+    Page<Announcement> findPage(PageRequest request);
     List<Announcement> findAll();
     List<Announcement> findActive();
     List<Announcement> findByDateRange(LocalDateTime start, LocalDateTime end);
     List<Announcement> findByPriority(String priority);
     List<Announcement> findByTargetAudience(String audience);
+    // Up to limit announcements ranked by how well their title or message matches query, typos included
+    List<Announcement> search(String query, int limit);
     Announcement save(Announcement announcement);
     Announcement update(Announcement announcement);
+    // Saves new announcements with ids taken in one block and persists them together
+    List<Announcement> saveAll(List<Announcement> announcements);
+    List<Announcement> updateAll(List<Announcement> announcements);
     boolean softDelete(int id);
     boolean delete(int id);
+    // Deletes the announcements that exist among ids, persisting once; returns how many were deleted
+    int deleteAll(Collection<Integer> ids);
 }
@@ -2,16 +2,34 @@ package com.fstgc.vms.repository;
 
 import com.fstgc.vms.model.Attendance;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AttendanceRepository {
     Optional<Attendance> findById(int id);
+    Page<Attendance> findPage(PageRequest request);
     List<Attendance> findAll();
     List<Attendance> findByVolunteer(int volunteerId);
     List<Attendance> findByEvent(int eventId);
+    // One page of findByVolunteer() or findByEvent(), ordered and continued like findPage()
+    Page<Attendance> findPageByVolunteer(int volunteerId, PageRequest request);
+    Page<Attendance> findPageByEvent(int eventId, PageRequest request);
+    List<Attendance> findByVolunteerAndEvent(int volunteerId, int eventId);
+    boolean existsByVolunteerAndEvent(int volunteerId, int eventId);
     List<Attendance> findByDateRange(LocalDateTime start, LocalDateTime end);
+    // Volunteers ranked by the hours on their attendance records
+    Leaderboard hoursLeaderboard();
+    // Volunteers ranked by the number of events they checked in to
+    Leaderboard eventsLeaderboard();
+    // Volunteers ranked by the hours on records that were both checked in and checked out
+    Leaderboard completedHoursLeaderboard();
     Attendance save(Attendance attendance);
     Attendance update(Attendance attendance);
+    // Saves new attendance records with ids taken in one block and persists them together
+    List<Attendance> saveAll(List<Attendance> attendance);
+    List<Attendance> updateAll(List<Attendance> attendance);
     boolean delete(int id);
+    // Deletes the attendance records that exist among ids, persisting once; returns how many were deleted
+    int deleteAll(Collection<Integer> ids);
 }
@@ -6,10 +6,17 @@ import java.util.Optional;
 
 public interface AwardRepository {
     Optional<Award> findById(int id);
+    Page<Award> findPage(PageRequest request);
+    List<Award> findAll();
     List<Award> findByVolunteer(int volunteerId);
     List<Award> findByBadgeTier(String tier);
     List<Award> findLeaderboard();
+    // Volunteers ranked by the number of awards they hold
+    Leaderboard badgeLeaderboard();
     boolean checkIfAwarded(int volunteerId, int criteriaId);
     Award save(Award award);
     Award update(Award award);
+    // Saves new awards with ids taken in one block and persists them together
+    List<Award> saveAll(List<Award> awards);
+    List<Award> updateAll(List<Award> awards);
 }
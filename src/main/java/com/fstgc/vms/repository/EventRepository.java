@@ -1,18 +1,36 @@
 package com.fstgc.vms.repository;
 
 import com.fstgc.vms.model.Event;
+import com.fstgc.vms.model.enums.EventStatus;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository {
     Optional<Event> findById(int id);
+    Page<Event> findPage(PageRequest request);
     List<Event> findAll();
     List<Event> findByDateRange(LocalDate start, LocalDate end);
+    // Events dated on or after from, earliest first
+    List<Event> findUpcoming(LocalDate from);
+    // All events, earliest first
+    List<Event> findAllByDate();
     List<Event> findByType(String type);
     List<Event> findByStatus(String status);
+    List<Event> findByStatus(EventStatus status);
+    // One page of findByStatus(), ordered and continued like findPage()
+    Page<Event> findPageByStatus(EventStatus status, PageRequest request);
+    int countByStatus(EventStatus status);
     List<Event> searchByTitle(String title);
+    // Up to limit events ranked by how well their title or location matches query, typos included
+    List<Event> search(String query, int limit);
     Event save(Event event);
     Event update(Event event);
+    // Saves new events with ids taken in one block and persists them together
+    List<Event> saveAll(List<Event> events);
+    List<Event> updateAll(List<Event> events);
     boolean delete(int id);
+    // Deletes the events that exist among ids, persisting once; returns how many were deleted
+    int deleteAll(Collection<Integer> ids);
 }
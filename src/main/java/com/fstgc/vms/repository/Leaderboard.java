@@ -0,0 +1,40 @@
+package com.fstgc.vms.repository;
+
+import java.util.List;
+
+/**
+ * Volunteers ranked by a score such as badges earned or hours worked, highest first, with
+ * ties ordered by volunteer id. Volunteers whose score is zero are not ranked.
+ */
+public interface Leaderboard {
+    // Ranked volunteers from position offset (0 is the leader), at most limit of them
+    List<Entry> page(int offset, int limit);
+
+    default List<Entry> top(int k) {
+        return page(0, k);
+    }
+
+    // 1-based position of the volunteer, or 0 if they have no score
+    int rankOf(int volunteerId);
+
+    double scoreOf(int volunteerId);
+
+    // Number of ranked volunteers
+    int size();
+
+    final class Entry {
+        private final int rank;
+        private final int volunteerId;
+        private final double score;
+
+        public Entry(int rank, int volunteerId, double score) {
+            this.rank = rank;
+            this.volunteerId = volunteerId;
+            this.score = score;
+        }
+
+        public int getRank() { return rank; }
+        public int getVolunteerId() { return volunteerId; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fstgc.vms.repository;
+
+import java.util.List;
+
+/**
+ * One page of a repository listing, with the total number of entities and, when more
+ * follow, a cursor to continue from. Continuing by cursor rather than offset does not
+ * skip or repeat entities when others are added or deleted in between.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final int total;
+    private final PageRequest request;
+    private final Cursor next;
+
+    // The position of an entity in a listing, as its date (for date order) and id
+    public static final class Cursor {
+        private final PageRequest.Order order;
+        private final Object date;
+        private final int id;
+
+        public Cursor(PageRequest.Order order, Object date, int id) {
+            this.order = order;
+            this.date = date;
+            this.id = id;
+        }
+
+        public PageRequest.Order getOrder() { return order; }
+        public Object getDate() { return date; }
+        public int getId() { return id; }
+    }
+
+    public Page(List<T> items, int total, PageRequest request, Cursor next) {
+        this.items = items;
+        this.total = total;
+        this.request = request;
+        this.next = next;
+    }
+
+    public List<T> getItems() { return items; }
+    public int getTotal() { return total; }
+    public PageRequest getRequest() { return request; }
+    public Cursor getNext() { return next; }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    // The request for the following page, or null on the last page
+    public PageRequest nextRequest() {
+        return next != null ? request.after(next) : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fstgc.vms.repository;
+
+/**
+ * Which slice of a repository's entities to fetch: how many, in which order, and from
+ * where, either an offset from the start or the cursor of a previous page. Each repository
+ * orders by date on its main date field, such as an event's date or a volunteer's
+ * registration date; entities with no date come last in either direction.
+ */
+public final class PageRequest {
+    public enum Order { ID, ID_DESC, DATE, DATE_DESC }
+
+    private final Order order;
+    private final int offset;
+    private final int limit;
+    private final Page.Cursor after;
+
+    private PageRequest(Order order, int offset, int limit, Page.Cursor after) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Offset must be >= 0 and limit > 0");
+        }
+        if (after != null && after.getOrder() != order) {
+            throw new IllegalArgumentException("Cursor was made for " + after.getOrder() + " order, not " + order);
+        }
+        this.order = order;
+        this.offset = offset;
+        this.limit = limit;
+        this.after = after;
+    }
+
+    // limit entities from offset, in id order
+    public static PageRequest of(int offset, int limit) {
+        return new PageRequest(Order.ID, offset, limit, null);
+    }
+
+    public PageRequest orderedBy(Order order) {
+        return new PageRequest(order, offset, limit, null);
+    }
+
+    // The page following the cursor's entity; offset then counts from there
+    public PageRequest after(Page.Cursor cursor) {
+        return new PageRequest(order, 0, limit, cursor);
+    }
+
+    public Order getOrder() { return order; }
+    public int getOffset() { return offset; }
+    public int getLimit() { return limit; }
+    public Page.Cursor getAfter() { return after; }
+
+    public boolean byDate() {
+        return order == Order.DATE || order == Order.DATE_DESC;
+    }
+
+    public boolean isDescending() {
+        return order == Order.ID_DESC || order == Order.DATE_DESC;
+    }
+}
@@ -0,0 +1,161 @@
+package com.fstgc.vms.repository;
+
+import com.fstgc.vms.repository.jdbc.*;
+import com.fstgc.vms.repository.memory.*;
+import com.fstgc.vms.service.EventCapacity;
+import com.fstgc.vms.service.EventWaitlist;
+import com.fstgc.vms.service.VolunteerAggregates;
+import com.fstgc.vms.util.DataPersistence;
+
+/**
+ * Owns the one instance of each repository that the whole application shares, so every
+ * service sees the same data and ids come from a single sequence per collection, along
+ * with the state that services keep about that data, which must be shared the same way.
+ * Repositories are created on first use, which lets the login dialog open while the
+ * collections it does not need are still loading.
+ * The backend is chosen at startup with -Dvms.repository: "memory" (the default) keeps the
+ * data in memory and persists it through DataPersistence, "jdbc" stores it in an embedded
+ * SQL database (see JdbcDatabase for its settings).
+ */
+public class RepositoryRegistry {
+    private final boolean jdbc;
+    private JdbcDatabase database;
+    private AdminRepository adminRepository;
+    private VolunteerRepository volunteerRepository;
+    private EventRepository eventRepository;
+    private AttendanceRepository attendanceRepository;
+    private TimesheetRepository timesheetRepository;
+    private AnnouncementRepository announcementRepository;
+    private AwardRepository awardRepository;
+    private WaitlistRepository waitlistRepository;
+    private VolunteerAggregates aggregates;
+    private EventCapacity eventCapacity;
+    private EventWaitlist waitlist;
+
+    public RepositoryRegistry() {
+        this(System.getProperty("vms.repository", "memory"));
+    }
+
+    public RepositoryRegistry(String backend) {
+        if ("jdbc".equalsIgnoreCase(backend)) {
+            jdbc = true;
+        } else if ("memory".equalsIgnoreCase(backend)) {
+            jdbc = false;
+        } else {
+            throw new IllegalArgumentException("Unknown repository backend: " + backend);
+        }
+    }
+
+    // Prepares the storage behind the repositories; call once before using them
+    public synchronized void open() {
+        if (jdbc) {
+            database = JdbcDatabase.fromSystemProperties();
+            Runtime.getRuntime().addShutdownHook(new Thread(database::close, "vms-database-shutdown"));
+        } else {
+            DataPersistence.initialize();
+        }
+    }
+
+    // Starts loading the data the login dialog does not need; the JDBC backend reads on demand
+    public void loadInBackground() {
+        if (!jdbc) {
+            DataPersistence.loadInBackground();
+        }
+    }
+
+    /**
+     * Starts a group of writes, possibly across repositories, that are applied and persisted
+     * together: as one journal record by the memory backend, in one transaction by JDBC.
+     */
+    public UnitOfWork beginWork() {
+        if (jdbc) {
+            return new UnitOfWork(changes -> database.inTransaction(c -> {
+                changes.run();
+                return null;
+            }));
+        }
+        return new UnitOfWork(DataPersistence::atomically);
+    }
+
+    public synchronized AdminRepository getAdminRepository() {
+        if (adminRepository == null) {
+            adminRepository = jdbc ? new JdbcAdminRepository(database) : new InMemoryAdminRepository();
+        }
+        return adminRepository;
+    }
+
+    public synchronized VolunteerRepository getVolunteerRepository() {
+        if (volunteerRepository == null) {
+            volunteerRepository = jdbc ? new JdbcVolunteerRepository(database) : new InMemoryVolunteerRepository();
+        }
+        return volunteerRepository;
+    }
+
+    public synchronized EventRepository getEventRepository() {
+        if (eventRepository == null) {
+            eventRepository = jdbc ? new JdbcEventRepository(database) : new InMemoryEventRepository();
+        }
+        return eventRepository;
+    }
+
+    public synchronized AttendanceRepository getAttendanceRepository() {
+        if (attendanceRepository == null) {
+            attendanceRepository = jdbc ? new JdbcAttendanceRepository(database) : new InMemoryAttendanceRepository();
+        }
+        return attendanceRepository;
+    }
+
+    public synchronized TimesheetRepository getTimesheetRepository() {
+        if (timesheetRepository == null) {
+            timesheetRepository = jdbc ? new JdbcTimesheetRepository(database) : new InMemoryTimesheetRepository();
+        }
+        return timesheetRepository;
+    }
+
+    public synchronized AnnouncementRepository getAnnouncementRepository() {
+        if (announcementRepository == null) {
+            announcementRepository = jdbc ? new JdbcAnnouncementRepository(database) : new InMemoryAnnouncementRepository();
+        }
+        return announcementRepository;
+    }
+
+    public synchronized AwardRepository getAwardRepository() {
+        if (awardRepository == null) {
+            awardRepository = jdbc ? new JdbcAwardRepository(database) : new InMemoryAwardRepository();
+        }
+        return awardRepository;
+    }
+
+    public synchronized WaitlistRepository getWaitlistRepository() {
+        if (waitlistRepository == null) {
+            waitlistRepository = jdbc ? new JdbcWaitlistRepository(database) : new InMemoryWaitlistRepository();
+        }
+        return waitlistRepository;
+    }
+
+    // Every event's waitlist, loaded from the waitlist repository on first use
+    public synchronized EventWaitlist getWaitlist() {
+        if (waitlist == null) {
+            waitlist = new EventWaitlist(getWaitlistRepository());
+        }
+        return waitlist;
+    }
+
+    // The locks every reservation of an event's places must take, one set for the whole application
+    public synchronized EventCapacity getEventCapacity() {
+        if (eventCapacity == null) {
+            eventCapacity = new EventCapacity(getEventRepository());
+        }
+        return eventCapacity;
+    }
+
+    // Volunteer totals, with their background drift check started on first use and stopped at shutdown
+    public synchronized VolunteerAggregates getAggregates() {
+        if (aggregates == null) {
+            aggregates = new VolunteerAggregates(getVolunteerRepository(), getAttendanceRepository(), getAwardRepository());
+            aggregates.startVerification();
+            Runtime.getRuntime().addShutdownHook(new Thread(aggregates::stopVerification, "vms-aggregates-shutdown"));
+        }
+        return aggregates;
+    }
+}
@@ -1,18 +1,36 @@
 package com.fstgc.vms.repository;
 
 import com.fstgc.vms.model.Timesheet;
+import com.fstgc.vms.model.enums.TimesheetStatus;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TimesheetRepository {
     Optional<Timesheet> findById(int id);
+    Page<Timesheet> findPage(PageRequest request);
     List<Timesheet> findByVolunteer(int volunteerId);
+    List<Timesheet> findByVolunteerAndEvent(int volunteerId, int eventId);
+    boolean existsByVolunteerAndEvent(int volunteerId, int eventId);
     List<Timesheet> findByPeriod(LocalDate start, LocalDate end);
     List<Timesheet> findByApprovalStatus(String status);
+    List<Timesheet> findByApprovalStatus(TimesheetStatus status);
+    int countByApprovalStatus(TimesheetStatus status);
     List<Timesheet> findPendingApprovals();
+    // One page of findByVolunteer(), findByApprovalStatus() or findPendingApprovals(), ordered and continued like findPage()
+    Page<Timesheet> findPageByVolunteer(int volunteerId, PageRequest request);
+    Page<Timesheet> findPageByApprovalStatus(TimesheetStatus status, PageRequest request);
+    Page<Timesheet> findPendingApprovalsPage(PageRequest request);
     List<Timesheet> findAll();
+    // All timesheets, most recently created first
+    List<Timesheet> findAllByCreatedDate();
     Timesheet save(Timesheet timesheet);
     Timesheet update(Timesheet timesheet);
+    // Saves new timesheets with ids taken in one block and persists them together
+    List<Timesheet> saveAll(List<Timesheet> timesheets);
+    List<Timesheet> updateAll(List<Timesheet> timesheets);
     boolean delete(int id);
+    // Deletes the timesheets that exist among ids, persisting once; returns how many were deleted
+    int deleteAll(Collection<Integer> ids);
 }
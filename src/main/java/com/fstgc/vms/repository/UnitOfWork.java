@@ -0,0 +1,137 @@
+package com.fstgc.vms.repository;
+
+import com.fstgc.vms.util.DataPersistence;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repository writes that take effect together. Checks and changes are queued, and commit()
+ * runs every check before applying any change, then applies the changes in order within
+ * one transaction of the backend (see RepositoryRegistry.beginWork()): the memory backend
+ * journals them as a single record, the JDBC backend runs them in one database transaction.
+ * If a change throws, the ones already applied are undone and nothing is persisted.
+ * A unit of work is used once, on one thread.
+ */
+public class UnitOfWork {
+    // Runs the changes so that they are persisted together or not at all
+    @FunctionalInterface
+    public interface Scope {
+        void run(Runnable changes);
+    }
+
+    private final Scope scope;
+    private final List<Check> checks = new ArrayList<>();
+    private final List<Change> changes = new ArrayList<>();
+    private boolean committed = false;
+
+    private static class Check {
+        final BooleanSupplier condition;
+        final String message;
+
+        Check(BooleanSupplier condition, String message) {
+            this.condition = condition;
+            this.message = message;
+        }
+    }
+
+    private static class Change {
+        final Runnable apply;
+        final Runnable undo;
+
+        Change(Runnable apply, Runnable undo) {
+            this.apply = apply;
+            this.undo = undo;
+        }
+    }
+
+    public UnitOfWork(Scope scope) {
+        this.scope = scope;
+    }
+
+    // A condition that must hold when commit() is called, or nothing is applied
+    public UnitOfWork check(BooleanSupplier condition, String message) {
+        checks.add(new Check(condition, message));
+        return this;
+    }
+
+    // Saves a new entity; undone by passing the saved entity to remove
+    public <T> UnitOfWork save(UnaryOperator<T> save, T entity, Consumer<T> remove) {
+        Object[] saved = new Object[1];
+        return change(() -> saved[0] = save.apply(entity), () -> {
+            @SuppressWarnings("unchecked")
+            T result = (T) saved[0];
+            remove.accept(result);
+        });
+    }
+
+    /**
+     * Makes edit to entity and stores it with update. The entity's previous state is copied
+     * first, and stored again if the unit of work is undone.
+     */
+    public <T> UnitOfWork update(UnaryOperator<T> update, T entity, Consumer<T> edit) {
+        Object[] before = new Object[1];
+        return change(() -> {
+            before[0] = DataPersistence.copy(entity);
+            edit.accept(entity);
+            update.apply(entity);
+        }, () -> {
+            @SuppressWarnings("unchecked")
+            T previous = (T) before[0];
+            update.apply(previous);
+        });
+    }
+
+    // Any other change, with the action that reverses it (null if there is nothing to reverse)
+    public UnitOfWork change(Runnable apply, Runnable undo) {
+        changes.add(new Change(apply, undo));
+        return this;
+    }
+
+    /**
+     * Runs the checks, then applies the changes.
+     * @throws IllegalArgumentException listing the failed checks; nothing has been applied
+     */
+    public void commit() {
+        if (committed) {
+            throw new IllegalStateException("Unit of work already committed");
+        }
+        committed = true;
+        scope.run(() -> {
+            List<String> failed = new ArrayList<>();
+            for (Check check : checks) {
+                if (!check.condition.getAsBoolean()) {
+                    failed.add(check.message);
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new IllegalArgumentException(String.join("; ", failed));
+            }
+            Deque<Change> applied = new ArrayDeque<>();
+            try {
+                for (Change change : changes) {
+                    change.apply.run();
+                    applied.push(change);
+                }
+            } catch (RuntimeException e) {
+                undo(applied, e);
+                throw e;
+            }
+        });
+    }
+
+    // Reverses the applied changes, newest first; the scope discards what they persisted
+    private static void undo(Deque<Change> applied, RuntimeException cause) {
+        for (Change change : applied) {
+            if (change.undo == null) {
+                continue;
+            }
+            try {
+                change.undo.run();
+            } catch (RuntimeException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package com.fstgc.vms.repository;
 
 import com.fstgc.vms.model.Volunteer;
+import com.fstgc.vms.model.enums.VolunteerStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface VolunteerRepository {
     Optional<Volunteer> findById(int id);
+    Page<Volunteer> findPage(PageRequest request);
     List<Volunteer> findAll();
     Optional<Volunteer> findByEmail(String email);
     Volunteer save(Volunteer volunteer);
     Volunteer update(Volunteer volunteer);
+    // Saves new volunteers with ids taken in one block and persists them together
+    List<Volunteer> saveAll(List<Volunteer> volunteers);
+    List<Volunteer> updateAll(List<Volunteer> volunteers);
     boolean delete(int id);
+    // Deletes the volunteers that exist among ids, persisting once; returns how many were deleted
+    int deleteAll(Collection<Integer> ids);
     List<Volunteer> searchByName(String name);
+    // Up to limit volunteers ranked by how well their name or email matches query, typos included
+    List<Volunteer> search(String query, int limit);
     List<Volunteer> filterByStatus(String status);
+    List<Volunteer> filterByStatus(VolunteerStatus status);
+    // One page of filterByStatus(), ordered and continued like findPage()
+    Page<Volunteer> findPageByStatus(VolunteerStatus status, PageRequest request);
+    int countByStatus(VolunteerStatus status);
 }
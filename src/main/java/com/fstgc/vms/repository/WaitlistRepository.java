@@ -0,0 +1,13 @@
+package com.fstgc.vms.repository;
+
+import com.fstgc.vms.model.WaitlistEntry;
+import java.util.List;
+
+public interface WaitlistRepository {
+    // Every entry, in id (and so joining) order
+    List<WaitlistEntry> findAll();
+    WaitlistEntry save(WaitlistEntry entry);
+    boolean delete(int id);
+    // Stores entry again under its own id, undoing its delete
+    WaitlistEntry restore(WaitlistEntry entry);
+}
@@ -0,0 +1,128 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.SystemAdmin;
+import com.fstgc.vms.repository.AdminRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class JdbcAdminRepository extends JdbcRepository<SystemAdmin> implements AdminRepository {
+
+    public JdbcAdminRepository(JdbcDatabase database) {
+        super(database, "admins", SystemAdmin.class, List.of(
+                new Column<>("username_key", "VARCHAR(255)", a -> lower(a.getUsername())),
+                new Column<>("email_key", "VARCHAR(255)", a -> lower(a.getEmail())),
+                new Column<>("created_date", "TIMESTAMP", SystemAdmin::getCreatedDate)));
+        index("username_key");
+        index("email_key");
+    }
+
+    @Override
+    protected int idOf(SystemAdmin admin) {
+        return admin.getId();
+    }
+
+    @Override
+    protected void assignId(SystemAdmin admin, int id) {
+        admin.setId(id);
+    }
+
+    @Override
+    public Optional<SystemAdmin> findByUsername(String username) {
+        // Search by username or email
+        String key = lower(username);
+        return selectFirst("username_key = ? OR email_key = ?", key, key);
+    }
+
+    @Override
+    public Optional<SystemAdmin> findByEmail(String email) {
+        return selectFirst("email_key = ?", lower(email));
+    }
+
+    @Override
+    public Optional<SystemAdmin> findById(int id) {
+        return selectById(id);
+    }
+
+    @Override
+    public Page<SystemAdmin> findPage(PageRequest request) {
+        return selectPage(request, "created_date");
+    }
+
+    @Override
+    public boolean validateCredentials(String username, String passwordHash) {
+        return findByUsername(username)
+                .map(admin -> admin.getPasswordHash() != null && admin.getPasswordHash().equals(passwordHash))
+                .orElse(false);
+    }
+
+    @Override
+    public synchronized SystemAdmin save(SystemAdmin admin) {
+        requireUnique(admin, 0);
+        return insert(admin);
+    }
+
+    @Override
+    public synchronized SystemAdmin update(SystemAdmin admin) {
+        if (admin != null && admin.getId() > 0) {
+            requireUnique(admin, admin.getId());
+            write(admin);
+        }
+        return admin;
+    }
+
+    @Override
+    public SystemAdmin updatePassword(int id, String newHash) {
+        SystemAdmin admin = selectById(id).orElse(null);
+        if (admin != null) {
+            admin.setPasswordHash(newHash);
+            write(admin);
+        }
+        return admin;
+    }
+
+    @Override
+    public SystemAdmin updatePermissions(int id, String permissionsJson) {
+        SystemAdmin admin = selectById(id).orElse(null);
+        if (admin != null) {
+            admin.setPermissionsJson(permissionsJson);
+            write(admin);
+        }
+        return admin;
+    }
+
+    @Override
+    public synchronized List<SystemAdmin> saveAll(List<SystemAdmin> admins) {
+        requireDistinct(admins, SystemAdmin::getUsername, "Username");
+        requireDistinct(admins, SystemAdmin::getEmail, "Email");
+        for (SystemAdmin admin : admins) {
+            requireUnique(admin, 0);
+        }
+        return insertAll(admins);
+    }
+
+    // Admins without an id are skipped, as update() does
+    @Override
+    public synchronized List<SystemAdmin> updateAll(List<SystemAdmin> admins) {
+        List<SystemAdmin> stored = new ArrayList<>();
+        for (SystemAdmin admin : admins) {
+            if (admin != null && admin.getId() > 0) {
+                stored.add(admin);
+            }
+        }
+        requireDistinct(stored, SystemAdmin::getUsername, "Username");
+        requireDistinct(stored, SystemAdmin::getEmail, "Email");
+        for (SystemAdmin admin : stored) {
+            requireUnique(admin, admin.getId());
+        }
+        writeAll(stored);
+        return admins;
+    }
+
+    private void requireUnique(SystemAdmin admin, int id) {
+        requireUnique("username_key", admin.getUsername(), id, "Username");
+        requireUnique("email_key", admin.getEmail(), id, "Email");
+    }
+}
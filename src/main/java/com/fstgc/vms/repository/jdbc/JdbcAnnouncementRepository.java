@@ -0,0 +1,111 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.Announcement;
+import com.fstgc.vms.repository.AnnouncementRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public class JdbcAnnouncementRepository extends JdbcRepository<Announcement> implements AnnouncementRepository {
+
+    public JdbcAnnouncementRepository(JdbcDatabase database) {
+        super(database, "announcements", Announcement.class, List.of(
+                new Column<>("published_date", "TIMESTAMP", Announcement::getPublishedDate),
+                new Column<>("expiry_date", "TIMESTAMP", Announcement::getExpiryDate),
+                new Column<>("priority", "VARCHAR(32)", Announcement::getPriority),
+                new Column<>("target_audience", "VARCHAR(32)", Announcement::getTargetAudience),
+                new Column<>("deleted", "BOOLEAN", Announcement::isDeleted),
+                new Column<>("title_key", "VARCHAR", a -> lower(a.getTitle())),
+                new Column<>("message_key", "VARCHAR", a -> lower(a.getMessage()))));
+        index("published_date");
+    }
+
+    @Override
+    protected int idOf(Announcement announcement) {
+        return announcement.getAnnouncementId();
+    }
+
+    @Override
+    protected void assignId(Announcement announcement, int id) {
+        announcement.setAnnouncementId(id);
+    }
+
+    @Override
+    public Optional<Announcement> findById(int id) { return selectById(id); }
+
+    @Override
+    public Page<Announcement> findPage(PageRequest request) {
+        return selectPage(request, "published_date");
+    }
+
+    @Override
+    public List<Announcement> findAll() { return selectAll(); }
+
+    @Override
+    public List<Announcement> findActive() {
+        return selectWhere("deleted = FALSE AND (expiry_date IS NULL OR expiry_date > ?)", LocalDateTime.now());
+    }
+
+    @Override
+    public List<Announcement> findByDateRange(LocalDateTime start, LocalDateTime end) {
+        return query("SELECT data FROM announcements WHERE published_date BETWEEN ? AND ? ORDER BY published_date, id", start, end);
+    }
+
+    @Override
+    public List<Announcement> findByPriority(String priority) {
+        return selectWhere("priority = ?", priority.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Announcement> findByTargetAudience(String audience) {
+        return selectWhere("target_audience = ?", audience.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Announcement> search(String query, int limit) {
+        return rankedSearch(query, limit, "title_key", "message_key");
+    }
+
+    @Override
+    public Announcement save(Announcement announcement) {
+        return insert(announcement);
+    }
+
+    @Override
+    public Announcement update(Announcement announcement) {
+        return write(announcement);
+    }
+
+    @Override
+    public List<Announcement> saveAll(List<Announcement> announcements) {
+        return insertAll(announcements);
+    }
+
+    @Override
+    public List<Announcement> updateAll(List<Announcement> announcements) {
+        return writeAll(announcements);
+    }
+
+    @Override
+    public boolean softDelete(int id) {
+        Optional<Announcement> announcement = selectById(id);
+        if (announcement.isEmpty()) return false;
+        announcement.get().setDeleted(true);
+        write(announcement.get());
+        return true;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteById(id);
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return deleteAllById(ids);
+    }
+}
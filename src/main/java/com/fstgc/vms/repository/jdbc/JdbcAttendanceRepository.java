@@ -0,0 +1,135 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.Attendance;
+import com.fstgc.vms.repository.AttendanceRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.repository.Leaderboard;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class JdbcAttendanceRepository extends JdbcRepository<Attendance> implements AttendanceRepository {
+    private final Leaderboard hoursLeaderboard;
+    private final Leaderboard eventsLeaderboard;
+    private final Leaderboard completedHoursLeaderboard;
+
+    public JdbcAttendanceRepository(JdbcDatabase database) {
+        super(database, "attendance", Attendance.class, List.of(
+                new Column<>("volunteer_id", "INT", Attendance::getVolunteerId),
+                new Column<>("event_id", "INT", Attendance::getEventId),
+                new Column<>("check_in", "TIMESTAMP", Attendance::getCheckInTime),
+                new Column<>("check_out", "TIMESTAMP", Attendance::getCheckOutTime),
+                new Column<>("hours_worked", "DOUBLE", Attendance::getHoursWorked)));
+        index("volunteer_id");
+        index("event_id");
+        index("volunteer_id", "event_id");
+        index("check_in");
+        hoursLeaderboard = new JdbcLeaderboard(database, "attendance", "SUM(hours_worked)");
+        eventsLeaderboard = new JdbcLeaderboard(database, "attendance", "COUNT(check_in)");
+        completedHoursLeaderboard = new JdbcLeaderboard(database, "attendance",
+                "SUM(CASE WHEN check_in IS NOT NULL AND check_out IS NOT NULL THEN hours_worked ELSE 0 END)");
+    }
+
+    @Override
+    protected int idOf(Attendance attendance) {
+        return attendance.getAttendanceId();
+    }
+
+    @Override
+    protected void assignId(Attendance attendance, int id) {
+        attendance.setAttendanceId(id);
+    }
+
+    @Override
+    public Optional<Attendance> findById(int id) { return selectById(id); }
+
+    @Override
+    public Page<Attendance> findPage(PageRequest request) {
+        return selectPage(request, "check_in");
+    }
+
+    @Override
+    public List<Attendance> findAll() { return selectAll(); }
+
+    @Override
+    public List<Attendance> findByVolunteer(int volunteerId) {
+        return selectWhere("volunteer_id = ?", volunteerId);
+    }
+
+    @Override
+    public List<Attendance> findByVolunteerAndEvent(int volunteerId, int eventId) {
+        return selectWhere("volunteer_id = ? AND event_id = ?", volunteerId, eventId);
+    }
+
+    @Override
+    public boolean existsByVolunteerAndEvent(int volunteerId, int eventId) {
+        return exists("volunteer_id = ? AND event_id = ?", volunteerId, eventId);
+    }
+
+    @Override
+    public List<Attendance> findByEvent(int eventId) {
+        return selectWhere("event_id = ?", eventId);
+    }
+
+    @Override
+    public Page<Attendance> findPageByVolunteer(int volunteerId, PageRequest request) {
+        return selectPage(request, "check_in", "volunteer_id = ?", volunteerId);
+    }
+
+    @Override
+    public Page<Attendance> findPageByEvent(int eventId, PageRequest request) {
+        return selectPage(request, "check_in", "event_id = ?", eventId);
+    }
+
+    @Override
+    public List<Attendance> findByDateRange(LocalDateTime start, LocalDateTime end) {
+        return selectWhere("check_in >= ? AND (check_out IS NULL OR check_out <= ?)", start, end);
+    }
+
+    @Override
+    public Leaderboard hoursLeaderboard() {
+        return hoursLeaderboard;
+    }
+
+    @Override
+    public Leaderboard eventsLeaderboard() {
+        return eventsLeaderboard;
+    }
+
+    @Override
+    public Leaderboard completedHoursLeaderboard() {
+        return completedHoursLeaderboard;
+    }
+
+    @Override
+    public Attendance save(Attendance attendance) {
+        return insert(attendance);
+    }
+
+    @Override
+    public Attendance update(Attendance attendance) {
+        return write(attendance);
+    }
+
+    @Override
+    public List<Attendance> saveAll(List<Attendance> attendance) {
+        return insertAll(attendance);
+    }
+
+    @Override
+    public List<Attendance> updateAll(List<Attendance> attendance) {
+        return writeAll(attendance);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteById(id);
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return deleteAllById(ids);
+    }
+}
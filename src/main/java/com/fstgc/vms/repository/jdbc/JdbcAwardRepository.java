@@ -0,0 +1,95 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.Award;
+import com.fstgc.vms.repository.AwardRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.repository.Leaderboard;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public class JdbcAwardRepository extends JdbcRepository<Award> implements AwardRepository {
+    private final Leaderboard badgeLeaderboard;
+
+    public JdbcAwardRepository(JdbcDatabase database) {
+        super(database, "awards", Award.class, List.of(
+                new Column<>("volunteer_id", "INT", Award::getVolunteerId),
+                new Column<>("criteria_id", "INT", Award::getCriteriaId),
+                new Column<>("badge_tier", "VARCHAR(32)", Award::getBadgeTier),
+                new Column<>("date_earned", "TIMESTAMP", Award::getDateEarned)));
+        index("volunteer_id", "criteria_id");
+        index("date_earned");
+        badgeLeaderboard = new JdbcLeaderboard(database, "awards", "COUNT(*)");
+    }
+
+    @Override
+    protected int idOf(Award award) {
+        return award.getAwardId();
+    }
+
+    @Override
+    protected void assignId(Award award, int id) {
+        award.setAwardId(id);
+    }
+
+    @Override
+    public Optional<Award> findById(int id) { return selectById(id); }
+
+    @Override
+    public Page<Award> findPage(PageRequest request) {
+        return selectPage(request, "date_earned");
+    }
+
+    @Override
+    public List<Award> findAll() { return selectAll(); }
+
+    @Override
+    public List<Award> findByVolunteer(int volunteerId) {
+        return selectWhere("volunteer_id = ?", volunteerId);
+    }
+
+    @Override
+    public List<Award> findByBadgeTier(String tier) {
+        return selectWhere("badge_tier = ?", tier.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Award> findLeaderboard() {
+        // Awards grouped by volunteer, volunteers with the most awards first
+        return query("SELECT a.data FROM awards a"
+                + " JOIN (SELECT volunteer_id, COUNT(*) AS awarded FROM awards GROUP BY volunteer_id) c"
+                + " ON a.volunteer_id = c.volunteer_id"
+                + " ORDER BY c.awarded DESC, a.volunteer_id, a.id");
+    }
+
+    @Override
+    public Leaderboard badgeLeaderboard() {
+        return badgeLeaderboard;
+    }
+
+    @Override
+    public boolean checkIfAwarded(int volunteerId, int criteriaId) {
+        return exists("volunteer_id = ? AND criteria_id = ?", volunteerId, criteriaId);
+    }
+
+    @Override
+    public Award save(Award award) {
+        return insert(award);
+    }
+
+    @Override
+    public Award update(Award award) {
+        return write(award);
+    }
+
+    @Override
+    public List<Award> saveAll(List<Award> awards) {
+        return insertAll(awards);
+    }
+
+    @Override
+    public List<Award> updateAll(List<Award> awards) {
+        return writeAll(awards);
+    }
+}
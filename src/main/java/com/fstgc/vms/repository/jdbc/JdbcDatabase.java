@@ -0,0 +1,215 @@
+package com.fstgc.vms.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool for the embedded database. Each pooled connection keeps a cache of its
+ * prepared statements, so the repositories' fixed SQL is parsed once per connection.
+ * Configured with -Dvms.jdbc.url (default: an H2 file database in the database folder),
+ * -Dvms.jdbc.user, -Dvms.jdbc.password and -Dvms.jdbc.poolSize.
+ */
+public class JdbcDatabase implements AutoCloseable {
+    private static final String DEFAULT_URL = "jdbc:h2:./database/vms";
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int poolSize;
+    private final BlockingQueue<PooledConnection> idle;
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed = false;
+    // Connection of the transaction the current thread is in; execute() runs on it instead of borrowing
+    private final ThreadLocal<PooledConnection> transaction = new ThreadLocal<>();
+
+    public JdbcDatabase(String url, String user, String password, int poolSize) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.poolSize = Math.max(1, poolSize);
+        this.idle = new ArrayBlockingQueue<>(this.poolSize);
+    }
+
+    public static JdbcDatabase fromSystemProperties() {
+        return new JdbcDatabase(
+                System.getProperty("vms.jdbc.url", DEFAULT_URL),
+                System.getProperty("vms.jdbc.user", "sa"),
+                System.getProperty("vms.jdbc.password", ""),
+                Integer.getInteger("vms.jdbc.poolSize", 4));
+    }
+
+    // Work done with a pooled connection; the connection must not be closed or kept
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * Runs work on a pooled connection in auto-commit mode.
+     * @throws IllegalStateException wrapping any SQLException
+     */
+    public <T> T execute(SqlWork<T> work) {
+        PooledConnection current = transaction.get();
+        if (current != null) {
+            try {
+                return work.run(current);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Database error: " + e.getMessage(), e);
+            }
+        }
+        PooledConnection connection = borrow();
+        boolean reusable = true;
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            reusable = !isConnectionFailure(e);
+            throw new IllegalStateException("Database error: " + e.getMessage(), e);
+        } finally {
+            release(connection, reusable);
+        }
+    }
+
+    /**
+     * Runs work in one transaction, rolled back if it throws. Everything run through this
+     * database on the same thread meanwhile, such as repository calls, joins the transaction;
+     * so does a nested inTransaction().
+     */
+    public <T> T inTransaction(SqlWork<T> work) {
+        if (transaction.get() != null) {
+            return execute(work);
+        }
+        return execute(connection -> {
+            Connection c = connection.connection();
+            c.setAutoCommit(false);
+            transaction.set(connection);
+            try {
+                T result = work.run(connection);
+                c.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                transaction.remove();
+                c.setAutoCommit(true);
+            }
+        });
+    }
+
+    private PooledConnection borrow() {
+        if (closed) {
+            throw new IllegalStateException("Database is closed");
+        }
+        PooledConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        if (opened.incrementAndGet() <= poolSize) {
+            try {
+                return new PooledConnection(DriverManager.getConnection(url, user, password));
+            } catch (SQLException e) {
+                opened.decrementAndGet();
+                throw new IllegalStateException("Cannot connect to " + url + ": " + e.getMessage(), e);
+            }
+        }
+        opened.decrementAndGet();
+        try {
+            connection = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database connection", e);
+        }
+        if (connection == null) {
+            throw new IllegalStateException("No database connection available after " + BORROW_TIMEOUT_SECONDS + "s");
+        }
+        return connection;
+    }
+
+    private void release(PooledConnection connection, boolean reusable) {
+        if (reusable && !closed && idle.offer(connection)) {
+            return;
+        }
+        connection.close();
+        opened.decrementAndGet();
+    }
+
+    // SQL state class 08 is a connection exception; such a connection is not handed out again
+    private static boolean isConnectionFailure(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("08");
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+            opened.decrementAndGet();
+        }
+    }
+
+    /**
+     * A connection with its prepared statement cache. Statements returned by prepare() are
+     * owned by the cache: close their result sets, but not the statements themselves.
+     */
+    public static class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() > STATEMENT_CACHE_SIZE) {
+                            closeQuietly(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        void close() {
+            statements.values().forEach(PooledConnection::closeQuietly);
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing database connection: " + e.getMessage());
+            }
+        }
+
+        private static void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // already unusable
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.Event;
+import com.fstgc.vms.model.enums.EventStatus;
+import com.fstgc.vms.repository.EventRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public class JdbcEventRepository extends JdbcRepository<Event> implements EventRepository {
+
+    public JdbcEventRepository(JdbcDatabase database) {
+        super(database, "events", Event.class, List.of(
+                new Column<>("event_date", "DATE", Event::getEventDate),
+                new Column<>("event_type", "VARCHAR(32)", Event::getEventType),
+                new Column<>("status", "VARCHAR(32)", Event::getStatus),
+                new Column<>("title_key", "VARCHAR(255)", e -> lower(e.getTitle())),
+                new Column<>("location_key", "VARCHAR(255)", e -> lower(e.getLocation()))));
+        index("event_date");
+        index("status");
+    }
+
+    @Override
+    protected int idOf(Event event) {
+        return event.getEventId();
+    }
+
+    @Override
+    protected void assignId(Event event, int id) {
+        event.setEventId(id);
+    }
+
+    @Override
+    public Optional<Event> findById(int id) { return selectById(id); }
+
+    @Override
+    public Page<Event> findPage(PageRequest request) {
+        return selectPage(request, "event_date");
+    }
+
+    @Override
+    public List<Event> findAll() { return selectAll(); }
+
+    @Override
+    public List<Event> findByDateRange(LocalDate start, LocalDate end) {
+        return query("SELECT data FROM events WHERE event_date BETWEEN ? AND ? ORDER BY event_date, id", start, end);
+    }
+
+    @Override
+    public List<Event> findUpcoming(LocalDate from) {
+        return query("SELECT data FROM events WHERE event_date >= ? ORDER BY event_date, id", from);
+    }
+
+    @Override
+    public List<Event> findAllByDate() {
+        return query("SELECT data FROM events ORDER BY event_date NULLS LAST, id");
+    }
+
+    @Override
+    public List<Event> findByType(String type) {
+        return selectWhere("event_type = ?", type.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Event> findByStatus(String status) {
+        return selectWhere("status = ?", status.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Event> findByStatus(EventStatus status) {
+        return selectWhere("status = ?", status);
+    }
+
+    @Override
+    public Page<Event> findPageByStatus(EventStatus status, PageRequest request) {
+        return selectPage(request, "event_date", "status = ?", status);
+    }
+
+    @Override
+    public int countByStatus(EventStatus status) {
+        return countWhere("status = ?", status);
+    }
+
+    @Override
+    public List<Event> searchByTitle(String title) {
+        return selectWhere("title_key LIKE ?", containsPattern(title));
+    }
+
+    @Override
+    public List<Event> search(String query, int limit) {
+        return rankedSearch(query, limit, "title_key", "location_key");
+    }
+
+    @Override
+    public Event save(Event event) {
+        return insert(event);
+    }
+
+    @Override
+    public Event update(Event event) {
+        return write(event);
+    }
+
+    @Override
+    public List<Event> saveAll(List<Event> events) {
+        return insertAll(events);
+    }
+
+    @Override
+    public List<Event> updateAll(List<Event> events) {
+        return writeAll(events);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteById(id);
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return deleteAllById(ids);
+    }
+}
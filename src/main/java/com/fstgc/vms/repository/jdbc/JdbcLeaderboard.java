@@ -0,0 +1,82 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.repository.Leaderboard;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Leaderboard computed by the database on each call, scoring each volunteer with an
+ * aggregate (such as COUNT(*)) over their rows of a table with a volunteer_id column.
+ */
+class JdbcLeaderboard implements Leaderboard {
+    private final JdbcDatabase database;
+    private final String ranked;
+    private final String scoreSql;
+
+    JdbcLeaderboard(JdbcDatabase database, String table, String aggregate) {
+        this.database = database;
+        this.ranked = "SELECT volunteer_id, " + aggregate + " AS score FROM " + table
+                + " GROUP BY volunteer_id HAVING " + aggregate + " > 0";
+        this.scoreSql = "SELECT " + aggregate + " FROM " + table + " WHERE volunteer_id = ?";
+    }
+
+    @Override
+    public List<Entry> page(int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare(ranked + " ORDER BY score DESC, volunteer_id LIMIT ? OFFSET ?");
+            statement.setInt(1, limit);
+            statement.setInt(2, offset);
+            List<Entry> entries = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(new Entry(offset + entries.size() + 1, rs.getInt(1), rs.getDouble(2)));
+                }
+            }
+            return entries;
+        });
+    }
+
+    @Override
+    public int rankOf(int volunteerId) {
+        double score = scoreOf(volunteerId);
+        if (score <= 0) {
+            return 0;
+        }
+        return count(" WHERE score > ? OR (score = ? AND volunteer_id < ?)", score, score, volunteerId) + 1;
+    }
+
+    @Override
+    public double scoreOf(int volunteerId) {
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare(scoreSql);
+            statement.setInt(1, volunteerId);
+            try (ResultSet rs = statement.executeQuery()) {
+                double score = rs.next() ? rs.getDouble(1) : 0;
+                return score > 0 ? score : 0;
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return count("");
+    }
+
+    private int count(String where, Object... params) {
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare("SELECT COUNT(*) FROM (" + ranked + ") r" + where);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        });
+    }
+}
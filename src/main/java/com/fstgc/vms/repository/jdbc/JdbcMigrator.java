@@ -0,0 +1,55 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.util.DataPersistence;
+import java.util.Collection;
+
+/**
+ * Copies the file database (database/vmsdatabase.txt or the per-collection files, including
+ * any journal) into the JDBC database, keeping all ids. Tables that already contain rows
+ * are left alone, so running it again does not duplicate anything. Run it from the
+ * application folder while the application is closed:
+ *   java -cp <classpath> com.fstgc.vms.repository.jdbc.JdbcMigrator
+ * and start the application with -Dvms.repository=jdbc afterwards.
+ */
+public class JdbcMigrator {
+    private final JdbcDatabase database;
+
+    public JdbcMigrator(JdbcDatabase database) {
+        this.database = database;
+    }
+
+    public static void main(String[] args) {
+        DataPersistence.initialize();
+        try (JdbcDatabase database = JdbcDatabase.fromSystemProperties()) {
+            int migrated = new JdbcMigrator(database).migrate();
+            System.out.println("Migrated " + migrated + " records; start the application with -Dvms.repository=jdbc");
+        } finally {
+            DataPersistence.shutdown();
+        }
+    }
+
+    /**
+     * Copies every collection whose table is still empty.
+     * @return the number of records copied
+     */
+    public int migrate() {
+        return copy("admins", new JdbcAdminRepository(database), DataPersistence.loadAdmins().values())
+                + copy("volunteers", new JdbcVolunteerRepository(database), DataPersistence.loadVolunteers().values())
+                + copy("events", new JdbcEventRepository(database), DataPersistence.loadEvents().values())
+                + copy("attendance", new JdbcAttendanceRepository(database), DataPersistence.loadAttendance().values())
+                + copy("timesheets", new JdbcTimesheetRepository(database), DataPersistence.loadTimesheets().values())
+                + copy("announcements", new JdbcAnnouncementRepository(database), DataPersistence.loadAnnouncements().values())
+                + copy("awards", new JdbcAwardRepository(database), DataPersistence.loadAwards().values())
+                + copy("waitlist", new JdbcWaitlistRepository(database), DataPersistence.loadWaitlist().values());
+    }
+
+    private static <T> int copy(String name, JdbcRepository<T> repository, Collection<T> entities) {
+        if (repository.countRows() > 0) {
+            System.out.println("Skipping " + name + ": the table already has data");
+            return 0;
+        }
+        int copied = repository.importAll(entities);
+        System.out.println("Copied " + copied + " " + name);
+        return copied;
+    }
+}
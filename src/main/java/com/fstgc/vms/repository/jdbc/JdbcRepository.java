@@ -0,0 +1,451 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.util.DataPersistence;
+import com.google.gson.Gson;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Common table handling for the JDBC repositories. Each entity is stored as JSON in the
+ * data column, next to copies of the fields the repository queries on, which are indexed.
+ * Ids are assigned from a sequence that starts after the highest id in the table.
+ */
+abstract class JdbcRepository<T> {
+    // Rows sent to the database per executeBatch() call
+    private static final int BATCH_SIZE = 500;
+
+    protected final JdbcDatabase database;
+    private final String table;
+    private final Class<T> type;
+    private final List<Column<T>> columns;
+    private final String mergeSql;
+    private final AtomicInteger seq = new AtomicInteger(1);
+    private final Gson gson = DataPersistence.gson();
+
+    // A queryable copy of an entity field
+    static class Column<T> {
+        final String name;
+        final String sqlType;
+        final Function<T, Object> value;
+
+        Column(String name, String sqlType, Function<T, Object> value) {
+            this.name = name;
+            this.sqlType = sqlType;
+            this.value = value;
+        }
+    }
+
+    JdbcRepository(JdbcDatabase database, String table, Class<T> type, List<Column<T>> columns) {
+        this.database = database;
+        this.table = table;
+        this.type = type;
+        this.columns = columns;
+
+        StringJoiner names = new StringJoiner(", ");
+        StringJoiner params = new StringJoiner(", ");
+        names.add("id");
+        params.add("?");
+        for (Column<T> column : columns) {
+            names.add(column.name);
+            params.add("?");
+        }
+        names.add("data");
+        params.add("?");
+        this.mergeSql = "MERGE INTO " + table + " (" + names + ") KEY (id) VALUES (" + params + ")";
+
+        createTable();
+        addMissingColumns();
+        seq.set(database.execute(c -> {
+            try (ResultSet rs = c.prepare("SELECT COALESCE(MAX(id), 0) FROM " + table).executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }) + 1);
+    }
+
+    protected abstract int idOf(T entity);
+
+    protected abstract void assignId(T entity, int id);
+
+    private void createTable() {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(table).append(" (id INT PRIMARY KEY");
+        for (Column<T> column : columns) {
+            ddl.append(", ").append(column.name).append(' ').append(column.sqlType);
+        }
+        ddl.append(", data VARCHAR NOT NULL)");
+        database.execute(c -> {
+            try (Statement statement = c.connection().createStatement()) {
+                statement.execute(ddl.toString());
+            }
+            return null;
+        });
+    }
+
+    // Adds columns introduced after the table was created and fills them in from the stored data
+    private void addMissingColumns() {
+        List<Column<T>> missing = database.execute(c -> {
+            Set<String> existing = new HashSet<>();
+            try (ResultSet rs = c.connection().getMetaData().getColumns(null, null, table.toUpperCase(Locale.ROOT), null)) {
+                while (rs.next()) {
+                    existing.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            List<Column<T>> absent = new ArrayList<>();
+            for (Column<T> column : columns) {
+                if (!existing.contains(column.name)) {
+                    absent.add(column);
+                }
+            }
+            return absent;
+        });
+        if (missing.isEmpty()) {
+            return;
+        }
+        database.execute(c -> {
+            try (Statement statement = c.connection().createStatement()) {
+                for (Column<T> column : missing) {
+                    statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column.name + " " + column.sqlType);
+                }
+            }
+            return null;
+        });
+        importAll(selectAll());
+    }
+
+    // Creates an index on the given columns if it does not exist yet
+    protected void index(String... indexColumns) {
+        String name = table + "_" + String.join("_", indexColumns) + "_idx";
+        String ddl = "CREATE INDEX IF NOT EXISTS " + name + " ON " + table + " (" + String.join(", ", indexColumns) + ")";
+        database.execute(c -> {
+            try (Statement statement = c.connection().createStatement()) {
+                statement.execute(ddl);
+            }
+            return null;
+        });
+    }
+
+    protected T insert(T entity) {
+        assignId(entity, seq.getAndIncrement());
+        return write(entity);
+    }
+
+    protected T write(T entity) {
+        database.execute(c -> {
+            bindEntity(c.prepare(mergeSql), entity).executeUpdate();
+            return null;
+        });
+        return entity;
+    }
+
+    // Inserts entities with ids taken from the sequence in one block, in one batched transaction
+    protected List<T> insertAll(List<T> entities) {
+        int id = seq.getAndAdd(entities.size());
+        for (T entity : entities) {
+            assignId(entity, id++);
+        }
+        return writeAll(entities);
+    }
+
+    protected List<T> writeAll(List<T> entities) {
+        database.inTransaction(c -> mergeBatch(c, entities));
+        return entities;
+    }
+
+    // Deletes the rows with the given ids in one batched transaction, returning how many existed
+    protected int deleteAllById(Collection<Integer> ids) {
+        return database.inTransaction(c -> {
+            PreparedStatement statement = c.prepare("DELETE FROM " + table + " WHERE id = ?");
+            int deleted = 0;
+            int n = 0;
+            for (int id : ids) {
+                statement.setInt(1, id);
+                statement.addBatch();
+                if (++n % BATCH_SIZE == 0) {
+                    deleted += sum(statement.executeBatch());
+                }
+            }
+            return deleted + sum(statement.executeBatch());
+        });
+    }
+
+    protected boolean deleteById(int id) {
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare("DELETE FROM " + table + " WHERE id = ?");
+            statement.setInt(1, id);
+            return statement.executeUpdate() > 0;
+        });
+    }
+
+    protected Optional<T> selectById(int id) {
+        return selectFirst("id = ?", id);
+    }
+
+    protected List<T> selectAll() {
+        return query("SELECT data FROM " + table + " ORDER BY id");
+    }
+
+    // Entities matching a WHERE clause, in id order
+    protected List<T> selectWhere(String where, Object... params) {
+        return query("SELECT data FROM " + table + " WHERE " + where + " ORDER BY id", params);
+    }
+
+    /**
+     * One page in id order or ordered by dateColumn (ties by id, rows without a date last),
+     * continuing past the request's cursor with a keyset condition when it has one.
+     */
+    protected Page<T> selectPage(PageRequest request, String dateColumn) {
+        return selectPage(request, dateColumn, null);
+    }
+
+    /**
+     * One page of the rows matching filter, a WHERE condition such as "volunteer_id = ?",
+     * ordered and continued as selectPage(request, dateColumn); the total counts only the
+     * matching rows. A null filter pages the whole table.
+     */
+    protected Page<T> selectPage(PageRequest request, String dateColumn, String filter, Object... filterParams) {
+        String direction = request.isDescending() ? " DESC" : " ASC";
+        String beyond = request.isDescending() ? " < ?" : " > ?";
+        String keyset = null;
+        List<Object> params = new ArrayList<>();
+        if (filter != null) {
+            params.addAll(Arrays.asList(filterParams));
+        }
+        Page.Cursor after = request.getAfter();
+        if (after != null && !request.byDate()) {
+            keyset = "id" + beyond;
+            params.add(after.getId());
+        } else if (after != null && after.getDate() == null) {
+            keyset = dateColumn + " IS NULL AND id" + beyond;
+            params.add(after.getId());
+        } else if (after != null) {
+            keyset = dateColumn + beyond + " OR (" + dateColumn + " = ? AND id" + beyond + ") OR "
+                    + dateColumn + " IS NULL";
+            params.add(after.getDate());
+            params.add(after.getDate());
+            params.add(after.getId());
+        }
+        String where = "";
+        if (filter != null && keyset != null) {
+            where = " WHERE (" + filter + ") AND (" + keyset + ")";
+        } else if (filter != null) {
+            where = " WHERE " + filter;
+        } else if (keyset != null) {
+            where = " WHERE " + keyset;
+        }
+        String order = request.byDate()
+                ? dateColumn + direction + " NULLS LAST, id" + direction
+                : "id" + direction;
+        params.add(request.getLimit() + 1);
+        params.add(request.getOffset());
+        String sql = "SELECT data, id, " + dateColumn + " FROM " + table + where + " ORDER BY " + order
+                + " LIMIT ? OFFSET ?";
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare(sql);
+            bind(statement, 1, params.toArray());
+            List<T> items = new ArrayList<>();
+            Page.Cursor next = null;
+            try (ResultSet rs = statement.executeQuery()) {
+                Object date = null;
+                int id = 0;
+                while (rs.next()) {
+                    // One extra row tells whether another page follows; the cursor keeps the
+                    // date as stored, which may be less precise than the entity's
+                    if (items.size() == request.getLimit()) {
+                        next = new Page.Cursor(request.getOrder(), request.byDate() ? date : null, id);
+                        break;
+                    }
+                    items.add(gson.fromJson(rs.getString(1), type));
+                    id = rs.getInt(2);
+                    date = rs.getObject(3);
+                }
+            }
+            // Counted on the same connection; borrowing a second one while holding this could exhaust the pool
+            return new Page<>(items, filter != null ? countWhere(c, filter, filterParams) : countRows(c), request, next);
+        });
+    }
+
+    protected Optional<T> selectFirst(String where, Object... params) {
+        List<T> found = query("SELECT data FROM " + table + " WHERE " + where + " ORDER BY id LIMIT 1", params);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    protected boolean exists(String where, Object... params) {
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare("SELECT 1 FROM " + table + " WHERE " + where + " LIMIT 1");
+            bind(statement, 1, params);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        });
+    }
+
+    /**
+     * Rejects a case-insensitive key column value held by a row other than id. Callers
+     * hold the repository's lock across the check and the write, which makes the pair
+     * atomic for this process, the embedded database's only user.
+     * @throws IllegalArgumentException naming field if the value is taken
+     */
+    protected void requireUnique(String column, String value, int id, String field) {
+        if (value != null && exists(column + " = ? AND id <> ?", lower(value), id)) {
+            throw new IllegalArgumentException(field + " already exists");
+        }
+    }
+
+    // Runs a query whose first column is the data column
+    protected List<T> query(String sql, Object... params) {
+        return database.execute(c -> {
+            PreparedStatement statement = c.prepare(sql);
+            bind(statement, 1, params);
+            List<T> result = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    result.add(gson.fromJson(rs.getString(1), type));
+                }
+            }
+            return result;
+        });
+    }
+
+    protected int countWhere(String where, Object... params) {
+        return database.execute(c -> countWhere(c, where, params));
+    }
+
+    private int countWhere(JdbcDatabase.PooledConnection c, String where, Object... params) throws SQLException {
+        PreparedStatement statement = c.prepare("SELECT COUNT(*) FROM " + table + " WHERE " + where);
+        bind(statement, 1, params);
+        try (ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    protected int countRows() {
+        return database.execute(this::countRows);
+    }
+
+    private int countRows(JdbcDatabase.PooledConnection c) throws SQLException {
+        try (ResultSet rs = c.prepare("SELECT COUNT(*) FROM " + table).executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Rejects a batch in which two entities have the same case-insensitive key, which
+     * requireUnique() cannot see since none of them is stored yet.
+     * @throws IllegalArgumentException naming field
+     */
+    protected static <T> void requireDistinct(Collection<T> entities, Function<T, String> key, String field) {
+        Set<String> seen = new HashSet<>();
+        for (T entity : entities) {
+            String value = lower(key.apply(entity));
+            if (value != null && !seen.add(value)) {
+                throw new IllegalArgumentException(field + " already exists");
+            }
+        }
+    }
+
+    // Copies entities in with their existing ids, in one transaction; used by JdbcMigrator
+    int importAll(Collection<T> entities) {
+        int imported = database.inTransaction(c -> mergeBatch(c, entities));
+        for (T entity : entities) {
+            seq.accumulateAndGet(idOf(entity) + 1, Math::max);
+        }
+        return imported;
+    }
+
+    // Writes entities with batched MERGE statements, returning how many there were
+    private int mergeBatch(JdbcDatabase.PooledConnection c, Collection<T> entities) throws SQLException {
+        PreparedStatement statement = c.prepare(mergeSql);
+        int n = 0;
+        for (T entity : entities) {
+            bindEntity(statement, entity).addBatch();
+            if (++n % BATCH_SIZE == 0) {
+                statement.executeBatch();
+            }
+        }
+        statement.executeBatch();
+        return n;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(0, count);
+        }
+        return total;
+    }
+
+    private PreparedStatement bindEntity(PreparedStatement statement, T entity) throws SQLException {
+        statement.setInt(1, idOf(entity));
+        int index = 2;
+        for (Column<T> column : columns) {
+            statement.setObject(index++, sqlValue(column.value.apply(entity)));
+        }
+        statement.setString(index, gson.toJson(entity, type));
+        return statement;
+    }
+
+    private static void bind(PreparedStatement statement, int first, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(first + i, sqlValue(params[i]));
+        }
+    }
+
+    // Enums are stored by name
+    private static Object sqlValue(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value;
+    }
+
+    static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    // LIKE pattern matching value anywhere, with LIKE's wildcards in value escaped
+    static String containsPattern(String value) {
+        return "%" + escapeLike(value) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Up to limit entities whose lower-cased key columns contain query, ranked like the
+     * in-memory TrigramIndex: an equal column, then a column or word starting with query,
+     * then any match, ties going to the shorter first column. Misspellings are not matched.
+     */
+    protected List<T> rankedSearch(String query, int limit, String... keyColumns) {
+        String q = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (q.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        StringJoiner where = new StringJoiner(" OR ");
+        StringJoiner ranks = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>();
+        for (String column : keyColumns) {
+            where.add(column + " LIKE ?");
+            params.add(containsPattern(q));
+        }
+        for (String column : keyColumns) {
+            ranks.add("CASE WHEN " + column + " = ? THEN 0 WHEN " + column + " LIKE ? THEN 1 WHEN "
+                    + column + " LIKE ? THEN 2 WHEN " + column + " LIKE ? THEN 3 ELSE 4 END");
+            params.add(q);
+            params.add(escapeLike(q) + "%");
+            params.add("% " + escapeLike(q) + "%");
+            params.add(containsPattern(q));
+        }
+        String rank = keyColumns.length > 1 ? "LEAST(" + ranks + ")" : ranks.toString();
+        params.add(limit);
+        return query("SELECT data FROM " + table + " WHERE " + where + " ORDER BY " + rank
+                + ", LENGTH(" + keyColumns[0] + "), id LIMIT ?", params.toArray());
+    }
+}
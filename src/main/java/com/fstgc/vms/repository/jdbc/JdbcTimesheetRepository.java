@@ -0,0 +1,144 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.Timesheet;
+import com.fstgc.vms.model.enums.TimesheetStatus;
+import com.fstgc.vms.repository.TimesheetRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public class JdbcTimesheetRepository extends JdbcRepository<Timesheet> implements TimesheetRepository {
+
+    public JdbcTimesheetRepository(JdbcDatabase database) {
+        super(database, "timesheets", Timesheet.class, List.of(
+                new Column<>("volunteer_id", "INT", Timesheet::getVolunteerId),
+                new Column<>("event_id", "INT", Timesheet::getEventId),
+                new Column<>("period_start", "DATE", Timesheet::getPeriodStartDate),
+                new Column<>("period_end", "DATE", Timesheet::getPeriodEndDate),
+                new Column<>("approval_status", "VARCHAR(32)", Timesheet::getApprovalStatus),
+                new Column<>("created_date", "TIMESTAMP", Timesheet::getCreatedDate)));
+        index("volunteer_id");
+        index("event_id");
+        index("volunteer_id", "event_id");
+        index("approval_status");
+        index("period_start");
+        index("approval_status");
+        index("created_date");
+    }
+
+    @Override
+    protected int idOf(Timesheet timesheet) {
+        return timesheet.getTimesheetId();
+    }
+
+    @Override
+    protected void assignId(Timesheet timesheet, int id) {
+        timesheet.setTimesheetId(id);
+    }
+
+    @Override
+    public Optional<Timesheet> findById(int id) { return selectById(id); }
+
+    @Override
+    public Page<Timesheet> findPage(PageRequest request) {
+        return selectPage(request, "created_date");
+    }
+
+    @Override
+    public List<Timesheet> findByVolunteer(int volunteerId) {
+        return selectWhere("volunteer_id = ?", volunteerId);
+    }
+
+    @Override
+    public List<Timesheet> findByVolunteerAndEvent(int volunteerId, int eventId) {
+        return selectWhere("volunteer_id = ? AND event_id = ?", volunteerId, eventId);
+    }
+
+    @Override
+    public boolean existsByVolunteerAndEvent(int volunteerId, int eventId) {
+        return exists("volunteer_id = ? AND event_id = ?", volunteerId, eventId);
+    }
+
+    @Override
+    public List<Timesheet> findByPeriod(LocalDate start, LocalDate end) {
+        return query("SELECT data FROM timesheets WHERE period_start BETWEEN ? AND ? AND period_end <= ? ORDER BY period_start, id",
+                start, end, end);
+    }
+
+    @Override
+    public List<Timesheet> findByApprovalStatus(String status) {
+        return selectWhere("approval_status = ?", status.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Timesheet> findByApprovalStatus(TimesheetStatus status) {
+        return selectWhere("approval_status = ?", status);
+    }
+
+    @Override
+    public int countByApprovalStatus(TimesheetStatus status) {
+        return countWhere("approval_status = ?", status);
+    }
+
+    @Override
+    public List<Timesheet> findPendingApprovals() {
+        return findByApprovalStatus(TimesheetStatus.PENDING);
+    }
+
+    @Override
+    public Page<Timesheet> findPageByVolunteer(int volunteerId, PageRequest request) {
+        return selectPage(request, "created_date", "volunteer_id = ?", volunteerId);
+    }
+
+    @Override
+    public Page<Timesheet> findPageByApprovalStatus(TimesheetStatus status, PageRequest request) {
+        return selectPage(request, "created_date", "approval_status = ?", status);
+    }
+
+    @Override
+    public Page<Timesheet> findPendingApprovalsPage(PageRequest request) {
+        return findPageByApprovalStatus(TimesheetStatus.PENDING, request);
+    }
+
+    @Override
+    public List<Timesheet> findAll() { return selectAll(); }
+
+    @Override
+    public List<Timesheet> findAllByCreatedDate() {
+        return query("SELECT data FROM timesheets ORDER BY created_date DESC NULLS LAST, id");
+    }
+
+    @Override
+    public Timesheet save(Timesheet timesheet) {
+        return insert(timesheet);
+    }
+
+    @Override
+    public Timesheet update(Timesheet timesheet) {
+        return write(timesheet);
+    }
+
+    @Override
+    public List<Timesheet> saveAll(List<Timesheet> timesheets) {
+        return insertAll(timesheets);
+    }
+
+    @Override
+    public List<Timesheet> updateAll(List<Timesheet> timesheets) {
+        return writeAll(timesheets);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteById(id);
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return deleteAllById(ids);
+    }
+}
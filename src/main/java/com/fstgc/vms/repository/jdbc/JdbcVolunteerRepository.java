@@ -0,0 +1,121 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.Volunteer;
+import com.fstgc.vms.model.enums.VolunteerStatus;
+import com.fstgc.vms.repository.VolunteerRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public class JdbcVolunteerRepository extends JdbcRepository<Volunteer> implements VolunteerRepository {
+
+    public JdbcVolunteerRepository(JdbcDatabase database) {
+        super(database, "volunteers", Volunteer.class, List.of(
+                new Column<>("email_key", "VARCHAR(255)", v -> lower(v.getEmail())),
+                new Column<>("name_key", "VARCHAR(255)", v -> lower(v.getFirstName() + " " + v.getLastName())),
+                new Column<>("status", "VARCHAR(32)", Volunteer::getStatus),
+                new Column<>("registration_date", "TIMESTAMP", Volunteer::getRegistrationDate)));
+        index("email_key");
+        index("status");
+        index("registration_date");
+    }
+
+    @Override
+    protected int idOf(Volunteer volunteer) {
+        return volunteer.getId();
+    }
+
+    @Override
+    protected void assignId(Volunteer volunteer, int id) {
+        volunteer.setId(id);
+    }
+
+    @Override
+    public Optional<Volunteer> findById(int id) { return selectById(id); }
+
+    @Override
+    public Page<Volunteer> findPage(PageRequest request) {
+        return selectPage(request, "registration_date");
+    }
+
+    @Override
+    public List<Volunteer> findAll() { return selectAll(); }
+
+    @Override
+    public Optional<Volunteer> findByEmail(String email) {
+        return selectFirst("email_key = ?", lower(email));
+    }
+
+    @Override
+    public synchronized Volunteer save(Volunteer volunteer) {
+        requireUnique("email_key", volunteer.getEmail(), 0, "Email");
+        return insert(volunteer);
+    }
+
+    @Override
+    public synchronized Volunteer update(Volunteer volunteer) {
+        requireUnique("email_key", volunteer.getEmail(), volunteer.getId(), "Email");
+        return write(volunteer);
+    }
+
+    @Override
+    public synchronized List<Volunteer> saveAll(List<Volunteer> volunteers) {
+        requireDistinct(volunteers, Volunteer::getEmail, "Email");
+        for (Volunteer volunteer : volunteers) {
+            requireUnique("email_key", volunteer.getEmail(), 0, "Email");
+        }
+        return insertAll(volunteers);
+    }
+
+    @Override
+    public synchronized List<Volunteer> updateAll(List<Volunteer> volunteers) {
+        requireDistinct(volunteers, Volunteer::getEmail, "Email");
+        for (Volunteer volunteer : volunteers) {
+            requireUnique("email_key", volunteer.getEmail(), volunteer.getId(), "Email");
+        }
+        return writeAll(volunteers);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteById(id);
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return deleteAllById(ids);
+    }
+
+    @Override
+    public List<Volunteer> searchByName(String name) {
+        return selectWhere("name_key LIKE ?", containsPattern(name));
+    }
+
+    @Override
+    public List<Volunteer> search(String query, int limit) {
+        return rankedSearch(query, limit, "name_key", "email_key");
+    }
+
+    @Override
+    public List<Volunteer> filterByStatus(String status) {
+        return selectWhere("status = ?", status.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<Volunteer> filterByStatus(VolunteerStatus status) {
+        return selectWhere("status = ?", status);
+    }
+
+    @Override
+    public Page<Volunteer> findPageByStatus(VolunteerStatus status, PageRequest request) {
+        return selectPage(request, "registration_date", "status = ?", status);
+    }
+
+    @Override
+    public int countByStatus(VolunteerStatus status) {
+        return countWhere("status = ?", status);
+    }
+}
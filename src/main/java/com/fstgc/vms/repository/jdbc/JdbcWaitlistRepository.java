@@ -0,0 +1,43 @@
+package com.fstgc.vms.repository.jdbc;
+
+import com.fstgc.vms.model.WaitlistEntry;
+import com.fstgc.vms.repository.WaitlistRepository;
+import java.util.List;
+
+public class JdbcWaitlistRepository extends JdbcRepository<WaitlistEntry> implements WaitlistRepository {
+
+    public JdbcWaitlistRepository(JdbcDatabase database) {
+        super(database, "waitlist", WaitlistEntry.class, List.of(
+                new Column<>("event_id", "INT", WaitlistEntry::getEventId),
+                new Column<>("volunteer_id", "INT", WaitlistEntry::getVolunteerId)));
+        index("event_id");
+    }
+
+    @Override
+    protected int idOf(WaitlistEntry entry) {
+        return entry.getEntryId();
+    }
+
+    @Override
+    protected void assignId(WaitlistEntry entry, int id) {
+        entry.setEntryId(id);
+    }
+
+    @Override
+    public List<WaitlistEntry> findAll() { return selectAll(); }
+
+    @Override
+    public WaitlistEntry save(WaitlistEntry entry) {
+        return insert(entry);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return deleteById(id);
+    }
+
+    @Override
+    public WaitlistEntry restore(WaitlistEntry entry) {
+        return write(entry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fstgc.vms.repository.memory;
+
+import com.fstgc.vms.util.DataPersistence;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Applies the items of a saveAll, updateAll or deleteAll to a repository's store and
+ * indexes inside one DataPersistence.atomically() scope, so the batch reaches the journal
+ * as one record only once every item has been applied. If an item fails, the items
+ * started so far, the failing one included, are undone newest first and nothing is
+ * journaled. Checks that can reject the batch belong before apply(), as does taking
+ * DataPersistence.copy() snapshots of the stored entities an undo puts back.
+ */
+final class Batch {
+    private Batch() {}
+
+    static void requireNoNulls(Collection<?> items, String what) {
+        for (Object item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Batch contains a null " + what);
+            }
+        }
+    }
+
+    // undo must cope with an item that apply only partly changed
+    static <T> void apply(Collection<T> items, Consumer<T> apply, Consumer<T> undo) {
+        Deque<T> started = new ArrayDeque<>();
+        try {
+            DataPersistence.atomically(() -> {
+                for (T item : items) {
+                    started.push(item);
+                    apply.accept(item);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            for (T item : started) {
+                try {
+                    undo.accept(item);
+                } catch (RuntimeException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+}
@@ -2,37 +2,47 @@ package com.fstgc.vms.repository.memory;
 
 import com.fstgc.vms.model.SystemAdmin;
 import com.fstgc.vms.repository.AdminRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.util.DataPersistence;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class InMemoryAdminRepository implements AdminRepository {
-    private final Map<Integer, SystemAdmin> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<SystemAdmin> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final UniqueIndex byUsername = new UniqueIndex("Username");
+    private final UniqueIndex byEmail = new UniqueIndex("Email");
+    private final SortedIndex<LocalDateTime> byCreatedDate = new SortedIndex<>();
     
     public InMemoryAdminRepository() {
         Map<Integer, SystemAdmin> loaded = DataPersistence.loadAdmins();
         store.putAll(loaded);
+        new TreeMap<>(loaded).forEach((id, a) -> {
+            byUsername.load(id, a.getUsername());
+            byEmail.load(id, a.getEmail());
+            byCreatedDate.put(id, a.getCreatedDate());
+        });
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
     @Override
     public Optional<SystemAdmin> findByUsername(String username) {
         // Search by username or email
-        return store.values().stream()
-                .filter(a -> username.equalsIgnoreCase(a.getUsername()) || 
-                            username.equalsIgnoreCase(a.getEmail()))
-                .findFirst();
+        Integer id = byUsername.get(username);
+        if (id == null) {
+            id = byEmail.get(username);
+        }
+        return id != null ? Optional.ofNullable(store.get(id)) : Optional.empty();
     }
 
     @Override
     public Optional<SystemAdmin> findByEmail(String email) {
-        return store.values().stream()
-                .filter(a -> email != null && email.equalsIgnoreCase(a.getEmail()))
-                .findFirst();
+        Integer id = byEmail.get(email);
+        return id != null ? Optional.ofNullable(store.get(id)) : Optional.empty();
     }
 
     @Override
@@ -40,6 +50,11 @@ public class InMemoryAdminRepository implements AdminRepository {
         return Optional.ofNullable(store.get(id));
     }
 
+    @Override
+    public Page<SystemAdmin> findPage(PageRequest request) {
+        return Paging.page(store, byCreatedDate, SystemAdmin::getId, request);
+    }
+
     @Override
     public boolean validateCredentials(String username, String passwordHash) {
         return findByUsername(username)
@@ -50,28 +65,73 @@ public class InMemoryAdminRepository implements AdminRepository {
     @Override
     public SystemAdmin save(SystemAdmin admin) {
         int id = seq.getAndIncrement();
+        claim(id, admin);
         admin.setId(id);
         store.put(id, admin);
-        DataPersistence.saveAdmins(store);
+        byCreatedDate.put(id, admin.getCreatedDate());
+        DataPersistence.saveAdmin(admin);
         return admin;
     }
 
     @Override
     public SystemAdmin update(SystemAdmin admin) {
         if (admin != null && admin.getId() > 0) {
+            claim(admin.getId(), admin);
             store.put(admin.getId(), admin);
-            DataPersistence.saveAdmins(store);
+            byCreatedDate.put(admin.getId(), admin.getCreatedDate());
+            DataPersistence.saveAdmin(admin);
         }
         return admin;
     }
 
+    // Nothing is saved if any username or email is taken or appears twice
+    @Override
+    public List<SystemAdmin> saveAll(List<SystemAdmin> admins) {
+        Batch.requireNoNulls(admins, "admin");
+        int id = seq.getAndAdd(admins.size());
+        Map<Integer, SystemAdmin> byId = new LinkedHashMap<>();
+        for (SystemAdmin admin : admins) {
+            byId.put(id++, admin);
+        }
+        checkAll(byId);
+        byId.forEach((adminId, admin) -> admin.setId(adminId));
+        Batch.apply(admins, admin -> {
+            claim(admin.getId(), admin);
+            store.put(admin.getId(), admin);
+            byCreatedDate.put(admin.getId(), admin.getCreatedDate());
+            DataPersistence.saveAdmin(admin);
+        }, admin -> remove(admin.getId()));
+        return admins;
+    }
+
+    // Admins without an id are skipped, as update() does
+    @Override
+    public List<SystemAdmin> updateAll(List<SystemAdmin> admins) {
+        Map<Integer, SystemAdmin> byId = new LinkedHashMap<>();
+        for (SystemAdmin admin : admins) {
+            if (admin != null && admin.getId() > 0) {
+                byId.put(admin.getId(), admin);
+            }
+        }
+        checkAll(byId);
+        Map<Integer, SystemAdmin> previous = new HashMap<>();
+        byId.keySet().forEach(adminId -> previous.put(adminId, DataPersistence.copy(store.get(adminId))));
+        Batch.apply(byId.values(), admin -> {
+            claim(admin.getId(), admin);
+            store.put(admin.getId(), admin);
+            byCreatedDate.put(admin.getId(), admin.getCreatedDate());
+            DataPersistence.saveAdmin(admin);
+        }, admin -> restore(admin.getId(), previous.get(admin.getId())));
+        return admins;
+    }
+
     @Override
     public SystemAdmin updatePassword(int id, String newHash) {
         SystemAdmin admin = store.get(id);
         if (admin != null) {
             admin.setPasswordHash(newHash);
             store.put(id, admin);
-            DataPersistence.saveAdmins(store);
+            DataPersistence.saveAdmin(admin);
         }
         return admin;
     }
@@ -82,8 +142,50 @@ public class InMemoryAdminRepository implements AdminRepository {
         if (admin != null) {
             admin.setPermissionsJson(permissionsJson);
             store.put(id, admin);
-            DataPersistence.saveAdmins(store);
+            DataPersistence.saveAdmin(admin);
         }
         return admin;
     }
+
+    // Checks both keys before claiming either, so a clash on one leaves the other unchanged
+    private synchronized void claim(int id, SystemAdmin admin) {
+        byUsername.check(id, admin.getUsername());
+        byEmail.check(id, admin.getEmail());
+        byUsername.claim(id, admin.getUsername());
+        byEmail.claim(id, admin.getEmail());
+    }
+
+    // Checks a batch's usernames and emails against the index and each other, claiming nothing
+    private synchronized void checkAll(Map<Integer, SystemAdmin> admins) {
+        Map<Integer, String> usernames = new LinkedHashMap<>();
+        Map<Integer, String> emails = new LinkedHashMap<>();
+        admins.forEach((id, admin) -> {
+            usernames.put(id, admin.getUsername());
+            emails.put(id, admin.getEmail());
+        });
+        byUsername.checkAll(usernames);
+        byEmail.checkAll(emails);
+    }
+
+    // Removes id from the store and the indexes without persisting; undoes a failed batch
+    private void remove(int id) {
+        store.remove(id);
+        byUsername.release(id);
+        byEmail.release(id);
+        byCreatedDate.remove(id);
+    }
+
+    // Puts previous back as admin id, or removes id if there was none; undoes a failed batch
+    private void restore(int id, SystemAdmin previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            byUsername.release(id);
+            byEmail.release(id);
+            byUsername.load(id, previous.getUsername());
+            byEmail.load(id, previous.getEmail());
+            store.put(id, previous);
+            byCreatedDate.put(id, previous.getCreatedDate());
+        }
+    }
 }
@@ -2,31 +2,41 @@ package com.fstgc.vms.repository.memory;
 
 import com.fstgc.vms.model.Announcement;
 import com.fstgc.vms.repository.AnnouncementRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.util.DataPersistence;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class InMemoryAnnouncementRepository implements AnnouncementRepository {
-    private final Map<Integer, Announcement> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<Announcement> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final SortedIndex<LocalDateTime> byPublishedDate = new SortedIndex<>();
+    // Title, then message
+    private final TrigramIndex text = new TrigramIndex();
     
     public InMemoryAnnouncementRepository() {
         Map<Integer, Announcement> loaded = DataPersistence.loadAnnouncements();
         store.putAll(loaded);
+        loaded.values().forEach(this::index);
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
     @Override
     public Optional<Announcement> findById(int id) { return Optional.ofNullable(store.get(id)); }
 
+    @Override
+    public Page<Announcement> findPage(PageRequest request) {
+        return Paging.page(store, byPublishedDate, Announcement::getAnnouncementId, request);
+    }
+
     @Override
     public List<Announcement> findAll() {
-        return new ArrayList<>(store.values());
+        return store.values();
     }
 
     @Override
@@ -39,9 +49,7 @@ public class InMemoryAnnouncementRepository implements AnnouncementRepository {
 
     @Override
     public List<Announcement> findByDateRange(LocalDateTime start, LocalDateTime end) {
-        return store.values().stream()
-                .filter(a -> !a.getPublishedDate().isBefore(start) && !a.getPublishedDate().isAfter(end))
-                .collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, byPublishedDate.range(start, end));
     }
 
     @Override
@@ -58,38 +66,115 @@ public class InMemoryAnnouncementRepository implements AnnouncementRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Announcement> search(String query, int limit) {
+        return SecondaryIndex.resolve(store, text.search(query, limit));
+    }
+
     @Override
     public Announcement save(Announcement announcement) {
         int id = seq.getAndIncrement();
         announcement.setAnnouncementId(id);
         store.put(id, announcement);
-        DataPersistence.saveAnnouncements(store);
+        index(announcement);
+        DataPersistence.saveAnnouncement(announcement);
         return announcement;
     }
 
     @Override
     public Announcement update(Announcement announcement) { 
         store.put(announcement.getAnnouncementId(), announcement); 
-        DataPersistence.saveAnnouncements(store);
+        index(announcement);
+        DataPersistence.saveAnnouncement(announcement);
         return announcement; 
     }
 
+    @Override
+    public List<Announcement> saveAll(List<Announcement> announcements) {
+        Batch.requireNoNulls(announcements, "announcement");
+        int id = seq.getAndAdd(announcements.size());
+        for (Announcement announcement : announcements) {
+            announcement.setAnnouncementId(id++);
+        }
+        Batch.apply(announcements, announcement -> {
+            store.put(announcement.getAnnouncementId(), announcement);
+            index(announcement);
+            DataPersistence.saveAnnouncement(announcement);
+        }, announcement -> remove(announcement.getAnnouncementId()));
+        return announcements;
+    }
+
+    @Override
+    public List<Announcement> updateAll(List<Announcement> announcements) {
+        Batch.requireNoNulls(announcements, "announcement");
+        Map<Integer, Announcement> previous = new HashMap<>();
+        for (Announcement announcement : announcements) {
+            previous.putIfAbsent(announcement.getAnnouncementId(), DataPersistence.copy(store.get(announcement.getAnnouncementId())));
+        }
+        Batch.apply(announcements, announcement -> {
+            store.put(announcement.getAnnouncementId(), announcement);
+            index(announcement);
+            DataPersistence.saveAnnouncement(announcement);
+        }, announcement -> restore(announcement.getAnnouncementId(), previous.get(announcement.getAnnouncementId())));
+        return announcements;
+    }
+
     @Override
     public boolean softDelete(int id) {
         Announcement a = store.get(id);
         if (a == null) return false;
         a.setDeleted(true);
         store.put(id, a);
-        DataPersistence.saveAnnouncements(store);
+        DataPersistence.saveAnnouncement(a);
         return true;
     }
     
     @Override
     public boolean delete(int id) {
+        boolean removed = remove(id);
+        if (removed) {
+            DataPersistence.deleteAnnouncement(id);
+        }
+        return removed;
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        Batch.requireNoNulls(ids, "id");
+        Map<Integer, Announcement> removed = new HashMap<>();
+        Batch.apply(ids, id -> {
+            Announcement announcement = store.get(id);
+            if (announcement != null) {
+                removed.put(id, announcement);
+                remove(id);
+                DataPersistence.deleteAnnouncement(id);
+            }
+        }, id -> restore(id, removed.get(id)));
+        return removed.size();
+    }
+
+    // Removes id from the store and the indexes without persisting
+    private boolean remove(int id) {
         boolean removed = store.remove(id) != null;
         if (removed) {
-            DataPersistence.saveAnnouncements(store);
+            byPublishedDate.remove(id);
+            text.remove(id);
         }
         return removed;
     }
+
+    // Puts previous back as entity id, or removes id if there was none; undoes a failed batch
+    private void restore(int id, Announcement previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            store.put(id, previous);
+            index(previous);
+        }
+    }
+
+    private void index(Announcement announcement) {
+        byPublishedDate.put(announcement.getAnnouncementId(), announcement.getPublishedDate());
+        text.put(announcement.getAnnouncementId(), announcement.getTitle(), announcement.getMessage());
+    }
 }
@@ -2,48 +2,120 @@ package com.fstgc.vms.repository.memory;
 
 import com.fstgc.vms.model.Attendance;
 import com.fstgc.vms.repository.AttendanceRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.repository.Leaderboard;
 import com.fstgc.vms.util.DataPersistence;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 public class InMemoryAttendanceRepository implements AttendanceRepository {
-    private final Map<Integer, Attendance> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<Attendance> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final SecondaryIndex<Integer> byVolunteer = new SecondaryIndex<>();
+    private final SecondaryIndex<Integer> byEvent = new SecondaryIndex<>();
+    private final SecondaryIndex<Long> byVolunteerAndEvent = new SecondaryIndex<>();
+    // Check-in times, split by whether the record has been checked out
+    private final SortedIndex<LocalDateTime> closedByCheckIn = new SortedIndex<>();
+    private final SortedIndex<LocalDateTime> openByCheckIn = new SortedIndex<>();
+    private final SortedIndex<LocalDateTime> byCheckIn = new SortedIndex<>();
+    private final RankedScores hours = new RankedScores();
+    private final RankedScores eventsAttended = new RankedScores();
+    private final RankedScores completedHours = new RankedScores();
+    // What each record last added to the leaderboards; records are updated in place, so
+    // the old values cannot be read back from the record itself
+    private final Map<Integer, Contribution> contributions = new HashMap<>();
+
+    private static class Contribution {
+        final int volunteerId;
+        final double hours;
+        final boolean checkedIn;
+        final boolean completed;
+
+        Contribution(Attendance attendance) {
+            this.volunteerId = attendance.getVolunteerId();
+            this.hours = attendance.getHoursWorked();
+            this.checkedIn = attendance.getCheckInTime() != null;
+            this.completed = checkedIn && attendance.getCheckOutTime() != null;
+        }
+    }
     
     public InMemoryAttendanceRepository() {
         Map<Integer, Attendance> loaded = DataPersistence.loadAttendance();
         store.putAll(loaded);
+        loaded.values().forEach(this::index);
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
     @Override
     public Optional<Attendance> findById(int id) { return Optional.ofNullable(store.get(id)); }
 
+    @Override
+    public Page<Attendance> findPage(PageRequest request) {
+        return Paging.page(store, byCheckIn, Attendance::getAttendanceId, request);
+    }
+
     @Override
     public List<Attendance> findAll() {
-        return new ArrayList<>(store.values());
+        return store.values();
     }
 
     @Override
     public List<Attendance> findByVolunteer(int volunteerId) {
-        return store.values().stream().filter(a -> a.getVolunteerId() == volunteerId).collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, byVolunteer.get(volunteerId));
     }
 
     @Override
     public List<Attendance> findByEvent(int eventId) {
-        return store.values().stream().filter(a -> a.getEventId() == eventId).collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, byEvent.get(eventId));
+    }
+
+    @Override
+    public Page<Attendance> findPageByVolunteer(int volunteerId, PageRequest request) {
+        return Paging.page(store, byCheckIn, byVolunteer.get(volunteerId), Attendance::getAttendanceId, request);
+    }
+
+    @Override
+    public Page<Attendance> findPageByEvent(int eventId, PageRequest request) {
+        return Paging.page(store, byCheckIn, byEvent.get(eventId), Attendance::getAttendanceId, request);
+    }
+
+    @Override
+    public List<Attendance> findByVolunteerAndEvent(int volunteerId, int eventId) {
+        return SecondaryIndex.resolve(store, byVolunteerAndEvent.get(SecondaryIndex.pair(volunteerId, eventId)));
+    }
+
+    @Override
+    public boolean existsByVolunteerAndEvent(int volunteerId, int eventId) {
+        return !findByVolunteerAndEvent(volunteerId, eventId).isEmpty();
     }
 
     @Override
     public List<Attendance> findByDateRange(LocalDateTime start, LocalDateTime end) {
-        return store.values().stream()
-                .filter(a -> !a.getCheckInTime().isBefore(start) && (a.getCheckOutTime()==null || !a.getCheckOutTime().isAfter(end)))
-                .collect(Collectors.toList());
+        // A closed record checked out by end was also checked in by end; open records
+        // match on check-in alone
+        List<Attendance> result = SecondaryIndex.resolve(store, closedByCheckIn.range(start, end));
+        result.removeIf(a -> a.getCheckOutTime() != null && a.getCheckOutTime().isAfter(end));
+        result.addAll(SecondaryIndex.resolve(store, openByCheckIn.range(start, null)));
+        return result;
+    }
+
+    @Override
+    public Leaderboard hoursLeaderboard() {
+        return hours;
+    }
+
+    @Override
+    public Leaderboard eventsLeaderboard() {
+        return eventsAttended;
+    }
+
+    @Override
+    public Leaderboard completedHoursLeaderboard() {
+        return completedHours;
     }
 
     @Override
@@ -51,23 +123,129 @@ public class InMemoryAttendanceRepository implements AttendanceRepository {
         int id = seq.getAndIncrement();
         attendance.setAttendanceId(id);
         store.put(id, attendance);
-        DataPersistence.saveAttendance(store);
+        index(attendance);
+        DataPersistence.saveAttendanceRecord(attendance);
         return attendance;
     }
 
     @Override
     public Attendance update(Attendance attendance) { 
         store.put(attendance.getAttendanceId(), attendance); 
-        DataPersistence.saveAttendance(store);
+        index(attendance);
+        DataPersistence.saveAttendanceRecord(attendance);
         return attendance; 
     }
 
     @Override
-    public boolean delete(int id) { 
+    public List<Attendance> saveAll(List<Attendance> records) {
+        Batch.requireNoNulls(records, "attendance record");
+        int id = seq.getAndAdd(records.size());
+        for (Attendance attendance : records) {
+            attendance.setAttendanceId(id++);
+        }
+        Batch.apply(records, attendance -> {
+            store.put(attendance.getAttendanceId(), attendance);
+            index(attendance);
+            DataPersistence.saveAttendanceRecord(attendance);
+        }, attendance -> remove(attendance.getAttendanceId()));
+        return records;
+    }
+
+    @Override
+    public List<Attendance> updateAll(List<Attendance> records) {
+        Batch.requireNoNulls(records, "attendance record");
+        Map<Integer, Attendance> previous = new HashMap<>();
+        for (Attendance attendance : records) {
+            previous.putIfAbsent(attendance.getAttendanceId(), DataPersistence.copy(store.get(attendance.getAttendanceId())));
+        }
+        Batch.apply(records, attendance -> {
+            store.put(attendance.getAttendanceId(), attendance);
+            index(attendance);
+            DataPersistence.saveAttendanceRecord(attendance);
+        }, attendance -> restore(attendance.getAttendanceId(), previous.get(attendance.getAttendanceId())));
+        return records;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean removed = remove(id);
+        if (removed) {
+            DataPersistence.deleteAttendanceRecord(id);
+        }
+        return removed;
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        Batch.requireNoNulls(ids, "id");
+        Map<Integer, Attendance> removed = new HashMap<>();
+        Batch.apply(ids, id -> {
+            Attendance attendance = store.get(id);
+            if (attendance != null) {
+                removed.put(id, attendance);
+                remove(id);
+                DataPersistence.deleteAttendanceRecord(id);
+            }
+        }, id -> restore(id, removed.get(id)));
+        return removed.size();
+    }
+
+    // Removes id from the store and the indexes without persisting
+    private boolean remove(int id) {
         boolean result = store.remove(id) != null; 
         if (result) {
-            DataPersistence.saveAttendance(store);
+            byVolunteer.remove(id);
+            byEvent.remove(id);
+            byVolunteerAndEvent.remove(id);
+            closedByCheckIn.remove(id);
+            openByCheckIn.remove(id);
+            byCheckIn.remove(id);
+            score(id, null);
         }
         return result;
     }
+
+    // Puts previous back as entity id, or removes id if there was none; undoes a failed batch
+    private void restore(int id, Attendance previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            store.put(id, previous);
+            index(previous);
+        }
+    }
+
+    private void index(Attendance attendance) {
+        byVolunteer.put(attendance.getAttendanceId(), attendance.getVolunteerId());
+        byEvent.put(attendance.getAttendanceId(), attendance.getEventId());
+        byVolunteerAndEvent.put(attendance.getAttendanceId(),
+                SecondaryIndex.pair(attendance.getVolunteerId(), attendance.getEventId()));
+        if (attendance.getCheckOutTime() == null) {
+            closedByCheckIn.remove(attendance.getAttendanceId());
+            openByCheckIn.put(attendance.getAttendanceId(), attendance.getCheckInTime());
+        } else {
+            openByCheckIn.remove(attendance.getAttendanceId());
+            closedByCheckIn.put(attendance.getAttendanceId(), attendance.getCheckInTime());
+        }
+        byCheckIn.put(attendance.getAttendanceId(), attendance.getCheckInTime());
+        score(attendance.getAttendanceId(), attendance);
+    }
+
+    // Replaces what record id adds to the leaderboards with what attendance adds (nothing if null)
+    private synchronized void score(int id, Attendance attendance) {
+        Contribution previous = attendance != null
+                ? contributions.put(id, new Contribution(attendance))
+                : contributions.remove(id);
+        if (previous != null) {
+            hours.add(previous.volunteerId, -previous.hours);
+            eventsAttended.add(previous.volunteerId, previous.checkedIn ? -1 : 0);
+            completedHours.add(previous.volunteerId, previous.completed ? -previous.hours : 0);
+        }
+        if (attendance != null) {
+            Contribution added = contributions.get(id);
+            hours.add(added.volunteerId, added.hours);
+            eventsAttended.add(added.volunteerId, added.checkedIn ? 1 : 0);
+            completedHours.add(added.volunteerId, added.completed ? added.hours : 0);
+        }
+    }
 }
@@ -2,30 +2,48 @@ package com.fstgc.vms.repository.memory;
 
 import com.fstgc.vms.model.Award;
 import com.fstgc.vms.repository.AwardRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import com.fstgc.vms.repository.Leaderboard;
 import com.fstgc.vms.util.DataPersistence;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class InMemoryAwardRepository implements AwardRepository {
-    private final Map<Integer, Award> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<Award> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final SecondaryIndex<Integer> byVolunteer = new SecondaryIndex<>();
+    private final SortedIndex<LocalDateTime> byDateEarned = new SortedIndex<>();
+    // Award counts per volunteer, kept in step with byVolunteer
+    private final RankedScores badges = new RankedScores();
     
     public InMemoryAwardRepository() {
         Map<Integer, Award> loaded = DataPersistence.loadAwards();
         store.putAll(loaded);
+        loaded.values().forEach(this::index);
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
     @Override
     public Optional<Award> findById(int id) { return Optional.ofNullable(store.get(id)); }
 
+    @Override
+    public Page<Award> findPage(PageRequest request) {
+        return Paging.page(store, byDateEarned, Award::getAwardId, request);
+    }
+
+    @Override
+    public List<Award> findAll() {
+        return store.values();
+    }
+
     @Override
     public List<Award> findByVolunteer(int volunteerId) {
-        return store.values().stream().filter(a -> a.getVolunteerId() == volunteerId).collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, byVolunteer.get(volunteerId));
     }
 
     @Override
@@ -37,17 +55,22 @@ public class InMemoryAwardRepository implements AwardRepository {
 
     @Override
     public List<Award> findLeaderboard() {
-        // Simple leaderboard by count of awards
-        Map<Integer, Long> counts = store.values().stream().collect(Collectors.groupingBy(Award::getVolunteerId, Collectors.counting()));
-        return counts.entrySet().stream()
-                .sorted((a,b) -> Long.compare(b.getValue(), a.getValue()))
-                .flatMap(e -> store.values().stream().filter(aw -> aw.getVolunteerId()==e.getKey()))
-                .collect(Collectors.toList());
+        // Awards grouped by volunteer, volunteers with the most awards first
+        List<Award> result = new ArrayList<>(store.size());
+        for (Leaderboard.Entry entry : badges.page(0, Integer.MAX_VALUE)) {
+            result.addAll(findByVolunteer(entry.getVolunteerId()));
+        }
+        return result;
+    }
+
+    @Override
+    public Leaderboard badgeLeaderboard() {
+        return badges;
     }
 
     @Override
     public boolean checkIfAwarded(int volunteerId, int criteriaId) {
-        return store.values().stream().anyMatch(a -> a.getVolunteerId()==volunteerId && a.getCriteriaId()==criteriaId);
+        return findByVolunteer(volunteerId).stream().anyMatch(a -> a.getCriteriaId() == criteriaId);
     }
 
     @Override
@@ -55,14 +78,77 @@ public class InMemoryAwardRepository implements AwardRepository {
         int id = seq.getAndIncrement();
         award.setAwardId(id);
         store.put(id, award);
-        DataPersistence.saveAwards(store);
+        index(award);
+        DataPersistence.saveAward(award);
         return award;
     }
 
     @Override
     public Award update(Award award) { 
         store.put(award.getAwardId(), award); 
-        DataPersistence.saveAwards(store);
+        index(award);
+        DataPersistence.saveAward(award);
         return award; 
     }
+
+    @Override
+    public List<Award> saveAll(List<Award> awards) {
+        Batch.requireNoNulls(awards, "award");
+        int id = seq.getAndAdd(awards.size());
+        for (Award award : awards) {
+            award.setAwardId(id++);
+        }
+        Batch.apply(awards, award -> {
+            store.put(award.getAwardId(), award);
+            index(award);
+            DataPersistence.saveAward(award);
+        }, award -> remove(award.getAwardId()));
+        return awards;
+    }
+
+    @Override
+    public List<Award> updateAll(List<Award> awards) {
+        Batch.requireNoNulls(awards, "award");
+        Map<Integer, Award> previous = new HashMap<>();
+        for (Award award : awards) {
+            previous.putIfAbsent(award.getAwardId(), DataPersistence.copy(store.get(award.getAwardId())));
+        }
+        Batch.apply(awards, award -> {
+            store.put(award.getAwardId(), award);
+            index(award);
+            DataPersistence.saveAward(award);
+        }, award -> restore(award.getAwardId(), previous.get(award.getAwardId())));
+        return awards;
+    }
+
+    // Removes id from the store and the indexes without persisting; undoes a failed batch
+    private synchronized void remove(int id) {
+        Integer volunteerId = byVolunteer.keyOf(id);
+        store.remove(id);
+        byVolunteer.remove(id);
+        byDateEarned.remove(id);
+        if (volunteerId != null) {
+            badges.set(volunteerId, byVolunteer.get(volunteerId).size());
+        }
+    }
+
+    // Puts previous back as entity id, or removes id if there was none; undoes a failed batch
+    private void restore(int id, Award previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            store.put(id, previous);
+            index(previous);
+        }
+    }
+
+    private synchronized void index(Award award) {
+        Integer previous = byVolunteer.keyOf(award.getAwardId());
+        byVolunteer.put(award.getAwardId(), award.getVolunteerId());
+        byDateEarned.put(award.getAwardId(), award.getDateEarned());
+        if (previous != null && previous != award.getVolunteerId()) {
+            badges.set(previous, byVolunteer.get(previous).size());
+        }
+        badges.set(award.getVolunteerId(), byVolunteer.get(award.getVolunteerId()).size());
+    }
 }
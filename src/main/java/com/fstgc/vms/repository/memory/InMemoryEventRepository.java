@@ -1,23 +1,30 @@
 package com.fstgc.vms.repository.memory;
 
 import com.fstgc.vms.model.Event;
+import com.fstgc.vms.model.enums.EventStatus;
 import com.fstgc.vms.repository.EventRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.util.DataPersistence;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class InMemoryEventRepository implements EventRepository {
-    private final Map<Integer, Event> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<Event> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final SortedIndex<LocalDate> byDate = new SortedIndex<>();
+    private final StatusIndex<EventStatus> byStatus = new StatusIndex<>(EventStatus.class);
+    // Title, then location
+    private final TrigramIndex text = new TrigramIndex();
     
     public InMemoryEventRepository() {
         Map<Integer, Event> loaded = DataPersistence.loadEvents();
         store.putAll(loaded);
+        loaded.values().forEach(this::index);
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
@@ -25,13 +32,26 @@ public class InMemoryEventRepository implements EventRepository {
     public Optional<Event> findById(int id) { return Optional.ofNullable(store.get(id)); }
 
     @Override
-    public List<Event> findAll() { return new ArrayList<>(store.values()); }
+    public Page<Event> findPage(PageRequest request) {
+        return Paging.page(store, byDate, Event::getEventId, request);
+    }
+
+    @Override
+    public List<Event> findAll() { return store.values(); }
 
     @Override
     public List<Event> findByDateRange(LocalDate start, LocalDate end) {
-        return store.values().stream()
-                .filter(e -> !e.getEventDate().isBefore(start) && !e.getEventDate().isAfter(end))
-                .collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, byDate.range(start, end));
+    }
+
+    @Override
+    public List<Event> findUpcoming(LocalDate from) {
+        return SecondaryIndex.resolve(store, byDate.range(from, null));
+    }
+
+    @Override
+    public List<Event> findAllByDate() {
+        return SecondaryIndex.resolve(store, byDate.ordered(false));
     }
 
     @Override
@@ -43,17 +63,33 @@ public class InMemoryEventRepository implements EventRepository {
 
     @Override
     public List<Event> findByStatus(String status) {
-        return store.values().stream()
-                .filter(e -> e.getStatus().name().equalsIgnoreCase(status))
-                .collect(Collectors.toList());
+        EventStatus parsed = StatusIndex.parse(EventStatus.class, status);
+        return parsed != null ? findByStatus(parsed) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Event> findByStatus(EventStatus status) {
+        return SecondaryIndex.resolve(store, byStatus.get(status));
+    }
+
+    @Override
+    public Page<Event> findPageByStatus(EventStatus status, PageRequest request) {
+        return Paging.page(store, byDate, byStatus.get(status), Event::getEventId, request);
+    }
+
+    @Override
+    public int countByStatus(EventStatus status) {
+        return byStatus.count(status);
     }
 
     @Override
     public List<Event> searchByTitle(String title) {
-        String q = title.toLowerCase();
-        return store.values().stream()
-                .filter(e -> e.getTitle().toLowerCase().contains(q))
-                .collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, text.containing(title, 0));
+    }
+
+    @Override
+    public List<Event> search(String query, int limit) {
+        return SecondaryIndex.resolve(store, text.search(query, limit));
     }
 
     @Override
@@ -61,23 +97,97 @@ public class InMemoryEventRepository implements EventRepository {
         int id = seq.getAndIncrement();
         event.setEventId(id);
         store.put(id, event);
-        DataPersistence.saveEvents(store);
+        index(event);
+        DataPersistence.saveEvent(event);
         return event;
     }
 
     @Override
     public Event update(Event event) { 
         store.put(event.getEventId(), event); 
-        DataPersistence.saveEvents(store);
+        index(event);
+        DataPersistence.saveEvent(event);
         return event; 
     }
 
     @Override
-    public boolean delete(int id) { 
+    public List<Event> saveAll(List<Event> events) {
+        Batch.requireNoNulls(events, "event");
+        int id = seq.getAndAdd(events.size());
+        for (Event event : events) {
+            event.setEventId(id++);
+        }
+        Batch.apply(events, event -> {
+            store.put(event.getEventId(), event);
+            index(event);
+            DataPersistence.saveEvent(event);
+        }, event -> remove(event.getEventId()));
+        return events;
+    }
+
+    @Override
+    public List<Event> updateAll(List<Event> events) {
+        Batch.requireNoNulls(events, "event");
+        Map<Integer, Event> previous = new HashMap<>();
+        for (Event event : events) {
+            previous.putIfAbsent(event.getEventId(), DataPersistence.copy(store.get(event.getEventId())));
+        }
+        Batch.apply(events, event -> {
+            store.put(event.getEventId(), event);
+            index(event);
+            DataPersistence.saveEvent(event);
+        }, event -> restore(event.getEventId(), previous.get(event.getEventId())));
+        return events;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean removed = remove(id);
+        if (removed) {
+            DataPersistence.deleteEvent(id);
+        }
+        return removed;
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        Batch.requireNoNulls(ids, "id");
+        Map<Integer, Event> removed = new HashMap<>();
+        Batch.apply(ids, id -> {
+            Event event = store.get(id);
+            if (event != null) {
+                removed.put(id, event);
+                remove(id);
+                DataPersistence.deleteEvent(id);
+            }
+        }, id -> restore(id, removed.get(id)));
+        return removed.size();
+    }
+
+    // Removes id from the store and the indexes without persisting
+    private boolean remove(int id) {
         boolean removed = store.remove(id) != null;
         if (removed) {
-            DataPersistence.saveEvents(store);
+            byDate.remove(id);
+            byStatus.remove(id);
+            text.remove(id);
         }
         return removed;
     }
+
+    // Puts previous back as entity id, or removes id if there was none; undoes a failed batch
+    private void restore(int id, Event previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            store.put(id, previous);
+            index(previous);
+        }
+    }
+
+    private void index(Event event) {
+        byDate.put(event.getEventId(), event.getEventDate());
+        byStatus.put(event.getEventId(), event.getStatus());
+        text.put(event.getEventId(), event.getTitle(), event.getLocation());
+    }
 }
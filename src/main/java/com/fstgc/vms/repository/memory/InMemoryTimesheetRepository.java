@@ -3,57 +3,108 @@ package com.fstgc.vms.repository.memory;
 import com.fstgc.vms.model.Timesheet;
 import com.fstgc.vms.model.enums.TimesheetStatus;
 import com.fstgc.vms.repository.TimesheetRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.util.DataPersistence;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 public class InMemoryTimesheetRepository implements TimesheetRepository {
-    private final Map<Integer, Timesheet> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<Timesheet> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final SecondaryIndex<Integer> byVolunteer = new SecondaryIndex<>();
+    // Timesheets not tied to an event are indexed under a null key
+    private final SecondaryIndex<Long> byVolunteerAndEvent = new SecondaryIndex<>();
+    private final SortedIndex<LocalDate> byPeriodStart = new SortedIndex<>();
+    private final SortedIndex<LocalDateTime> byCreatedDate = new SortedIndex<>();
+    private final StatusIndex<TimesheetStatus> byApprovalStatus = new StatusIndex<>(TimesheetStatus.class);
     
     public InMemoryTimesheetRepository() {
         Map<Integer, Timesheet> loaded = DataPersistence.loadTimesheets();
         store.putAll(loaded);
+        loaded.values().forEach(this::index);
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
     @Override
     public Optional<Timesheet> findById(int id) { return Optional.ofNullable(store.get(id)); }
 
+    @Override
+    public Page<Timesheet> findPage(PageRequest request) {
+        return Paging.page(store, byCreatedDate, Timesheet::getTimesheetId, request);
+    }
+
     @Override
     public List<Timesheet> findByVolunteer(int volunteerId) {
-        return store.values().stream().filter(t -> t.getVolunteerId() == volunteerId).collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, byVolunteer.get(volunteerId));
+    }
+
+    @Override
+    public List<Timesheet> findByVolunteerAndEvent(int volunteerId, int eventId) {
+        return SecondaryIndex.resolve(store, byVolunteerAndEvent.get(SecondaryIndex.pair(volunteerId, eventId)));
+    }
+
+    @Override
+    public boolean existsByVolunteerAndEvent(int volunteerId, int eventId) {
+        return !findByVolunteerAndEvent(volunteerId, eventId).isEmpty();
     }
 
     @Override
     public List<Timesheet> findByPeriod(LocalDate start, LocalDate end) {
-        return store.values().stream()
-                .filter(t -> !t.getPeriodStartDate().isBefore(start) && !t.getPeriodEndDate().isAfter(end))
-                .collect(Collectors.toList());
+        // A period that ends by end also starts by end
+        List<Timesheet> result = SecondaryIndex.resolve(store, byPeriodStart.range(start, end));
+        result.removeIf(t -> t.getPeriodEndDate().isAfter(end));
+        return result;
     }
 
     @Override
     public List<Timesheet> findByApprovalStatus(String status) {
-        return store.values().stream()
-                .filter(t -> t.getApprovalStatus().name().equalsIgnoreCase(status))
-                .collect(Collectors.toList());
+        TimesheetStatus parsed = StatusIndex.parse(TimesheetStatus.class, status);
+        return parsed != null ? findByApprovalStatus(parsed) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Timesheet> findByApprovalStatus(TimesheetStatus status) {
+        return SecondaryIndex.resolve(store, byApprovalStatus.get(status));
+    }
+
+    @Override
+    public int countByApprovalStatus(TimesheetStatus status) {
+        return byApprovalStatus.count(status);
     }
 
     @Override
     public List<Timesheet> findPendingApprovals() {
-        return store.values().stream()
-                .filter(t -> t.getApprovalStatus() == TimesheetStatus.PENDING)
-                .collect(Collectors.toList());
+        return findByApprovalStatus(TimesheetStatus.PENDING);
+    }
+
+    @Override
+    public Page<Timesheet> findPageByVolunteer(int volunteerId, PageRequest request) {
+        return Paging.page(store, byCreatedDate, byVolunteer.get(volunteerId), Timesheet::getTimesheetId, request);
+    }
+
+    @Override
+    public Page<Timesheet> findPageByApprovalStatus(TimesheetStatus status, PageRequest request) {
+        return Paging.page(store, byCreatedDate, byApprovalStatus.get(status), Timesheet::getTimesheetId, request);
+    }
+
+    @Override
+    public Page<Timesheet> findPendingApprovalsPage(PageRequest request) {
+        return findPageByApprovalStatus(TimesheetStatus.PENDING, request);
     }
 
     @Override
     public List<Timesheet> findAll() {
-        return new ArrayList<>(store.values());
+        return store.values();
+    }
+
+    @Override
+    public List<Timesheet> findAllByCreatedDate() {
+        return SecondaryIndex.resolve(store, byCreatedDate.ordered(true));
     }
 
     @Override
@@ -61,23 +112,103 @@ public class InMemoryTimesheetRepository implements TimesheetRepository {
         int id = seq.getAndIncrement();
         timesheet.setTimesheetId(id);
         store.put(id, timesheet);
-        DataPersistence.saveTimesheets(store);
+        index(timesheet);
+        DataPersistence.saveTimesheet(timesheet);
         return timesheet;
     }
 
     @Override
     public Timesheet update(Timesheet timesheet) { 
         store.put(timesheet.getTimesheetId(), timesheet); 
-        DataPersistence.saveTimesheets(store);
+        index(timesheet);
+        DataPersistence.saveTimesheet(timesheet);
         return timesheet; 
     }
 
     @Override
-    public boolean delete(int id) { 
+    public List<Timesheet> saveAll(List<Timesheet> timesheets) {
+        Batch.requireNoNulls(timesheets, "timesheet");
+        int id = seq.getAndAdd(timesheets.size());
+        for (Timesheet timesheet : timesheets) {
+            timesheet.setTimesheetId(id++);
+        }
+        Batch.apply(timesheets, timesheet -> {
+            store.put(timesheet.getTimesheetId(), timesheet);
+            index(timesheet);
+            DataPersistence.saveTimesheet(timesheet);
+        }, timesheet -> remove(timesheet.getTimesheetId()));
+        return timesheets;
+    }
+
+    @Override
+    public List<Timesheet> updateAll(List<Timesheet> timesheets) {
+        Batch.requireNoNulls(timesheets, "timesheet");
+        Map<Integer, Timesheet> previous = new HashMap<>();
+        for (Timesheet timesheet : timesheets) {
+            previous.putIfAbsent(timesheet.getTimesheetId(), DataPersistence.copy(store.get(timesheet.getTimesheetId())));
+        }
+        Batch.apply(timesheets, timesheet -> {
+            store.put(timesheet.getTimesheetId(), timesheet);
+            index(timesheet);
+            DataPersistence.saveTimesheet(timesheet);
+        }, timesheet -> restore(timesheet.getTimesheetId(), previous.get(timesheet.getTimesheetId())));
+        return timesheets;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean removed = remove(id);
+        if (removed) {
+            DataPersistence.deleteTimesheet(id);
+        }
+        return removed;
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        Batch.requireNoNulls(ids, "id");
+        Map<Integer, Timesheet> removed = new HashMap<>();
+        Batch.apply(ids, id -> {
+            Timesheet timesheet = store.get(id);
+            if (timesheet != null) {
+                removed.put(id, timesheet);
+                remove(id);
+                DataPersistence.deleteTimesheet(id);
+            }
+        }, id -> restore(id, removed.get(id)));
+        return removed.size();
+    }
+
+    // Removes id from the store and the indexes without persisting
+    private boolean remove(int id) {
         boolean result = store.remove(id) != null; 
         if (result) {
-            DataPersistence.saveTimesheets(store);
+            byVolunteer.remove(id);
+            byVolunteerAndEvent.remove(id);
+            byPeriodStart.remove(id);
+            byCreatedDate.remove(id);
+            byApprovalStatus.remove(id);
         }
         return result;
     }
+
+    // Puts previous back as entity id, or removes id if there was none; undoes a failed batch
+    private void restore(int id, Timesheet previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            store.put(id, previous);
+            index(previous);
+        }
+    }
+
+    private void index(Timesheet timesheet) {
+        Integer eventId = timesheet.getEventId();
+        byVolunteer.put(timesheet.getTimesheetId(), timesheet.getVolunteerId());
+        byVolunteerAndEvent.put(timesheet.getTimesheetId(),
+                eventId != null ? SecondaryIndex.pair(timesheet.getVolunteerId(), eventId) : null);
+        byPeriodStart.put(timesheet.getTimesheetId(), timesheet.getPeriodStartDate());
+        byCreatedDate.put(timesheet.getTimesheetId(), timesheet.getCreatedDate());
+        byApprovalStatus.put(timesheet.getTimesheetId(), timesheet.getApprovalStatus());
+    }
 }
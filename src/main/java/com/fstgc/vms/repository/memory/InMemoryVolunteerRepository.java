@@ -1,22 +1,35 @@
 package com.fstgc.vms.repository.memory;
 
 import com.fstgc.vms.model.Volunteer;
+import com.fstgc.vms.model.enums.VolunteerStatus;
 import com.fstgc.vms.repository.VolunteerRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.util.DataPersistence;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 public class InMemoryVolunteerRepository implements VolunteerRepository {
-    private final Map<Integer, Volunteer> store = new ConcurrentHashMap<>();
+    private final IntObjectMap<Volunteer> store = new IntObjectMap<>();
     private final AtomicInteger seq = new AtomicInteger(1);
+    private final UniqueIndex byEmail = new UniqueIndex("Email");
+    private final StatusIndex<VolunteerStatus> byStatus = new StatusIndex<>(VolunteerStatus.class);
+    private final SortedIndex<LocalDateTime> byRegistrationDate = new SortedIndex<>();
+    // Full name, then email
+    private final TrigramIndex text = new TrigramIndex();
     
     public InMemoryVolunteerRepository() {
         Map<Integer, Volunteer> loaded = DataPersistence.loadVolunteers();
         store.putAll(loaded);
+        new TreeMap<>(loaded).forEach((id, v) -> {
+            byEmail.load(id, v.getEmail());
+            byStatus.put(id, v.getStatus());
+            byRegistrationDate.put(id, v.getRegistrationDate());
+            text.put(id, fullName(v), v.getEmail());
+        });
         if (!loaded.isEmpty()) {
-            seq.set(loaded.keySet().stream().max(Integer::compare).orElse(0) + 1);
+            seq.set(store.maxId() + 1);
         }
     }
 
@@ -24,50 +37,169 @@ public class InMemoryVolunteerRepository implements VolunteerRepository {
     public Optional<Volunteer> findById(int id) { return Optional.ofNullable(store.get(id)); }
 
     @Override
-    public List<Volunteer> findAll() { return new ArrayList<>(store.values()); }
+    public Page<Volunteer> findPage(PageRequest request) {
+        return Paging.page(store, byRegistrationDate, Volunteer::getId, request);
+    }
+
+    @Override
+    public List<Volunteer> findAll() { return store.values(); }
 
     @Override
     public Optional<Volunteer> findByEmail(String email) {
-        return store.values().stream().filter(v -> email.equalsIgnoreCase(v.getEmail())).findFirst();
+        Integer id = byEmail.get(email);
+        return id != null ? Optional.ofNullable(store.get(id)) : Optional.empty();
     }
 
     @Override
     public Volunteer save(Volunteer volunteer) {
         int id = seq.getAndIncrement();
+        byEmail.claim(id, volunteer.getEmail());
         volunteer.setId(id);
         store.put(id, volunteer);
-        DataPersistence.saveVolunteers(store);
+        index(volunteer);
+        DataPersistence.saveVolunteer(volunteer);
         return volunteer;
     }
 
     @Override
     public Volunteer update(Volunteer volunteer) {
+        byEmail.claim(volunteer.getId(), volunteer.getEmail());
         store.put(volunteer.getId(), volunteer);
-        DataPersistence.saveVolunteers(store);
+        index(volunteer);
+        DataPersistence.saveVolunteer(volunteer);
         return volunteer;
     }
 
+    // Nothing is saved if any email is taken or appears twice
+    @Override
+    public List<Volunteer> saveAll(List<Volunteer> volunteers) {
+        Batch.requireNoNulls(volunteers, "volunteer");
+        int id = seq.getAndAdd(volunteers.size());
+        Map<Integer, String> emails = new LinkedHashMap<>();
+        for (Volunteer volunteer : volunteers) {
+            emails.put(id++, volunteer.getEmail());
+        }
+        byEmail.checkAll(emails);
+        Iterator<Integer> ids = emails.keySet().iterator();
+        for (Volunteer volunteer : volunteers) {
+            volunteer.setId(ids.next());
+        }
+        Batch.apply(volunteers, volunteer -> {
+            byEmail.claim(volunteer.getId(), volunteer.getEmail());
+            store.put(volunteer.getId(), volunteer);
+            index(volunteer);
+            DataPersistence.saveVolunteer(volunteer);
+        }, volunteer -> remove(volunteer.getId()));
+        return volunteers;
+    }
+
+    @Override
+    public List<Volunteer> updateAll(List<Volunteer> volunteers) {
+        Batch.requireNoNulls(volunteers, "volunteer");
+        Map<Integer, String> emails = new LinkedHashMap<>();
+        Map<Integer, Volunteer> previous = new HashMap<>();
+        for (Volunteer volunteer : volunteers) {
+            emails.put(volunteer.getId(), volunteer.getEmail());
+            previous.putIfAbsent(volunteer.getId(), DataPersistence.copy(store.get(volunteer.getId())));
+        }
+        byEmail.checkAll(emails);
+        Batch.apply(volunteers, volunteer -> {
+            byEmail.claim(volunteer.getId(), volunteer.getEmail());
+            store.put(volunteer.getId(), volunteer);
+            index(volunteer);
+            DataPersistence.saveVolunteer(volunteer);
+        }, volunteer -> restore(volunteer.getId(), previous.get(volunteer.getId())));
+        return volunteers;
+    }
+
     @Override
     public boolean delete(int id) {
+        boolean removed = remove(id);
+        if (removed) {
+            DataPersistence.deleteVolunteer(id);
+        }
+        return removed;
+    }
+
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        Batch.requireNoNulls(ids, "id");
+        Map<Integer, Volunteer> removed = new HashMap<>();
+        Batch.apply(ids, id -> {
+            Volunteer volunteer = store.get(id);
+            if (volunteer != null) {
+                removed.put(id, volunteer);
+                remove(id);
+                DataPersistence.deleteVolunteer(id);
+            }
+        }, id -> restore(id, removed.get(id)));
+        return removed.size();
+    }
+
+    // Removes id from the store and the indexes without persisting
+    private boolean remove(int id) {
         boolean removed = store.remove(id) != null;
         if (removed) {
-            DataPersistence.saveVolunteers(store);
+            byEmail.release(id);
+            byStatus.remove(id);
+            byRegistrationDate.remove(id);
+            text.remove(id);
         }
         return removed;
     }
 
+    // Puts previous back as volunteer id, or removes id if there was none; undoes a failed batch.
+    // The email is reloaded rather than claimed, since the batch already checked it was free
+    private void restore(int id, Volunteer previous) {
+        if (previous == null) {
+            remove(id);
+        } else {
+            byEmail.release(id);
+            byEmail.load(id, previous.getEmail());
+            store.put(id, previous);
+            index(previous);
+        }
+    }
+
+    // The email index is claimed separately, since a clash must stop the write
+    private void index(Volunteer volunteer) {
+        byStatus.put(volunteer.getId(), volunteer.getStatus());
+        byRegistrationDate.put(volunteer.getId(), volunteer.getRegistrationDate());
+        text.put(volunteer.getId(), fullName(volunteer), volunteer.getEmail());
+    }
+
     @Override
     public List<Volunteer> searchByName(String name) {
-        String q = name.toLowerCase();
-        return store.values().stream()
-                .filter(v -> (v.getFirstName()+" "+v.getLastName()).toLowerCase().contains(q))
-                .collect(Collectors.toList());
+        return SecondaryIndex.resolve(store, text.containing(name, 0));
+    }
+
+    @Override
+    public List<Volunteer> search(String query, int limit) {
+        return SecondaryIndex.resolve(store, text.search(query, limit));
+    }
+
+    private static String fullName(Volunteer volunteer) {
+        return volunteer.getFirstName() + " " + volunteer.getLastName();
     }
 
     @Override
     public List<Volunteer> filterByStatus(String status) {
-        return store.values().stream()
-                .filter(v -> v.getStatus().name().equalsIgnoreCase(status))
-                .collect(Collectors.toList());
+        VolunteerStatus parsed = StatusIndex.parse(VolunteerStatus.class, status);
+        return parsed != null ? filterByStatus(parsed) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Volunteer> filterByStatus(VolunteerStatus status) {
+        return SecondaryIndex.resolve(store, byStatus.get(status));
+    }
+
+    @Override
+    public Page<Volunteer> findPageByStatus(VolunteerStatus status, PageRequest request) {
+        return Paging.page(store, byRegistrationDate, byStatus.get(status), Volunteer::getId, request);
+    }
+
+    @Override
+    public int countByStatus(VolunteerStatus status) {
+        return byStatus.count(status);
     }
 }
@@ -0,0 +1,51 @@
+package com.fstgc.vms.repository.memory;
+
+import com.fstgc.vms.model.WaitlistEntry;
+import com.fstgc.vms.repository.WaitlistRepository;
+import com.fstgc.vms.util.DataPersistence;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InMemoryWaitlistRepository implements WaitlistRepository {
+    private final IntObjectMap<WaitlistEntry> store = new IntObjectMap<>();
+    private final AtomicInteger seq = new AtomicInteger(1);
+
+    public InMemoryWaitlistRepository() {
+        Map<Integer, WaitlistEntry> loaded = DataPersistence.loadWaitlist();
+        store.putAll(loaded);
+        if (!loaded.isEmpty()) {
+            seq.set(store.maxId() + 1);
+        }
+    }
+
+    @Override
+    public List<WaitlistEntry> findAll() {
+        return store.values();
+    }
+
+    @Override
+    public WaitlistEntry save(WaitlistEntry entry) {
+        int id = seq.getAndIncrement();
+        entry.setEntryId(id);
+        store.put(id, entry);
+        DataPersistence.saveWaitlistEntry(entry);
+        return entry;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean removed = store.remove(id) != null;
+        if (removed) {
+            DataPersistence.deleteWaitlistEntry(id);
+        }
+        return removed;
+    }
+
+    @Override
+    public WaitlistEntry restore(WaitlistEntry entry) {
+        store.put(entry.getEntryId(), entry);
+        DataPersistence.saveWaitlistEntry(entry);
+        return entry;
+    }
+}
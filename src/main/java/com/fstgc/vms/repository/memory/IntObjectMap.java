@@ -0,0 +1,336 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent map from int ids to entities, used as the repositories' store in place of
+ * ConcurrentHashMap<Integer, T>. Ids are handed out in sequence, so they index straight into
+ * a dense array with no boxed keys or hash entries; reads of it take no lock. An id too far
+ * past the others to keep the array compact (or a negative one) goes to a small
+ * open-addressing table instead. Writes are serialized. Null values are not allowed.
+ */
+class IntObjectMap<T> {
+    private static final int INITIAL_CAPACITY = 16;
+    // An id may extend the dense array up to twice the entry count plus this many slots
+    private static final int DENSE_SLACK = 1024;
+
+    private volatile AtomicReferenceArray<T> dense = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private volatile int size;
+    // Ids outside the dense array, with linear probing; an empty slot has a null value
+    private int[] sparseKeys = new int[0];
+    private Object[] sparseValues = new Object[0];
+    private int sparseCount;
+
+    T get(int id) {
+        AtomicReferenceArray<T> slots = dense;
+        if (id >= 0 && id < slots.length()) {
+            return slots.get(id);
+        }
+        synchronized (this) {
+            // The array may have grown and taken the id over since it was read above
+            slots = dense;
+            return id >= 0 && id < slots.length() ? slots.get(id) : sparseGet(id);
+        }
+    }
+
+    boolean containsKey(int id) {
+        return get(id) != null;
+    }
+
+    // Stores value under id, returning the value it replaced or null
+    synchronized T put(int id, T value) {
+        Objects.requireNonNull(value);
+        AtomicReferenceArray<T> slots = dense;
+        if (id >= slots.length() && id <= 2 * size + DENSE_SLACK) {
+            slots = grow(id + 1);
+        }
+        T previous;
+        if (id >= 0 && id < slots.length()) {
+            previous = slots.getAndSet(id, value);
+        } else {
+            previous = sparsePut(id, value);
+        }
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    synchronized T remove(int id) {
+        AtomicReferenceArray<T> slots = dense;
+        T previous = id >= 0 && id < slots.length() ? slots.getAndSet(id, null) : sparseRemove(id);
+        if (previous != null) {
+            size--;
+        }
+        return previous;
+    }
+
+    synchronized void putAll(Map<Integer, T> entries) {
+        int highest = 0;
+        for (int id : entries.keySet()) {
+            highest = Math.max(highest, id);
+        }
+        if (highest >= dense.length() && highest <= 2 * (size + entries.size()) + DENSE_SLACK) {
+            grow(highest + 1);
+        }
+        entries.forEach(this::put);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // A copy of the values, in id order
+    List<T> values() {
+        AtomicReferenceArray<T> slots = dense;
+        List<T> result = new ArrayList<>(size);
+        List<Integer> sparseIds;
+        synchronized (this) {
+            if (sparseCount == 0) {
+                sparseIds = Collections.emptyList();
+            } else {
+                sparseIds = new ArrayList<>(sparseCount);
+                for (int i = 0; i < sparseKeys.length; i++) {
+                    if (sparseValues[i] != null) {
+                        sparseIds.add(sparseKeys[i]);
+                    }
+                }
+                Collections.sort(sparseIds);
+            }
+        }
+        int split = 0;
+        while (split < sparseIds.size() && sparseIds.get(split) < 0) {
+            split++;
+        }
+        addSparse(sparseIds.subList(0, split), result);
+        for (int id = 0; id < slots.length(); id++) {
+            T value = slots.get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        addSparse(sparseIds.subList(split, sparseIds.size()), result);
+        return result;
+    }
+
+    /**
+     * Up to limit values in id order (highest first when descending), starting after the id
+     * given (exclusive; null starts from the first) and skipping skip of them.
+     */
+    List<T> slice(Integer after, int skip, int limit, boolean descending) {
+        AtomicReferenceArray<T> slots = dense;
+        List<Integer> negative = new ArrayList<>();
+        List<Integer> beyond = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < sparseKeys.length; i++) {
+                if (sparseValues[i] != null) {
+                    (sparseKeys[i] < 0 ? negative : beyond).add(sparseKeys[i]);
+                }
+            }
+        }
+        Collections.sort(negative);
+        Collections.sort(beyond);
+        if (descending) {
+            Collections.reverse(negative);
+            Collections.reverse(beyond);
+        }
+        Slicer<T> slicer = new Slicer<>(after, skip, limit, descending);
+        if (!slicer.offerSparse(descending ? beyond : negative, this)) {
+            return slicer.result;
+        }
+        int first = descending ? slots.length() - 1 : 0;
+        int step = descending ? -1 : 1;
+        if (after != null) {
+            first = descending ? Math.min(first, after - 1) : Math.max(first, after + 1);
+        }
+        for (int id = first; id >= 0 && id < slots.length(); id += step) {
+            T value = slots.get(id);
+            if (value != null && !slicer.offer(id, value)) {
+                return slicer.result;
+            }
+        }
+        slicer.offerSparse(descending ? negative : beyond, this);
+        return slicer.result;
+    }
+
+    // Collects values past the starting id, after skipping, until the limit is reached
+    private static class Slicer<T> {
+        final Integer after;
+        final boolean descending;
+        final int limit;
+        int skip;
+        final List<T> result = new ArrayList<>();
+
+        Slicer(Integer after, int skip, int limit, boolean descending) {
+            this.after = after;
+            this.skip = skip;
+            this.limit = limit;
+            this.descending = descending;
+        }
+
+        // False once the limit is reached
+        boolean offer(int id, T value) {
+            if (after != null && (descending ? id >= after : id <= after)) {
+                return true;
+            }
+            if (skip > 0) {
+                skip--;
+                return true;
+            }
+            result.add(value);
+            return result.size() < limit;
+        }
+
+        boolean offerSparse(List<Integer> ids, IntObjectMap<T> map) {
+            for (int id : ids) {
+                T value = map.get(id);
+                if (value != null && !offer(id, value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // The highest id held, or 0 when empty
+    synchronized int maxId() {
+        int highest = 0;
+        for (int i = 0; i < sparseKeys.length; i++) {
+            if (sparseValues[i] != null) {
+                highest = Math.max(highest, sparseKeys[i]);
+            }
+        }
+        AtomicReferenceArray<T> slots = dense;
+        for (int id = slots.length() - 1; id > highest; id--) {
+            if (slots.get(id) != null) {
+                return id;
+            }
+        }
+        return highest;
+    }
+
+    private void addSparse(List<Integer> ids, List<T> result) {
+        for (int id : ids) {
+            T value = get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+    }
+
+    // Replaces the dense array with one of at least the given length, taking over any sparse ids that now fit
+    private AtomicReferenceArray<T> grow(int length) {
+        AtomicReferenceArray<T> old = dense;
+        AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(Math.max(length, old.length() * 2));
+        for (int id = 0; id < old.length(); id++) {
+            slots.set(id, old.get(id));
+        }
+        for (int i = 0; i < sparseKeys.length; i++) {
+            int id = sparseKeys[i];
+            if (sparseValues[i] != null && id >= 0 && id < slots.length()) {
+                slots.set(id, sparseGet(id));
+            }
+        }
+        dense = slots;
+        for (int id = old.length(); id < slots.length(); id++) {
+            if (slots.get(id) != null) {
+                sparseRemove(id);
+            }
+        }
+        return slots;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T sparseGet(int id) {
+        if (sparseCount == 0) {
+            return null;
+        }
+        int mask = sparseKeys.length - 1;
+        for (int i = slot(id, mask); sparseValues[i] != null; i = (i + 1) & mask) {
+            if (sparseKeys[i] == id) {
+                return (T) sparseValues[i];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T sparsePut(int id, T value) {
+        if ((sparseCount + 1) * 4 > sparseKeys.length * 3) {
+            rehash(Math.max(8, sparseKeys.length * 2));
+        }
+        int mask = sparseKeys.length - 1;
+        int i = slot(id, mask);
+        while (sparseValues[i] != null) {
+            if (sparseKeys[i] == id) {
+                T previous = (T) sparseValues[i];
+                sparseValues[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        sparseKeys[i] = id;
+        sparseValues[i] = value;
+        sparseCount++;
+        return null;
+    }
+
+    // Removes id, shifting later entries of its probe run back so lookups need no tombstones
+    @SuppressWarnings("unchecked")
+    private T sparseRemove(int id) {
+        if (sparseCount == 0) {
+            return null;
+        }
+        int mask = sparseKeys.length - 1;
+        int i = slot(id, mask);
+        while (sparseValues[i] != null && sparseKeys[i] != id) {
+            i = (i + 1) & mask;
+        }
+        if (sparseValues[i] == null) {
+            return null;
+        }
+        T previous = (T) sparseValues[i];
+        int gap = i;
+        for (int j = (i + 1) & mask; sparseValues[j] != null; j = (j + 1) & mask) {
+            int home = slot(sparseKeys[j], mask);
+            // Move entry j into the gap unless its home slot lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                sparseKeys[gap] = sparseKeys[j];
+                sparseValues[gap] = sparseValues[j];
+                gap = j;
+            }
+        }
+        sparseValues[gap] = null;
+        sparseCount--;
+        return previous;
+    }
+
+    private void rehash(int capacity) {
+        int[] keys = sparseKeys;
+        Object[] values = sparseValues;
+        sparseKeys = new int[capacity];
+        sparseValues = new Object[capacity];
+        sparseCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                int mask = capacity - 1;
+                int j = slot(keys[i], mask);
+                while (sparseValues[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                sparseKeys[j] = keys[i];
+                sparseValues[j] = values[i];
+                sparseCount++;
+            }
+        }
+    }
+
+    private static int slot(int id, int mask) {
+        return (id * 0x9E3779B9 >>> 16 ^ id * 0x9E3779B9) & mask;
+    }
+}
@@ -0,0 +1,126 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Compares IntObjectMap with the ConcurrentHashMap<Integer, T> the repositories used before,
+ * filled with sequential ids as the repositories assign them. It times put, get in random
+ * order and copying the values out as findAll() does, taking the best of a few rounds, and
+ * reports the heap each map takes beyond the values it holds:
+ *   java -Xmx2g -cp <classpath> com.fstgc.vms.repository.memory.IntObjectMapBenchmark [entries]
+ * The default is 1,000,000 entries.
+ */
+public class IntObjectMapBenchmark {
+    private static final int ROUNDS = 5;
+    // Keeps the JIT from dropping reads whose results are never used
+    private static long sink;
+
+    private interface Target {
+        void put(int id, Object value);
+        Object get(int id);
+        List<Object> values();
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0].replace("_", "").replace(",", "")) : 1_000_000;
+        Object[] values = new Object[size + 1];
+        for (int id = 1; id <= size; id++) {
+            values[id] = new Object();
+        }
+        int[] order = shuffled(size);
+
+        System.out.printf("%-20s %10s %10s %10s %14s%n", "map", "put", "get", "values", "heap");
+        for (int pass = 0; pass < 2; pass++) {
+            // The first pass lets the JIT compile both maps and is not printed
+            boolean print = pass == 1;
+            run(print, "IntObjectMap", () -> {
+                IntObjectMap<Object> map = new IntObjectMap<>();
+                return new Target() {
+                    @Override public void put(int id, Object value) { map.put(id, value); }
+                    @Override public Object get(int id) { return map.get(id); }
+                    @Override public List<Object> values() { return map.values(); }
+                };
+            }, values, order);
+            run(print, "ConcurrentHashMap", () -> {
+                Map<Integer, Object> map = new ConcurrentHashMap<>();
+                return new Target() {
+                    @Override public void put(int id, Object value) { map.put(id, value); }
+                    @Override public Object get(int id) { return map.get(id); }
+                    @Override public List<Object> values() { return new ArrayList<>(map.values()); }
+                };
+            }, values, order);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void run(boolean print, String name, Supplier<Target> factory,
+            Object[] values, int[] order) {
+        int size = order.length;
+        long putNs = Long.MAX_VALUE;
+        long getNs = Long.MAX_VALUE;
+        long valuesNs = Long.MAX_VALUE;
+        long heap = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = usedHeap();
+            long started = System.nanoTime();
+            Target map = factory.get();
+            for (int id = 1; id <= size; id++) {
+                map.put(id, values[id]);
+            }
+            putNs = Math.min(putNs, System.nanoTime() - started);
+            heap = Math.max(heap, usedHeap() - before);
+
+            started = System.nanoTime();
+            long found = 0;
+            for (int id : order) {
+                if (map.get(id) != null) {
+                    found++;
+                }
+            }
+            getNs = Math.min(getNs, System.nanoTime() - started);
+            if (found != size) {
+                throw new IllegalStateException(name + " found " + found + " of " + size);
+            }
+
+            started = System.nanoTime();
+            List<Object> copy = map.values();
+            valuesNs = Math.min(valuesNs, System.nanoTime() - started);
+            sink += copy.size() + found;
+        }
+        if (print) {
+            System.out.printf("%-20s %7d ms %7d ms %7d ms %11.1f MB%n", name, putNs / 1_000_000,
+                    getNs / 1_000_000, valuesNs / 1_000_000, heap / (1024.0 * 1024.0));
+        }
+    }
+
+    // Ids 1..size in a fixed random order
+    private static int[] shuffled(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i + 1;
+        }
+        Random random = new Random(size);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,104 @@
+package com.fstgc.vms.repository.memory;
+
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reads one page of a repository's store: id order walks the store's id array from the
+ * offset or cursor, and date order walks the repository's date index, so neither copies or
+ * sorts the whole store. A page of a filtered listing sorts only the ids a secondary index
+ * returned for the filter.
+ */
+final class Paging {
+
+    private Paging() {}
+
+    @SuppressWarnings("unchecked")
+    static <T, K extends Comparable<? super K>> Page<T> page(IntObjectMap<T> store, SortedIndex<K> byDate,
+                                                             ToIntFunction<T> idOf, PageRequest request) {
+        Page.Cursor after = request.getAfter();
+        int limit = request.getLimit();
+        // One extra entity tells whether another page follows
+        List<T> items;
+        if (request.byDate()) {
+            List<Integer> ids = byDate.page(after != null, after != null ? (K) after.getDate() : null,
+                    after != null ? after.getId() : 0, request.getOffset(), limit + 1, request.isDescending());
+            items = SecondaryIndex.resolve(store, ids);
+        } else {
+            items = store.slice(after != null ? after.getId() : null, request.getOffset(), limit + 1,
+                    request.isDescending());
+        }
+        Page.Cursor next = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            int last = idOf.applyAsInt(items.get(limit - 1));
+            next = new Page.Cursor(request.getOrder(), request.byDate() ? byDate.keyOf(last) : null, last);
+        }
+        return new Page<>(items, store.size(), request, next);
+    }
+
+    /**
+     * One page of the entities with the given ids, such as one volunteer's attendance, in
+     * the same order and with the same cursors as the unfiltered page(); the total is the
+     * number of ids.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, K extends Comparable<? super K>> Page<T> page(IntObjectMap<T> store, SortedIndex<K> byDate,
+                                                             List<Integer> ids, ToIntFunction<T> idOf,
+                                                             PageRequest request) {
+        boolean dated = request.byDate();
+        boolean descending = request.isDescending();
+        Map<Integer, K> dates = new HashMap<>();
+        if (dated) {
+            for (int id : ids) {
+                dates.put(id, byDate.keyOf(id));
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(ids);
+        sorted.sort((a, b) -> compare(dates.get(a), a, dates.get(b), b, dated, descending));
+
+        Page.Cursor after = request.getAfter();
+        int start = 0;
+        if (after != null) {
+            K afterDate = (K) after.getDate();
+            while (start < sorted.size()
+                    && compare(dates.get(sorted.get(start)), sorted.get(start), afterDate, after.getId(), dated, descending) <= 0) {
+                start++;
+            }
+        }
+        int limit = request.getLimit();
+        List<T> items = new ArrayList<>();
+        int skip = request.getOffset();
+        for (int i = start; i < sorted.size() && items.size() <= limit; i++) {
+            T entity = store.get(sorted.get(i));
+            if (entity != null && skip-- <= 0) {
+                items.add(entity);
+            }
+        }
+        Page.Cursor next = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            int last = idOf.applyAsInt(items.get(limit - 1));
+            next = new Page.Cursor(request.getOrder(), dated ? dates.get(last) : null, last);
+        }
+        return new Page<>(items, ids.size(), request, next);
+    }
+
+    // Date then id, both reversed when descending; entities without a date come last either way
+    private static <K extends Comparable<? super K>> int compare(K date, int id, K otherDate, int otherId,
+                                                                 boolean dated, boolean descending) {
+        if (dated && (date == null) != (otherDate == null)) {
+            return date == null ? 1 : -1;
+        }
+        int order = dated && date != null ? date.compareTo(otherDate) : 0;
+        if (order == 0) {
+            order = Integer.compare(id, otherId);
+        }
+        return descending ? -order : order;
+    }
+}
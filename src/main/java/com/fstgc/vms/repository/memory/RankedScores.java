@@ -0,0 +1,170 @@
+package com.fstgc.vms.repository.memory;
+
+import com.fstgc.vms.repository.Leaderboard;
+import java.util.*;
+
+/**
+ * A Leaderboard kept up to date as scores change. Volunteers are held in a treap ordered by
+ * score, with each node counting the nodes below it, so updating a score, finding a
+ * volunteer's rank and reading any page all take O(log n) steps plus the page size.
+ */
+class RankedScores implements Leaderboard {
+    // Scores closer to zero than this are rounding left over from adding and subtracting
+    private static final double ZERO = 1e-9;
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    private static class Node {
+        final int volunteerId;
+        final double score;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(int volunteerId, double score, int priority) {
+            this.volunteerId = volunteerId;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    synchronized void add(int volunteerId, double delta) {
+        if (delta != 0) {
+            set(volunteerId, scoreOf(volunteerId) + delta);
+        }
+    }
+
+    synchronized void set(int volunteerId, double score) {
+        Node old = nodes.remove(volunteerId);
+        if (old != null) {
+            root = delete(root, old);
+        }
+        if (score > ZERO) {
+            Node node = new Node(volunteerId, score, random.nextInt());
+            nodes.put(volunteerId, node);
+            Node[] halves = split(root, node);
+            root = merge(merge(halves[0], node), halves[1]);
+        }
+    }
+
+    @Override
+    public synchronized List<Entry> page(int offset, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        if (offset >= 0 && limit > 0) {
+            collect(root, offset, offset + limit, 0, entries);
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized int rankOf(int volunteerId) {
+        Node node = nodes.get(volunteerId);
+        if (node == null) {
+            return 0;
+        }
+        int before = 0;
+        Node t = root;
+        while (t != node) {
+            if (compare(node, t) < 0) {
+                t = t.left;
+            } else {
+                before += size(t.left) + 1;
+                t = t.right;
+            }
+        }
+        return before + size(t.left) + 1;
+    }
+
+    @Override
+    public synchronized double scoreOf(int volunteerId) {
+        Node node = nodes.get(volunteerId);
+        return node != null ? node.score : 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    // Adds the nodes at positions [from, to) of the subtree t, whose first node is at position first
+    private static void collect(Node t, int from, int to, int first, List<Entry> out) {
+        if (t == null || first >= to || first + t.size <= from) {
+            return;
+        }
+        collect(t.left, from, to, first, out);
+        int position = first + size(t.left);
+        if (position >= from && position < to) {
+            out.add(new Entry(position + 1, t.volunteerId, t.score));
+        }
+        collect(t.right, from, to, position + 1, out);
+    }
+
+    // Higher scores first, then lower volunteer ids
+    private static int compare(Node a, Node b) {
+        int byScore = Double.compare(b.score, a.score);
+        return byScore != 0 ? byScore : Integer.compare(a.volunteerId, b.volunteerId);
+    }
+
+    // Splits t into the nodes ordered before key and the rest
+    private static Node[] split(Node t, Node key) {
+        if (t == null) {
+            return new Node[2];
+        }
+        if (compare(t, key) < 0) {
+            Node[] halves = split(t.right, key);
+            t.right = halves[0];
+            update(t);
+            halves[0] = t;
+            return halves;
+        }
+        Node[] halves = split(t.left, key);
+        t.left = halves[1];
+        update(t);
+        halves[1] = t;
+        return halves;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node delete(Node t, Node node) {
+        if (t == null) {
+            return null;
+        }
+        if (t == node) {
+            return merge(t.left, t.right);
+        }
+        if (compare(node, t) < 0) {
+            t.left = delete(t.left, node);
+        } else {
+            t.right = delete(t.right, node);
+        }
+        update(t);
+        return t;
+    }
+
+    private static void update(Node t) {
+        t.size = 1 + size(t.left) + size(t.right);
+    }
+
+    private static int size(Node t) {
+        return t != null ? t.size : 0;
+    }
+}
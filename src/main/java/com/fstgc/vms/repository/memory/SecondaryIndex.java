@@ -0,0 +1,88 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.*;
+
+/**
+ * Maps a key derived from an entity (such as its volunteer id) to the ids of the entities
+ * with that key, so lookups by that field touch only the matching rows. The index keeps
+ * the key it last saw for each id, because entities are updated in place and the old key
+ * cannot be read back from the entity. Entities whose key is null are kept apart.
+ */
+class SecondaryIndex<K> {
+    protected final Map<K, Set<Integer>> idsByKey;
+    protected final Set<Integer> unkeyed = new LinkedHashSet<>();
+    private final Map<Integer, K> keyById = new HashMap<>();
+
+    SecondaryIndex() {
+        this(new HashMap<>());
+    }
+
+    protected SecondaryIndex(Map<K, Set<Integer>> idsByKey) {
+        this.idsByKey = idsByKey;
+    }
+
+    // Records that entity id now has key, moving it out of its previous key's bucket
+    synchronized void put(int id, K key) {
+        boolean known = keyById.containsKey(id);
+        K previous = keyById.put(id, key);
+        if (known) {
+            if (Objects.equals(previous, key)) {
+                return;
+            }
+            removeFromBucket(previous, id);
+        }
+        if (key == null) {
+            unkeyed.add(id);
+        } else {
+            idsByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remove(int id) {
+        if (keyById.containsKey(id)) {
+            removeFromBucket(keyById.remove(id), id);
+        }
+    }
+
+    // The key last recorded for entity id, or null if it is not indexed
+    synchronized K keyOf(int id) {
+        return keyById.get(id);
+    }
+
+    // Ids of the entities with the given key, in the order they were indexed
+    synchronized List<Integer> get(K key) {
+        Set<Integer> ids = key == null ? unkeyed : idsByKey.get(key);
+        return ids != null ? new ArrayList<>(ids) : Collections.emptyList();
+    }
+
+    // Packs two ids into one key, such as a (volunteer id, event id) pair
+    static long pair(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    // Looks up indexed ids in store, skipping any removed since the index was read
+    static <T> List<T> resolve(IntObjectMap<T> store, List<Integer> ids) {
+        List<T> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            T entity = store.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    private void removeFromBucket(K key, int id) {
+        if (key == null) {
+            unkeyed.remove(id);
+            return;
+        }
+        Set<Integer> ids = idsByKey.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByKey.remove(key);
+            }
+        }
+    }
+}
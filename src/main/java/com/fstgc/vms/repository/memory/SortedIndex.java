@@ -0,0 +1,96 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.*;
+
+/**
+ * A SecondaryIndex over an ordered key such as a date. Range queries walk only the keys
+ * inside the range, and the whole index can be read in key order without sorting.
+ */
+class SortedIndex<K extends Comparable<? super K>> extends SecondaryIndex<K> {
+
+    SortedIndex() {
+        super(new TreeMap<>());
+    }
+
+    private NavigableMap<K, Set<Integer>> sorted() {
+        return (NavigableMap<K, Set<Integer>>) idsByKey;
+    }
+
+    // Ids with a key between from and to, both inclusive, in key order; a null bound is open
+    synchronized List<Integer> range(K from, K to) {
+        NavigableMap<K, Set<Integer>> map = sorted();
+        if (from != null && to != null) {
+            if (from.compareTo(to) > 0) {
+                return Collections.emptyList();
+            }
+            map = map.subMap(from, true, to, true);
+        } else if (from != null) {
+            map = map.tailMap(from, true);
+        } else if (to != null) {
+            map = map.headMap(to, true);
+        }
+        return collect(map.values(), false);
+    }
+
+    // Every id in key order, or newest key first when descending; ids without a key come last
+    synchronized List<Integer> ordered(boolean descending) {
+        NavigableMap<K, Set<Integer>> map = descending ? sorted().descendingMap() : sorted();
+        return collect(map.values(), true);
+    }
+
+    /**
+     * Up to limit ids ordered by key and then id (both reversed when descending), with ids
+     * that have no key last. When after is set, starts past the id afterId under afterKey
+     * (null meaning among the unkeyed ids); skip ids are passed over before collecting.
+     */
+    synchronized List<Integer> page(boolean after, K afterKey, int afterId, int skip, int limit, boolean descending) {
+        List<Integer> ids = new ArrayList<>();
+        int[] toSkip = {skip};
+        if (!after || afterKey != null) {
+            NavigableMap<K, Set<Integer>> map = descending ? sorted().descendingMap() : sorted();
+            if (after) {
+                map = map.tailMap(afterKey, true);
+            }
+            for (Map.Entry<K, Set<Integer>> bucket : map.entrySet()) {
+                boolean resume = after && bucket.getKey().compareTo(afterKey) == 0;
+                if (!take(bucket.getValue(), resume, afterId, descending, toSkip, limit, ids)) {
+                    return ids;
+                }
+            }
+        }
+        take(unkeyed, after && afterKey == null, afterId, descending, toSkip, limit, ids);
+        return ids;
+    }
+
+    // Adds the bucket's ids in id order, past afterId when resuming; false once ids is full
+    private static boolean take(Set<Integer> bucket, boolean resume, int afterId, boolean descending,
+                                int[] toSkip, int limit, List<Integer> ids) {
+        List<Integer> sorted = new ArrayList<>(bucket);
+        sorted.sort(descending ? Comparator.reverseOrder() : Comparator.naturalOrder());
+        for (int id : sorted) {
+            if (resume && (descending ? id >= afterId : id <= afterId)) {
+                continue;
+            }
+            if (toSkip[0] > 0) {
+                toSkip[0]--;
+                continue;
+            }
+            ids.add(id);
+            if (ids.size() >= limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Integer> collect(Collection<Set<Integer>> buckets, boolean withUnkeyed) {
+        List<Integer> ids = new ArrayList<>();
+        for (Set<Integer> bucket : buckets) {
+            ids.addAll(bucket);
+        }
+        if (withUnkeyed) {
+            ids.addAll(unkeyed);
+        }
+        return ids;
+    }
+}
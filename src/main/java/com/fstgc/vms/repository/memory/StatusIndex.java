@@ -0,0 +1,31 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.*;
+
+/**
+ * A SecondaryIndex over an enum such as a status, with one bucket per constant, so a
+ * status queue lists only its own entities and its size is known without counting.
+ */
+class StatusIndex<E extends Enum<E>> extends SecondaryIndex<E> {
+
+    StatusIndex(Class<E> type) {
+        super(new EnumMap<>(type));
+    }
+
+    synchronized int count(E status) {
+        Set<Integer> ids = status == null ? unkeyed : idsByKey.get(status);
+        return ids != null ? ids.size() : 0;
+    }
+
+    // Parses a status name case-insensitively; null if it names no constant
+    static <E extends Enum<E>> E parse(Class<E> type, String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
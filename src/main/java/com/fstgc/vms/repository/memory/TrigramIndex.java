@@ -0,0 +1,330 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.*;
+
+/**
+ * Full-text index over a few text fields per entity (such as a volunteer's name and email).
+ * Every three-character sequence of the lower-cased fields maps to a sorted array of the
+ * ids containing it, so a substring query only verifies the ids that contain all of the
+ * query's trigrams. Every one- and two-character sequence is indexed the same way, so the
+ * short queries typed first into a search box read their matches straight from one list.
+ * Each word is also indexed with pg_trgm-style padding, which lets misspelled queries find
+ * close matches by counting shared trigrams.
+ */
+class TrigramIndex {
+    // Share of the query's trigrams a fuzzy match must contain
+    private static final double FUZZY_THRESHOLD = 0.4;
+
+    private static final int EXACT = 0;
+    private static final int FIELD_PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+    // Tags keeping unigram and bigram keys apart from trigrams, which use the low 48 bits
+    private static final long UNIGRAM = 1L << 48;
+    private static final long BIGRAM = 2L << 48;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    private static class Entry {
+        final String[] fields;
+        final long[] grams;
+
+        Entry(String[] fields, long[] grams) {
+            this.fields = fields;
+            this.grams = grams;
+        }
+    }
+
+    // Ids containing one trigram, kept sorted; ids mostly arrive in increasing order
+    private static class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        private void insert(int at, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    static String normalize(String text) {
+        return text != null ? text.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    // Indexes the fields of entity id, replacing what was indexed for it before
+    synchronized void put(int id, String... fields) {
+        String[] normalized = new String[fields.length];
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+            addGrams(normalized[i], grams);
+        }
+        Entry previous = entries.get(id);
+        if (previous != null && Arrays.equals(previous.fields, normalized)) {
+            return;
+        }
+        remove(id);
+        long[] packed = new long[grams.size()];
+        int n = 0;
+        for (long gram : grams) {
+            packed[n++] = gram;
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+        entries.put(id, new Entry(normalized, packed));
+    }
+
+    synchronized void remove(int id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (long gram : entry.grams) {
+            Postings ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids whose given field contains query (any field when field is negative), in id order.
+     * An empty query matches every id.
+     */
+    synchronized List<Integer> containing(String query, int field) {
+        String q = normalize(query);
+        List<Integer> result = new ArrayList<>();
+        for (int id : candidates(q)) {
+            if (match(entries.get(id), q, field) <= SUBSTRING) {
+                result.add(id);
+            }
+        }
+        if (q.isEmpty()) {
+            Collections.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * Up to limit ids ranked by how well they match query: a field equal to it first, then
+     * fields and words starting with it, then fields containing it, and when nothing
+     * contains it, close misspellings by shared trigrams. Ties go to the shorter first field.
+     */
+    synchronized List<Integer> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // Worst of the best matches so far on top
+        PriorityQueue<int[]> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int id : searchCandidates(q, limit)) {
+            Entry entry = entries.get(id);
+            int rank = match(entry, q, -1);
+            if (rank <= SUBSTRING) {
+                offer(best, new int[] {rank, 0, entry.fields[0].length(), id}, limit);
+            }
+        }
+        if (best.isEmpty() && q.length() >= 3) {
+            addFuzzy(q, best, limit);
+        }
+        List<int[]> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<Integer> result = new ArrayList<>(ranked.size());
+        for (int[] row : ranked) {
+            result.add(row[3]);
+        }
+        return result;
+    }
+
+    private static final Comparator<int[]> RANKING = Comparator.<int[]>comparingInt(r -> r[0])
+            .thenComparingInt(r -> r[1])
+            .thenComparingInt(r -> r[2])
+            .thenComparingInt(r -> r[3]);
+
+    private static void offer(PriorityQueue<int[]> best, int[] row, int limit) {
+        if (best.size() < limit) {
+            best.add(row);
+        } else if (RANKING.compare(row, best.peek()) < 0) {
+            best.poll();
+            best.add(row);
+        }
+    }
+
+    // For a short query, the ids with a word starting with it outrank every other match, so
+    // when there are at least limit of them nothing else needs to be looked at
+    private Collection<Integer> searchCandidates(String q, int limit) {
+        if (q.length() >= 3) {
+            return candidates(q);
+        }
+        long gram = q.length() == 1 ? pack(' ', ' ', q.charAt(0)) : pack(' ', q.charAt(0), q.charAt(1));
+        Postings wordStarts = postings.get(gram);
+        if (wordStarts == null || wordStarts.size < limit) {
+            return candidates(q);
+        }
+        List<Integer> ids = new ArrayList<>(wordStarts.size);
+        for (int i = 0; i < wordStarts.size; i++) {
+            ids.add(wordStarts.ids[i]);
+        }
+        return ids;
+    }
+
+    // Ids that may contain q, in id order: those holding all of its trigrams, or exactly those
+    // containing a one- or two-character q; every id for an empty query
+    private Collection<Integer> candidates(String q) {
+        if (q.isEmpty()) {
+            return entries.keySet();
+        }
+        if (q.length() < 3) {
+            Postings ids = postings.get(q.length() == 1 ? unigram(q.charAt(0)) : bigram(q.charAt(0), q.charAt(1)));
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            List<Integer> result = new ArrayList<>(ids.size);
+            for (int i = 0; i < ids.size; i++) {
+                result.add(ids.ids[i]);
+            }
+            return result;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Postings ids = postings.get(pack(q.charAt(i), q.charAt(i + 1), q.charAt(i + 2)));
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+        Postings smallest = lists.get(0);
+        List<Integer> result = new ArrayList<>();
+        outer:
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    // Best rank of q against the entry's fields (or only the given field), or MAX_VALUE
+    private static int match(Entry entry, String q, int field) {
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < entry.fields.length; i++) {
+            if (field >= 0 && i != field) {
+                continue;
+            }
+            String text = entry.fields[i];
+            int rank;
+            if (text.equals(q)) {
+                rank = EXACT;
+            } else if (text.startsWith(q)) {
+                rank = FIELD_PREFIX;
+            } else if (text.contains(" " + q)) {
+                rank = WORD_PREFIX;
+            } else if (text.contains(q)) {
+                rank = SUBSTRING;
+            } else {
+                continue;
+            }
+            best = Math.min(best, rank);
+        }
+        return best;
+    }
+
+    // Offers the ids sharing enough padded trigrams with q, more shared trigrams first
+    private void addFuzzy(String q, PriorityQueue<int[]> best, int limit) {
+        Set<Long> queryGrams = new HashSet<>();
+        addWordGrams(q, queryGrams);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long gram : queryGrams) {
+            Postings ids = postings.get(gram);
+            if (ids != null) {
+                for (int i = 0; i < ids.size; i++) {
+                    shared.merge(ids.ids[i], 1, Integer::sum);
+                }
+            }
+        }
+        int needed = (int) Math.ceil(queryGrams.size() * FUZZY_THRESHOLD);
+        for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+            if (e.getValue() >= needed) {
+                int id = e.getKey();
+                offer(best, new int[] {SUBSTRING + 1, -e.getValue(), entries.get(id).fields[0].length(), id}, limit);
+            }
+        }
+    }
+
+    // Unigrams, bigrams and trigrams of the text as written, plus each word padded as "  word "
+    private static void addGrams(String text, Set<Long> grams) {
+        if (text.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(unigram(text.charAt(i)));
+            if (i + 1 < text.length()) {
+                grams.add(bigram(text.charAt(i), text.charAt(i + 1)));
+            }
+        }
+        String padded = "  " + text + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+        }
+        addWordGrams(text, grams);
+    }
+
+    private static void addWordGrams(String text, Set<Long> grams) {
+        for (String word : text.split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+            }
+        }
+    }
+
+    private static long unigram(char a) {
+        return UNIGRAM | a;
+    }
+
+    private static long bigram(char a, char b) {
+        return BIGRAM | ((long) a << 16) | b;
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+}
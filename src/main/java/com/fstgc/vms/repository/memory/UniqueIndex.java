@@ -0,0 +1,90 @@
+package com.fstgc.vms.repository.memory;
+
+import java.util.*;
+
+/**
+ * Maps a case-insensitive key (such as an email address) to the one entity id that holds it.
+ * A key is claimed and checked in one step, so two saves with the same key cannot both
+ * succeed. Null keys are not indexed.
+ */
+class UniqueIndex {
+    private final String field;
+    private final Map<String, Integer> idByKey = new HashMap<>();
+    private final Map<Integer, String> keyById = new HashMap<>();
+
+    UniqueIndex(String field) {
+        this.field = field;
+    }
+
+    static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Gives value to entity id, releasing the id's previous value.
+     * @throws IllegalArgumentException if another id already holds value
+     */
+    synchronized void claim(int id, String value) {
+        check(id, value);
+        String key = normalize(value);
+        if (key != null) {
+            idByKey.put(key, id);
+        }
+        String previous = key != null ? keyById.put(id, key) : keyById.remove(id);
+        if (previous != null && !previous.equals(key)) {
+            idByKey.remove(previous, id);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if an id other than the given one holds value
+     */
+    synchronized void check(int id, String value) {
+        Integer holder = get(value);
+        if (holder != null && holder != id) {
+            throw new IllegalArgumentException(field + " already exists");
+        }
+    }
+
+    /**
+     * Checks values for several ids at once, against each other as well as the stored ones.
+     * @throws IllegalArgumentException if a value is held by another id or given to two of them
+     */
+    synchronized void checkAll(Map<Integer, String> values) {
+        Set<String> batch = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : values.entrySet()) {
+            check(entry.getKey(), entry.getValue());
+            String key = normalize(entry.getValue());
+            if (key != null && !batch.add(key)) {
+                throw new IllegalArgumentException(field + " already exists");
+            }
+        }
+    }
+
+    // Claims values for several ids, or none of them if any clashes (see checkAll)
+    synchronized void claimAll(Map<Integer, String> values) {
+        checkAll(values);
+        values.forEach(this::claim);
+    }
+
+    // Indexes stored data, where duplicates may already exist; the first id seen keeps the key
+    synchronized void load(int id, String value) {
+        String key = normalize(value);
+        if (key != null) {
+            keyById.put(id, key);
+            idByKey.putIfAbsent(key, id);
+        }
+    }
+
+    synchronized void release(int id) {
+        String previous = keyById.remove(id);
+        if (previous != null) {
+            idByKey.remove(previous, id);
+        }
+    }
+
+    synchronized Integer get(String value) {
+        String key = normalize(value);
+        return key != null ? idByKey.get(key) : null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.fstgc.vms.repository.memory;
+
+import com.fstgc.vms.model.Attendance;
+import com.fstgc.vms.model.Volunteer;
+import com.fstgc.vms.model.enums.AttendanceStatus;
+import com.fstgc.vms.model.enums.VolunteerStatus;
+import com.fstgc.vms.util.DataPersistence;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Times building the volunteer table, one row with total hours per volunteer, over the
+ * in-memory repositories. The hours are found three ways: scanning every attendance record
+ * for each volunteer, as findByVolunteer did before it was indexed; summing
+ * findByVolunteer through its index; and reading the hours leaderboard, as the table does
+ * now. The scan is timed on a sample of volunteers and scaled up, since running it for all
+ * of them takes minutes. Run it from an empty directory, since it creates ./database:
+ *   java -Xmx2g -cp <classpath> com.fstgc.vms.repository.memory.VolunteerTableBenchmark [volunteers] [attendance]
+ * The defaults are 10,000 volunteers and 500,000 attendance records.
+ */
+public class VolunteerTableBenchmark {
+    private static final int BATCH = 10_000;
+    private static final int SCAN_SAMPLE = 200;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int volunteerCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int attendanceCount = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        if (new File("database").exists()) {
+            System.err.println("Run from an empty directory; ./database already exists");
+            System.exit(1);
+        }
+        // Loading the sample data is not what is measured
+        if (System.getProperty("vms.persistence.fsync") == null) {
+            System.setProperty("vms.persistence.fsync", "false");
+        }
+        DataPersistence.initialize();
+
+        InMemoryVolunteerRepository volunteers = new InMemoryVolunteerRepository();
+        InMemoryAttendanceRepository attendance = new InMemoryAttendanceRepository();
+        long started = System.nanoTime();
+        fill(volunteers, attendance, volunteerCount, attendanceCount);
+        System.out.printf("Loaded %,d volunteers and %,d attendance records in %d ms%n",
+                volunteerCount, attendanceCount, (System.nanoTime() - started) / 1_000_000);
+
+        List<Attendance> all = attendance.findAll();
+        List<Volunteer> sample = volunteers.findAll().subList(0, Math.min(SCAN_SAMPLE, volunteerCount));
+        long scanNs = time(sample, id -> {
+            double hours = 0;
+            for (Attendance a : all) {
+                if (a.getVolunteerId() == id) {
+                    hours += a.getHoursWorked();
+                }
+            }
+            return hours;
+        });
+        long scanMs = scanNs * volunteerCount / sample.size() / 1_000_000;
+        System.out.printf("%-26s %,10d ms  (%,d volunteers timed, scaled to %,d)%n",
+                "scan per volunteer", scanMs, sample.size(), volunteerCount);
+
+        List<Volunteer> table = volunteers.findAll();
+        long indexNs = Long.MAX_VALUE;
+        long leaderboardNs = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            indexNs = Math.min(indexNs, time(table, id -> {
+                double hours = 0;
+                for (Attendance a : attendance.findByVolunteer(id)) {
+                    hours += a.getHoursWorked();
+                }
+                return hours;
+            }));
+            leaderboardNs = Math.min(leaderboardNs, time(table, id -> attendance.hoursLeaderboard().scoreOf(id)));
+        }
+        System.out.printf("%-26s %,10d ms%n", "findByVolunteer index", indexNs / 1_000_000);
+        System.out.printf("%-26s %,10d ms%n", "hours leaderboard", leaderboardNs / 1_000_000);
+        DataPersistence.shutdown();
+        System.exit(0);
+    }
+
+    // Builds a table row for each volunteer, with their hours from hoursOf; returns the elapsed nanoseconds
+    private static long time(List<Volunteer> rows, IntToDoubleFunction hoursOf) {
+        List<Object[]> table = new ArrayList<>(rows.size());
+        long started = System.nanoTime();
+        for (Volunteer v : rows) {
+            table.add(new Object[] {
+                v.getId(),
+                v.getFirstName() + " " + v.getLastName(),
+                v.getEmail(),
+                v.getPhone(),
+                String.format("%.1f hrs", hoursOf.applyAsDouble(v.getId())),
+                v.getStatus()
+            });
+        }
+        long elapsed = System.nanoTime() - started;
+        if (table.size() != rows.size()) {
+            throw new IllegalStateException("Table has " + table.size() + " rows");
+        }
+        return elapsed;
+    }
+
+    private static void fill(InMemoryVolunteerRepository volunteers, InMemoryAttendanceRepository attendance,
+            int volunteerCount, int attendanceCount) {
+        Random random = new Random(volunteerCount);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Volunteer> people = new ArrayList<>();
+        for (int i = 1; i <= volunteerCount; i++) {
+            Volunteer v = new Volunteer();
+            v.setFirstName("Volunteer");
+            v.setLastName(String.valueOf(i));
+            v.setEmail("volunteer" + i + "@example.org");
+            v.setPhone(String.format("0917%07d", i));
+            v.setStatus(VolunteerStatus.ACTIVE);
+            v.setRegistrationDate(start.plusMinutes(i));
+            people.add(v);
+            if (people.size() == BATCH || i == volunteerCount) {
+                volunteers.saveAll(people);
+                people = new ArrayList<>();
+            }
+        }
+        List<Attendance> records = new ArrayList<>();
+        for (int i = 1; i <= attendanceCount; i++) {
+            Attendance a = new Attendance();
+            a.setVolunteerId(1 + random.nextInt(volunteerCount));
+            a.setEventId(1 + random.nextInt(500));
+            LocalDateTime checkIn = start.plusMinutes(i * 7L);
+            a.setCheckInTime(checkIn);
+            a.setCheckOutTime(checkIn.plusHours(3));
+            a.setHoursWorked(1 + random.nextInt(16) / 2.0);
+            a.setStatus(AttendanceStatus.PRESENT);
+            records.add(a);
+            if (records.size() == BATCH || i == attendanceCount) {
+                attendance.saveAll(records);
+                records = new ArrayList<>();
+            }
+        }
+    }
+}
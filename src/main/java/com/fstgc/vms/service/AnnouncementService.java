@@ -2,6 +2,8 @@ package com.fstgc.vms.service;
 
 import com.fstgc.vms.model.Announcement;
 import com.fstgc.vms.repository.AnnouncementRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,4 +34,7 @@ public class AnnouncementService {
     public List<Announcement> active() { return repository.findActive(); }
     
     public List<Announcement> listAll() { return repository.findAll(); }
+    public Page<Announcement> listPage(PageRequest request) { return repository.findPage(request); }
+
+    public List<Announcement> search(String query, int limit) { return repository.search(query, limit); }
 }
@@ -3,52 +3,220 @@ package com.fstgc.vms.service;
 import com.fstgc.vms.model.Attendance;
 import com.fstgc.vms.model.Event;
 import com.fstgc.vms.model.Timesheet;
+import com.fstgc.vms.model.WaitlistEntry;
+import com.fstgc.vms.model.enums.EventStatus;
 import com.fstgc.vms.model.enums.TimesheetStatus;
 import com.fstgc.vms.repository.AttendanceRepository;
 import com.fstgc.vms.repository.EventRepository;
+import com.fstgc.vms.repository.Leaderboard;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.repository.TimesheetRepository;
+import com.fstgc.vms.repository.UnitOfWork;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class AttendanceService {
     private final AttendanceRepository repository;
     private final EventRepository eventRepository;
     private final TimesheetRepository timesheetRepository;
+    private final EventCapacity capacity;
+    private final EventWaitlist waitlist;
+    // Where multi-record changes get their unit of work, so they are persisted together
+    private final Supplier<UnitOfWork> transactions;
+    private VolunteerAggregates aggregates;
 
-    public AttendanceService(AttendanceRepository repository, EventRepository eventRepository, TimesheetRepository timesheetRepository) { 
+    /**
+     * capacity must be the one instance shared by everything that registers volunteers for
+     * events (RepositoryRegistry.getEventCapacity()), or the same event's places could be
+     * taken under different locks. waitlist is shared the same way (RepositoryRegistry.getWaitlist()).
+     * transactions must hand out units of work of the repositories' backend
+     * (RepositoryRegistry::beginWork), so each is applied and persisted as one.
+     */
+    public AttendanceService(AttendanceRepository repository, EventRepository eventRepository,
+                             TimesheetRepository timesheetRepository, EventCapacity capacity, EventWaitlist waitlist,
+                             Supplier<UnitOfWork> transactions) {
         this.repository = repository;
         this.eventRepository = eventRepository;
         this.timesheetRepository = timesheetRepository;
+        this.capacity = capacity;
+        this.waitlist = waitlist;
+        this.transactions = transactions;
+    }
+
+    // Optional aggregate store kept up to date as attendance is recorded, edited and deleted
+    public void setAggregates(VolunteerAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    // Outcome of recordOrWaitlist: the attendance recorded, or the volunteer's place on the waitlist
+    public static final class SignUp {
+        private final Attendance attendance;
+        private final int waitlistPosition;
+
+        SignUp(Attendance attendance, int waitlistPosition) {
+            this.attendance = attendance;
+            this.waitlistPosition = waitlistPosition;
+        }
+
+        // Null when the volunteer was put on the waitlist
+        public Attendance getAttendance() { return attendance; }
+        public int getWaitlistPosition() { return waitlistPosition; }
+        public boolean isWaitlisted() { return attendance == null; }
     }
 
     public Attendance recordAttendance(int volunteerId, int eventId, double hoursWorked) {
-        // Update event registration count and capacity
+        // Volunteers on the waitlist get any free place first
+        return capacity.locked(eventId, () -> {
+            promoteWaiting(eventId);
+            return record(volunteerId, eventId, hoursWorked);
+        });
+    }
+
+    /**
+     * Records attendance if the event has a free place, otherwise adds the volunteer to the
+     * end of its waitlist. Waiting volunteers are recorded, in order, as places free up.
+     */
+    public SignUp recordOrWaitlist(int volunteerId, int eventId, double hoursWorked) {
+        return capacity.locked(eventId, () -> {
+            promoteWaiting(eventId);
+            Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+            if (event.getCapacity() > 0) {
+                return new SignUp(record(volunteerId, eventId, hoursWorked), 0);
+            }
+            if (repository.existsByVolunteerAndEvent(volunteerId, eventId)) {
+                throw new IllegalArgumentException("Volunteer is already registered for this event");
+            }
+            int position = waitlist.offer(eventId, volunteerId, hoursWorked);
+            return new SignUp(null, position != 0 ? position : waitlist.position(eventId, volunteerId));
+        });
+    }
+
+    /**
+     * Makes edit to the event and changes its free places by capacityChange under the event's
+     * lock, then gives any free places to the waitlist before the lock is released. Use it
+     * for every edit of an existing event, so an edit based on an older copy of the event
+     * cannot overwrite registrations made since.
+     * @return the volunteers promoted from the waitlist
+     * @throws IllegalArgumentException if the event does not exist or has fewer free places than capacityChange removes
+     */
+    public List<Attendance> updateEvent(int eventId, int capacityChange, Consumer<Event> edit) {
+        return capacity.locked(eventId, () -> {
+            capacity.adjust(eventId, capacityChange, edit, transactions.get());
+            return promoteWaiting(eventId);
+        });
+    }
+
+    // Fills places freed outside this service from the waitlist
+    public List<Attendance> promoteWaitlist(int eventId) {
+        return capacity.locked(eventId, () -> promoteWaiting(eventId));
+    }
+
+    public List<WaitlistEntry> waitlist(int eventId) { return waitlist.entries(eventId); }
+
+    // 1-based position of the volunteer on the event's waitlist, or 0 if they are not on it
+    public int waitlistPosition(int volunteerId, int eventId) { return waitlist.position(eventId, volunteerId); }
+
+    public boolean leaveWaitlist(int volunteerId, int eventId) {
+        return capacity.locked(eventId, () -> waitlist.remove(eventId, volunteerId));
+    }
+
+    // Records attendance in a free place; called holding the event's lock
+    private Attendance record(int volunteerId, int eventId, double hoursWorked) {
+        return record(volunteerId, eventId, hoursWorked, transactions.get(), true);
+    }
+
+    /**
+     * Adds the attendance and its timesheet to work and commits it, together with taking a
+     * place at the event, or without taking one when takePlace is false because work frees
+     * a place in the same commit. Called holding the event's lock.
+     */
+    private Attendance record(int volunteerId, int eventId, double hoursWorked, UnitOfWork work, boolean takePlace) {
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new IllegalArgumentException("Event not found"));
         
-        if (event.getCapacity() <= 0) {
-            throw new IllegalArgumentException("Event is at full capacity");
-        }
-        
-        event.setCurrentRegistrations(event.getCurrentRegistrations() + 1);
-        event.setCapacity(event.getCapacity() - 1);
-        eventRepository.update(event);
-        
         // Create attendance record with hours
         Attendance a = new Attendance();
         a.setVolunteerId(volunteerId);
         a.setEventId(eventId);
         a.setCheckInTime(LocalDateTime.now()); // Set to current time for record keeping
         a.setHoursWorked(hoursWorked);
-        Attendance savedAttendance = repository.save(a);
         
-        // Automatically create a timesheet for this attendance and update hours
-        createTimesheetForAttendance(volunteerId, event, hoursWorked);
-        
-        return savedAttendance;
+        // The place at the event, the attendance and its timesheet are written as one unit
+        work.save(repository::save, a, saved -> repository.delete(saved.getAttendanceId()))
+            .save(timesheetRepository::save, timesheetForAttendance(volunteerId, event, hoursWorked),
+                saved -> timesheetRepository.delete(saved.getTimesheetId()));
+        if (takePlace) {
+            capacity.reserve(eventId, work);
+        } else {
+            work.commit();
+        }
+        if (aggregates != null) {
+            aggregates.recordAttendance(a);
+        }
+        return a;
+    }
+
+    /**
+     * Gives the event's free places to the volunteers who have waited longest; called holding
+     * the event's lock. Events that can no longer take volunteers keep their waitlist as it
+     * is; the waitlist of an event that no longer exists is dropped.
+     */
+    private List<Attendance> promoteWaiting(int eventId) {
+        List<Attendance> promoted = new ArrayList<>();
+        while (true) {
+            Event event = eventRepository.findById(eventId).orElse(null);
+            if (event == null) {
+                waitlist.clear(eventId);
+                break;
+            }
+            WaitlistEntry next = event.getCapacity() > 0 ? nextWaiting(event) : null;
+            if (next == null) {
+                break;
+            }
+            promoted.add(promote(next, transactions.get(), true));
+        }
+        return promoted;
+    }
+
+    /**
+     * Takes next off the waitlist and records their place, in the same unit of work: if
+     * recording fails, they are put back first in line and nothing is persisted.
+     */
+    private Attendance promote(WaitlistEntry next, UnitOfWork work, boolean takePlace) {
+        work.change(() -> waitlist.remove(next.getEventId(), next.getVolunteerId()), () -> waitlist.restore(next));
+        return record(next.getVolunteerId(), next.getEventId(), next.getHoursWorked(), work, takePlace);
+    }
+
+    /**
+     * The first volunteer waiting for the event, dropping any who have registered for it
+     * meanwhile; null if nobody is waiting or the event can no longer take volunteers.
+     */
+    private WaitlistEntry nextWaiting(Event event) {
+        if (!acceptsVolunteers(event)) {
+            return null;
+        }
+        WaitlistEntry next;
+        while ((next = waitlist.peek(event.getEventId())) != null
+                && repository.existsByVolunteerAndEvent(next.getVolunteerId(), event.getEventId())) {
+            waitlist.remove(event.getEventId(), next.getVolunteerId());
+        }
+        return next;
+    }
+
+    // Cancelled, completed and past events take no more volunteers from their waitlist
+    private static boolean acceptsVolunteers(Event event) {
+        return event.getStatus() != EventStatus.CANCELLED
+                && event.getStatus() != EventStatus.COMPLETED
+                && (event.getEventDate() == null || !event.getEventDate().isBefore(LocalDate.now()));
     }
     
-    private void createTimesheetForAttendance(int volunteerId, Event event, double hours) {
+    private Timesheet timesheetForAttendance(int volunteerId, Event event, double hours) {
         // Create a timesheet with the event details and hours
         Timesheet timesheet = new Timesheet();
         timesheet.setVolunteerId(volunteerId);
@@ -60,11 +228,22 @@ public class AttendanceService {
         timesheet.setTotalHours(hours); // Set hours directly
         timesheet.setApprovalStatus(TimesheetStatus.PENDING);
         timesheet.setCreatedDate(LocalDateTime.now());
-        
-        timesheetRepository.save(timesheet);
+        return timesheet;
     }
 
 
+    /**
+     * Saves attendance that has already happened, such as a term's records imported from a
+     * spreadsheet, in one batch. Event capacity and timesheets are left as they are.
+     */
+    public List<Attendance> importAttendance(List<Attendance> records) {
+        List<Attendance> saved = repository.saveAll(records);
+        if (aggregates != null) {
+            saved.forEach(aggregates::recordAttendance);
+        }
+        return saved;
+    }
+
     public List<Attendance> byVolunteer(int volunteerId) { return repository.findByVolunteer(volunteerId); }
     
     public Attendance updateStatus(int attendanceId, com.fstgc.vms.model.enums.AttendanceStatus status) {
@@ -77,14 +256,25 @@ public class AttendanceService {
         // Reverse the event registration count when attendance is deleted
         Attendance a = repository.findById(attendanceId).orElseThrow(() -> new IllegalArgumentException("Attendance not found"));
         
-        Event event = eventRepository.findById(a.getEventId()).orElse(null);
-        if (event != null) {
-            event.setCurrentRegistrations(Math.max(0, event.getCurrentRegistrations() - 1));
-            event.setCapacity(event.getCapacity() + 1);
-            eventRepository.update(event);
-        }
-        
-        return repository.delete(attendanceId);
+        capacity.locked(a.getEventId(), () -> {
+            // Checked again under the event's lock so a concurrent delete cannot release the place twice
+            UnitOfWork work = transactions.get()
+                .check(() -> repository.findById(attendanceId).isPresent(), "Attendance not found")
+                .change(() -> repository.delete(attendanceId), () -> repository.update(a));
+            Event event = eventRepository.findById(a.getEventId()).orElse(null);
+            WaitlistEntry next = event != null ? nextWaiting(event) : null;
+            if (next != null) {
+                // The freed place passes straight to the first volunteer waiting, in the same commit
+                promote(next, work, false);
+            } else {
+                capacity.release(a.getEventId(), work);
+            }
+            if (aggregates != null) {
+                aggregates.removeAttendance(a);
+            }
+            return promoteWaiting(a.getEventId());
+        });
+        return true;
     }
     
     public Attendance byId(int attendanceId) {
@@ -96,6 +286,9 @@ public class AttendanceService {
         // Get the old attendance to calculate the hours difference
         Attendance oldAttendance = repository.findById(attendance.getAttendanceId()).orElse(null);
         Attendance updated = repository.update(attendance);
+        if (aggregates != null) {
+            aggregates.recordAttendance(updated);
+        }
         
         // Update timesheet hours if hours were changed
         if (oldAttendance != null && oldAttendance.getHoursWorked() != attendance.getHoursWorked()) {
@@ -108,24 +301,27 @@ public class AttendanceService {
     
     private void updateTimesheetHoursByDifference(int volunteerId, int eventId, double hoursDifference) {
         // Find the timesheet for this volunteer and event
-        List<Timesheet> timesheets = timesheetRepository.findByVolunteer(volunteerId);
-        for (Timesheet timesheet : timesheets) {
-            if (timesheet.getEventId() != null && timesheet.getEventId() == eventId) {
-                // Update the total hours with the difference
-                timesheet.setTotalHours(Math.round((timesheet.getTotalHours() + hoursDifference) * 100.0) / 100.0);
-                timesheet.setLastModifiedDate(LocalDateTime.now());
-                timesheetRepository.update(timesheet);
-                break;
-            }
+        List<Timesheet> timesheets = timesheetRepository.findByVolunteerAndEvent(volunteerId, eventId);
+        if (!timesheets.isEmpty()) {
+            Timesheet timesheet = timesheets.get(0);
+            // Update the total hours with the difference
+            timesheet.setTotalHours(Math.round((timesheet.getTotalHours() + hoursDifference) * 100.0) / 100.0);
+            timesheet.setLastModifiedDate(LocalDateTime.now());
+            timesheetRepository.update(timesheet);
         }
     }
     
     public List<Attendance> listAll() { return repository.findAll(); }
+    public Page<Attendance> listPage(PageRequest request) { return repository.findPage(request); }
+    public Page<Attendance> listPageByVolunteer(int volunteerId, PageRequest request) { return repository.findPageByVolunteer(volunteerId, request); }
+    public Page<Attendance> listPageByEvent(int eventId, PageRequest request) { return repository.findPageByEvent(eventId, request); }
+
+    public Leaderboard hoursLeaderboard() { return repository.hoursLeaderboard(); }
+
+    public Leaderboard eventsLeaderboard() { return repository.eventsLeaderboard(); }
     
     public boolean isVolunteerRegisteredForEvent(int volunteerId, int eventId) {
         // Check if volunteer has an attendance record for this event
-        List<Attendance> attendances = repository.findByVolunteer(volunteerId);
-        return attendances.stream()
-            .anyMatch(a -> a.getEventId() == eventId);
+        return repository.existsByVolunteerAndEvent(volunteerId, eventId);
     }
 }
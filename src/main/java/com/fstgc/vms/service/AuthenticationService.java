@@ -5,26 +5,35 @@ import com.fstgc.vms.model.Volunteer;
 import com.fstgc.vms.model.enums.AccountStatus;
 import com.fstgc.vms.model.enums.Role;
 import com.fstgc.vms.repository.AdminRepository;
-import com.fstgc.vms.repository.memory.InMemoryVolunteerRepository;
+import com.fstgc.vms.repository.RepositoryRegistry;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.Optional;
 
 public class AuthenticationService {
+    private final RepositoryRegistry repositories;
     private final AdminRepository adminRepository;
     // Service used to create Volunteer records for new signups so admins can manage them
-    private final VolunteerService volunteerService;
+    private VolunteerService volunteerService;
     private SystemAdmin currentUser;
 
-    public AuthenticationService(AdminRepository adminRepository) {
-        this.adminRepository = adminRepository;
-        // Separate volunteer service used only for signups; persists via DataPersistence
-        this.volunteerService = new VolunteerService(new InMemoryVolunteerRepository());
+    public AuthenticationService(RepositoryRegistry repositories) {
+        this.repositories = repositories;
+        this.adminRepository = repositories.getAdminRepository();
         // Create default admin if none exists
         initializeDefaultAdmin();
     }
 
+    // Created on first use so the login dialog does not wait for the volunteers to load
+    private synchronized VolunteerService volunteerService() {
+        if (volunteerService == null) {
+            // Shares the volunteer repository with the rest of the application
+            volunteerService = new VolunteerService(repositories.getVolunteerRepository());
+        }
+        return volunteerService;
+    }
+
     private void initializeDefaultAdmin() {
         Optional<SystemAdmin> existing = adminRepository.findByUsername("admin");
         if (existing.isEmpty()) {
@@ -125,7 +134,12 @@ public class AuthenticationService {
         admin.setAccountStatus(AccountStatus.ACTIVE);
         admin.setSecurityQuestion(securityQuestion);
         admin.setSecurityAnswerHash(hashPassword(securityAnswer.trim().toLowerCase()));
-        adminRepository.save(admin);
+        try {
+            adminRepository.save(admin);
+        } catch (IllegalArgumentException e) {
+            // Taken by a concurrent registration since the check above
+            return false;
+        }
 
         // Also create a Volunteer domain record so admins can manage this person
         try {
@@ -134,7 +148,7 @@ public class AuthenticationService {
             volunteer.setLastName(lastName);
             volunteer.setEmail(email);
             volunteer.setPhone(phone);
-            volunteerService.register(volunteer);
+            volunteerService().register(volunteer);
         } catch (Exception e) {
             // Do not block account creation if the volunteer record fails; log to stderr instead
             System.err.println("Warning: failed to create Volunteer record for signup: " + e.getMessage());
@@ -156,7 +170,7 @@ public class AuthenticationService {
         
         try {
             // Check if volunteer record already exists by email
-            Optional<Volunteer> existingVolunteer = volunteerService.getByEmail(admin.getEmail());
+            Optional<Volunteer> existingVolunteer = volunteerService().getByEmail(admin.getEmail());
             
             if (existingVolunteer.isEmpty()) {
                 // Create new volunteer record
@@ -166,7 +180,7 @@ public class AuthenticationService {
                 volunteer.setEmail(admin.getEmail());
                 volunteer.setPhone(admin.getPhone());
                 volunteer.setLastModifiedBy("System");
-                volunteerService.register(volunteer, "System");
+                volunteerService().register(volunteer, "System");
                 System.out.println("Auto-created volunteer record for: " + admin.getEmail());
             }
         } catch (Exception e) {
@@ -4,13 +4,20 @@ import com.fstgc.vms.model.Award;
 import com.fstgc.vms.model.AwardCriteria;
 import com.fstgc.vms.model.enums.BadgeTier;
 import com.fstgc.vms.repository.AwardRepository;
+import com.fstgc.vms.repository.Leaderboard;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import java.util.List;
 
 public class AwardService {
     private final AwardRepository repository;
+    private VolunteerAggregates aggregates;
 
     public AwardService(AwardRepository repository) { this.repository = repository; }
 
+    // Optional aggregate store kept up to date as awards are assigned
+    public void setAggregates(VolunteerAggregates aggregates) { this.aggregates = aggregates; }
+
     public Award assignIfEligible(int volunteerId, AwardCriteria criteria) {
         if (repository.checkIfAwarded(volunteerId, criteria.getCriteriaId())) {
             return null; // already awarded
@@ -21,7 +28,11 @@ public class AwardService {
         a.setBadgeDescription(criteria.getDescription());
         a.setCriteriaId(criteria.getCriteriaId());
         a.setBadgeTier(criteria.getBadgeTier()!=null ? criteria.getBadgeTier() : BadgeTier.BRONZE);
-        return repository.save(a);
+        Award saved = repository.save(a);
+        if (aggregates != null) {
+            aggregates.recordAward(saved);
+        }
+        return saved;
     }
     
     public List<Award> getAwardsByVolunteer(int volunteerId) {
@@ -29,4 +40,8 @@ public class AwardService {
     }
 
     public List<Award> leaderboard() { return repository.findLeaderboard(); }
+
+    public Page<Award> listPage(PageRequest request) { return repository.findPage(request); }
+
+    public Leaderboard badgeLeaderboard() { return repository.badgeLeaderboard(); }
 }
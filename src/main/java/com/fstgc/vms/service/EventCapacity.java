@@ -0,0 +1,93 @@
+package com.fstgc.vms.service;
+
+import com.fstgc.vms.model.Event;
+import com.fstgc.vms.repository.EventRepository;
+import com.fstgc.vms.repository.UnitOfWork;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Serializes changes to an event's remaining capacity and registration count, so concurrent
+ * registrations for the same event cannot both take its last place. Events hash onto a
+ * fixed set of lock stripes; under its stripe an event is re-read, checked and updated, and
+ * the update is committed with the caller's other writes before the stripe is released.
+ * The stripes only serialize callers that share them, so the application uses one instance
+ * for its event repository (RepositoryRegistry.getEventCapacity()).
+ */
+public class EventCapacity {
+    private static final int STRIPES = 64;
+
+    private final EventRepository events;
+    private final Object[] stripes = new Object[STRIPES];
+
+    public EventCapacity(EventRepository events) {
+        this.events = events;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes a place at the event and commits work, with the writes already queued in it.
+     * @throws IllegalArgumentException if the event does not exist or is full; nothing is written then
+     */
+    public Event reserve(int eventId, UnitOfWork work) {
+        synchronized (stripe(eventId)) {
+            Event event = events.findById(eventId)
+                    .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+            work.check(() -> event.getCapacity() > 0, "Event is at full capacity")
+                    .update(events::update, event, e -> {
+                        e.setCurrentRegistrations(e.getCurrentRegistrations() + 1);
+                        e.setCapacity(e.getCapacity() - 1);
+                    })
+                    .commit();
+            return event;
+        }
+    }
+
+    // Gives a place back and commits work; only work is committed if the event no longer exists
+    public void release(int eventId, UnitOfWork work) {
+        synchronized (stripe(eventId)) {
+            events.findById(eventId).ifPresent(event -> work.update(events::update, event, e -> {
+                e.setCurrentRegistrations(Math.max(0, e.getCurrentRegistrations() - 1));
+                e.setCapacity(e.getCapacity() + 1);
+            }));
+            work.commit();
+        }
+    }
+
+    /**
+     * Re-reads the event, makes edit to it and changes its free places by delta, then commits
+     * work. The change is applied to the current free places rather than written as a new
+     * total, so places taken since the caller read the event are kept. edit must not change
+     * the capacity itself.
+     * @throws IllegalArgumentException if the event does not exist or would be left with
+     *         fewer than 0 free places; nothing is written then
+     */
+    public Event adjust(int eventId, int delta, Consumer<Event> edit, UnitOfWork work) {
+        synchronized (stripe(eventId)) {
+            Event event = events.findById(eventId)
+                    .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+            int free = event.getCapacity();
+            work.check(() -> free + delta >= 0,
+                            "Capacity cannot be lowered by more than the " + free + " free place(s)")
+                    .update(events::update, event, e -> {
+                        edit.accept(e);
+                        e.setCapacity(free + delta);
+                    })
+                    .commit();
+            return event;
+        }
+    }
+
+    // Runs action holding the event's stripe, so it can combine several reservations and releases
+    public <T> T locked(int eventId, Supplier<T> action) {
+        synchronized (stripe(eventId)) {
+            return action.get();
+        }
+    }
+
+    private Object stripe(int eventId) {
+        return stripes[Math.floorMod(eventId, STRIPES)];
+    }
+}
@@ -0,0 +1,133 @@
+package com.fstgc.vms.service;
+
+import com.fstgc.vms.model.Event;
+import com.fstgc.vms.model.enums.EventStatus;
+import com.fstgc.vms.model.enums.EventType;
+import com.fstgc.vms.repository.RepositoryRegistry;
+import com.fstgc.vms.util.DataPersistence;
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that concurrent sign-ups cannot overbook an event. Thousands of volunteers call
+ * recordOrWaitlist on one event at once, through two AttendanceService instances, while the
+ * capacity is raised from a third thread; afterwards exactly the capacity must be booked and
+ * everyone else waitlisted. Run it from an empty directory, since it creates ./database:
+ *   java -cp <classpath> com.fstgc.vms.service.EventCapacityStress [memory|jdbc] [volunteers] [capacity]
+ * It exits with status 1 if any check fails.
+ */
+public class EventCapacityStress {
+    public static void main(String[] args) throws Exception {
+        String backend = args.length > 0 ? args[0] : "memory";
+        int volunteers = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int places = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int raise = places / 2;
+        if (new File("database").exists()) {
+            System.err.println("Run from an empty directory; ./database already exists");
+            System.exit(1);
+        }
+
+        RepositoryRegistry repositories = new RepositoryRegistry(backend);
+        repositories.open();
+        Event event = new Event();
+        event.setTitle("Stress test");
+        event.setEventDate(LocalDate.now().plusDays(7));
+        event.setCapacity(places);
+        event.setEventType(EventType.values()[0]);
+        event.setStatus(EventStatus.PUBLISHED);
+        int eventId = repositories.getEventRepository().save(event).getEventId();
+
+        // Two sessions' services, sharing the registry's capacity locks and waitlist
+        AttendanceService[] services = {service(repositories), service(repositories)};
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch halfway = new CountDownLatch(volunteers / 2);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int i = 1; i <= volunteers; i++) {
+            int volunteerId = i;
+            AttendanceService service = services[i % 2];
+            tasks.add(pool.submit(() -> {
+                start.await();
+                try {
+                    if (service.recordOrWaitlist(volunteerId, eventId, 2).isWaitlisted()) {
+                        waitlisted.incrementAndGet();
+                    } else {
+                        booked.incrementAndGet();
+                    }
+                } finally {
+                    halfway.countDown();
+                }
+                return null;
+            }));
+        }
+        // The raise lands halfway through the sign-ups, as an edit from the event dialog would
+        Thread raiser = new Thread(() -> {
+            try {
+                halfway.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            services[0].updateEvent(eventId, raise, e -> e.setLocation("Bigger hall"));
+        });
+        raiser.start();
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        raiser.join();
+        pool.shutdown();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        Event after = repositories.getEventRepository().findById(eventId).orElseThrow();
+        int attendance = repositories.getAttendanceRepository().findByEvent(eventId).size();
+        int timesheets = (int) repositories.getTimesheetRepository().findAll().stream()
+                .filter(t -> t.getEventId() != null && t.getEventId() == eventId).count();
+        int waiting = repositories.getWaitlist().size(eventId);
+        int expected = places + raise;
+        System.out.printf("%s: %,d sign-ups in %d ms; %d booked at once, %d waitlisted, %d promoted by the raise%n",
+                backend, volunteers, elapsedMs, booked.get(), waitlisted.get(), waitlisted.get() - waiting);
+
+        List<String> failures = new ArrayList<>();
+        expect(failures, "attendance records", attendance, expected);
+        expect(failures, "timesheets", timesheets, expected);
+        // Volunteers waitlisted before the raise were promoted, so they count as booked here
+        expect(failures, "booked + waiting", attendance + waiting, volunteers);
+        expect(failures, "registrations", after.getCurrentRegistrations(), expected);
+        expect(failures, "free places", after.getCapacity(), 0);
+        if (!"Bigger hall".equals(after.getLocation())) {
+            failures.add("the capacity edit's other changes were lost");
+        }
+        if (!"jdbc".equalsIgnoreCase(backend)) {
+            DataPersistence.shutdown();
+        }
+        if (!failures.isEmpty()) {
+            failures.forEach(f -> System.err.println("FAILED: " + f));
+            System.exit(1);
+        }
+        System.out.println("OK: no overbooking");
+        System.exit(0);
+    }
+
+    private static AttendanceService service(RepositoryRegistry repositories) {
+        return new AttendanceService(repositories.getAttendanceRepository(), repositories.getEventRepository(),
+                repositories.getTimesheetRepository(), repositories.getEventCapacity(), repositories.getWaitlist(),
+                repositories::beginWork);
+    }
+
+    private static void expect(List<String> failures, String what, int actual, int expected) {
+        if (actual != expected) {
+            failures.add(what + ": expected " + expected + ", found " + actual);
+        }
+    }
+}
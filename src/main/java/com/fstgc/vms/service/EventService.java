@@ -3,6 +3,8 @@ package com.fstgc.vms.service;
 import com.fstgc.vms.model.Event;
 import com.fstgc.vms.model.enums.EventStatus;
 import com.fstgc.vms.repository.EventRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,6 +32,18 @@ public class EventService {
     }
     
     public List<Event> listAll() { return repository.findAll(); }
+    public Page<Event> listPage(PageRequest request) { return repository.findPage(request); }
+    public Page<Event> listPageByStatus(EventStatus status, PageRequest request) { return repository.findPageByStatus(status, request); }
+
+    public List<Event> listByDate() { return repository.findAllByDate(); }
+
+    public List<Event> getUpcomingEvents(LocalDate from) { return repository.findUpcoming(from); }
+
+    public List<Event> listByStatus(EventStatus status) { return repository.findByStatus(status); }
+
+    public int countByStatus(EventStatus status) { return repository.countByStatus(status); }
+
+    public List<Event> search(String query, int limit) { return repository.search(query, limit); }
 
     public Event publish(int eventId) {
         Event e = repository.findById(eventId).orElseThrow();
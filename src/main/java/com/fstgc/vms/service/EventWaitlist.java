@@ -0,0 +1,163 @@
+package com.fstgc.vms.service;
+
+import com.fstgc.vms.model.WaitlistEntry;
+import com.fstgc.vms.repository.WaitlistRepository;
+import java.util.*;
+
+/**
+ * Volunteers waiting for a place at a full event, first come first served. Each event has
+ * its own queue, so joining and taking the next volunteer are O(1); a volunteer who leaves
+ * is only marked and skipped once the queue reaches them. Entries are stored through a
+ * WaitlistRepository and the queues rebuilt from it at startup, so waitlists survive
+ * restarts. One instance is shared by the whole application (see
+ * RepositoryRegistry.getWaitlist()), so every session sees the same queues.
+ */
+public class EventWaitlist {
+    private final WaitlistRepository repository;
+    private final Map<Integer, Queue> queues = new HashMap<>();
+    // Entries still waiting, by event and volunteer
+    private final Map<Long, WaitlistEntry> waiting = new HashMap<>();
+
+    // An event's entries in arrival order, including ones that have left the waitlist
+    private static class Queue {
+        final ArrayDeque<WaitlistEntry> entries = new ArrayDeque<>();
+        int size;
+    }
+
+    public EventWaitlist(WaitlistRepository repository) {
+        this.repository = repository;
+        for (WaitlistEntry entry : repository.findAll()) {
+            if (waiting.putIfAbsent(key(entry.getEventId(), entry.getVolunteerId()), entry) == null) {
+                Queue queue = queues.computeIfAbsent(entry.getEventId(), id -> new Queue());
+                queue.entries.addLast(entry);
+                queue.size++;
+            }
+        }
+    }
+
+    /**
+     * Adds the volunteer to the end of the event's waitlist.
+     * @return their 1-based position, or 0 if they were already waiting
+     */
+    public synchronized int offer(int eventId, int volunteerId, double hoursWorked) {
+        long key = key(eventId, volunteerId);
+        if (waiting.containsKey(key)) {
+            return 0;
+        }
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setEventId(eventId);
+        entry.setVolunteerId(volunteerId);
+        entry.setHoursWorked(hoursWorked);
+        repository.save(entry);
+        waiting.put(key, entry);
+        Queue queue = queues.computeIfAbsent(eventId, id -> new Queue());
+        queue.entries.addLast(entry);
+        return ++queue.size;
+    }
+
+    /**
+     * The first volunteer waiting for the event, or null if nobody is; they stay on the
+     * waitlist until removed, so taking them off can be part of the unit of work that
+     * records their place (see restore()).
+     */
+    public synchronized WaitlistEntry peek(int eventId) {
+        Queue queue = queues.get(eventId);
+        if (queue == null) {
+            return null;
+        }
+        WaitlistEntry entry;
+        // Entries of volunteers who left are dropped on the way
+        while ((entry = queue.entries.peekFirst()) != null
+                && waiting.get(key(entry.getEventId(), entry.getVolunteerId())) != entry) {
+            queue.entries.pollFirst();
+        }
+        return entry;
+    }
+
+    /**
+     * Puts an entry that was removed back at the head of its event's waitlist, under its
+     * own id; undoes the removal of the first volunteer when recording their place fails.
+     * Does nothing if the volunteer has joined the waitlist again since.
+     */
+    public synchronized void restore(WaitlistEntry entry) {
+        if (waiting.putIfAbsent(key(entry.getEventId(), entry.getVolunteerId()), entry) != null) {
+            return;
+        }
+        repository.restore(entry);
+        Queue queue = queues.computeIfAbsent(entry.getEventId(), id -> new Queue());
+        // remove() left the entry where it was; it is normally still first, so this is quick
+        queue.entries.remove(entry);
+        queue.entries.addFirst(entry);
+        queue.size++;
+    }
+
+    // Takes the volunteer off the event's waitlist; false if they were not on it
+    public synchronized boolean remove(int eventId, int volunteerId) {
+        WaitlistEntry entry = waiting.remove(key(eventId, volunteerId));
+        if (entry == null) {
+            return false;
+        }
+        repository.delete(entry.getEntryId());
+        Queue queue = queues.get(eventId);
+        if (--queue.size == 0) {
+            queues.remove(eventId);
+        } else if (queue.entries.size() > 2 * queue.size + 16) {
+            // Drops the entries of volunteers who left, so repeated joining and leaving cannot grow the queue
+            queue.entries.removeIf(e -> waiting.get(key(e.getEventId(), e.getVolunteerId())) != e);
+        }
+        return true;
+    }
+
+    // Forgets everyone waiting for the event, e.g. once it is deleted
+    public synchronized void clear(int eventId) {
+        Queue queue = queues.remove(eventId);
+        if (queue != null) {
+            for (WaitlistEntry entry : queue.entries) {
+                if (waiting.remove(key(entry.getEventId(), entry.getVolunteerId()), entry)) {
+                    repository.delete(entry.getEntryId());
+                }
+            }
+        }
+    }
+
+    // 1-based position of the volunteer in the event's waitlist, or 0 if they are not on it
+    public synchronized int position(int eventId, int volunteerId) {
+        WaitlistEntry target = waiting.get(key(eventId, volunteerId));
+        if (target == null) {
+            return 0;
+        }
+        int position = 0;
+        for (WaitlistEntry entry : queues.get(eventId).entries) {
+            if (waiting.get(key(entry.getEventId(), entry.getVolunteerId())) == entry) {
+                position++;
+                if (entry == target) {
+                    break;
+                }
+            }
+        }
+        return position;
+    }
+
+    public synchronized int size(int eventId) {
+        Queue queue = queues.get(eventId);
+        return queue != null ? queue.size : 0;
+    }
+
+    // The volunteers waiting for the event, first in line first
+    public synchronized List<WaitlistEntry> entries(int eventId) {
+        Queue queue = queues.get(eventId);
+        List<WaitlistEntry> result = new ArrayList<>();
+        if (queue != null) {
+            for (WaitlistEntry entry : queue.entries) {
+                if (waiting.get(key(entry.getEventId(), entry.getVolunteerId())) == entry) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long key(int eventId, int volunteerId) {
+        return ((long) eventId << 32) | (volunteerId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fstgc.vms.service;
+
+import com.fstgc.vms.model.Timesheet;
+import java.time.LocalDate;
+
+/**
+ * Which timesheets a bulk decision applies to. Every criterion left unset matches all
+ * timesheets; those that are set must all match. A period is within the date range when it
+ * starts on or after from and ends on or before to, as with TimesheetRepository.findByPeriod.
+ */
+public final class TimesheetFilter {
+    private static final TimesheetFilter ANY = new TimesheetFilter(null, null, null, null, null);
+
+    private final Integer volunteerId;
+    private final Integer eventId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Double maxHours;
+
+    private TimesheetFilter(Integer volunteerId, Integer eventId, LocalDate from, LocalDate to, Double maxHours) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (maxHours != null && maxHours < 0) {
+            throw new IllegalArgumentException("Maximum hours must be >= 0");
+        }
+        this.volunteerId = volunteerId;
+        this.eventId = eventId;
+        this.from = from;
+        this.to = to;
+        this.maxHours = maxHours;
+    }
+
+    public static TimesheetFilter any() {
+        return ANY;
+    }
+
+    public TimesheetFilter volunteer(int volunteerId) {
+        return new TimesheetFilter(volunteerId, eventId, from, to, maxHours);
+    }
+
+    public TimesheetFilter event(int eventId) {
+        return new TimesheetFilter(volunteerId, eventId, from, to, maxHours);
+    }
+
+    // Periods within from..to, inclusive; either bound may be null to leave that side open
+    public TimesheetFilter between(LocalDate from, LocalDate to) {
+        return new TimesheetFilter(volunteerId, eventId, from, to, maxHours);
+    }
+
+    // Timesheets of at most this many total hours
+    public TimesheetFilter maxHours(double maxHours) {
+        return new TimesheetFilter(volunteerId, eventId, from, to, maxHours);
+    }
+
+    public Integer getVolunteerId() { return volunteerId; }
+    public Integer getEventId() { return eventId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public Double getMaxHours() { return maxHours; }
+
+    public boolean matches(Timesheet t) {
+        return (volunteerId == null || t.getVolunteerId() == volunteerId)
+                && (eventId == null || eventId.equals(t.getEventId()))
+                && (from == null || (t.getPeriodStartDate() != null && !t.getPeriodStartDate().isBefore(from)))
+                && (to == null || (t.getPeriodEndDate() != null && !t.getPeriodEndDate().isAfter(to)))
+                && (maxHours == null || t.getTotalHours() <= maxHours);
+    }
+}
@@ -1,21 +1,36 @@
 package com.fstgc.vms.service;
 
 import com.fstgc.vms.model.Attendance;
+import com.fstgc.vms.model.SystemAdmin;
 import com.fstgc.vms.model.Timesheet;
+import com.fstgc.vms.model.enums.Role;
 import com.fstgc.vms.model.enums.TimesheetStatus;
+import com.fstgc.vms.repository.AdminRepository;
 import com.fstgc.vms.repository.AttendanceRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.repository.TimesheetRepository;
+import com.fstgc.vms.util.DataPersistence;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class TimesheetService {
     private final TimesheetRepository timesheets;
     private final AttendanceRepository attendance;
+    // Looks up who is deciding a batch, so only administrators can decide timesheets in bulk
+    private final AdminRepository admins;
 
-    public TimesheetService(TimesheetRepository timesheets, AttendanceRepository attendance) {
+    public TimesheetService(TimesheetRepository timesheets, AttendanceRepository attendance, AdminRepository admins) {
         this.timesheets = timesheets;
         this.attendance = attendance;
+        this.admins = admins;
     }
 
     public Timesheet generate(int volunteerId, LocalDate start, LocalDate end) {
@@ -61,13 +76,168 @@ public class TimesheetService {
         return timesheets.update(t);
     }
     
+    // Outcome of a bulk decision: the timesheets decided and what they add up to
+    public static final class BatchSummary {
+        private final TimesheetStatus status;
+        private final List<Integer> timesheetIds;
+        private final double totalHours;
+        private final int volunteerCount;
+
+        BatchSummary(TimesheetStatus status, List<Timesheet> decided) {
+            this.status = status;
+            this.timesheetIds = new ArrayList<>(decided.size());
+            Set<Integer> volunteers = new HashSet<>();
+            double hours = 0;
+            for (Timesheet t : decided) {
+                timesheetIds.add(t.getTimesheetId());
+                volunteers.add(t.getVolunteerId());
+                hours += t.getTotalHours();
+            }
+            this.totalHours = Math.round(hours * 100.0) / 100.0;
+            this.volunteerCount = volunteers.size();
+        }
+
+        // APPROVED or REJECTED
+        public TimesheetStatus getStatus() { return status; }
+        public List<Integer> getTimesheetIds() { return Collections.unmodifiableList(timesheetIds); }
+        public int getCount() { return timesheetIds.size(); }
+        public double getTotalHours() { return totalHours; }
+        // How many different volunteers the timesheets belong to
+        public int getVolunteerCount() { return volunteerCount; }
+    }
+
+    /**
+     * Approves several timesheets, written together in one batch.
+     * @throws java.util.NoSuchElementException if an id is unknown; nothing is changed then
+     * @throws IllegalArgumentException if adminId is not an administrator
+     */
+    public List<Timesheet> approveAll(Collection<Integer> timesheetIds, int adminId) {
+        requireAdmin(adminId);
+        return approveBatch(findAll(timesheetIds), adminId);
+    }
+
+    /**
+     * Rejects several timesheets with the same reason, written together in one batch.
+     * @throws java.util.NoSuchElementException if an id is unknown; nothing is changed then
+     * @throws IllegalArgumentException if adminId is not an administrator
+     */
+    public List<Timesheet> rejectAll(Collection<Integer> timesheetIds, int adminId, String reason) {
+        requireAdmin(adminId);
+        return rejectBatch(findAll(timesheetIds), adminId, reason);
+    }
+
+    // Approves every pending timesheet the filter matches in one batch; nothing is written if none match
+    public BatchSummary approveAll(TimesheetFilter filter, int adminId) {
+        requireAdmin(adminId);
+        return new BatchSummary(TimesheetStatus.APPROVED, approveBatch(listPending(filter), adminId));
+    }
+
+    // Rejects every pending timesheet the filter matches with the same reason, in one batch
+    public BatchSummary rejectAll(TimesheetFilter filter, int adminId, String reason) {
+        requireAdmin(adminId);
+        return new BatchSummary(TimesheetStatus.REJECTED, rejectBatch(listPending(filter), adminId, reason));
+    }
+
+    /**
+     * Approves those of the given timesheets that are still pending, in one batch; meant for
+     * a set the admin confirmed from listPending(). Timesheets decided or deleted since are
+     * skipped, and the summary lists only the ones this call approved.
+     * @throws IllegalArgumentException if adminId is not an administrator
+     */
+    public BatchSummary approvePending(Collection<Integer> timesheetIds, int adminId) {
+        requireAdmin(adminId);
+        return new BatchSummary(TimesheetStatus.APPROVED, approveBatch(findPending(timesheetIds), adminId));
+    }
+
+    // Rejects those of the given timesheets that are still pending, as approvePending() approves them
+    public BatchSummary rejectPending(Collection<Integer> timesheetIds, int adminId, String reason) {
+        requireAdmin(adminId);
+        return new BatchSummary(TimesheetStatus.REJECTED, rejectBatch(findPending(timesheetIds), adminId, reason));
+    }
+
+    /**
+     * The pending timesheets the filter matches. They are read from the pending set, or
+     * from the volunteer's own timesheets when the filter names a volunteer.
+     */
+    public List<Timesheet> listPending(TimesheetFilter filter) {
+        List<Timesheet> candidates = filter.getVolunteerId() != null
+                ? timesheets.findByVolunteer(filter.getVolunteerId())
+                : timesheets.findPendingApprovals();
+        List<Timesheet> matched = new ArrayList<>();
+        for (Timesheet t : candidates) {
+            if (t.getApprovalStatus() == TimesheetStatus.PENDING && filter.matches(t)) {
+                matched.add(t);
+            }
+        }
+        return matched;
+    }
+
+    // Decides copies of the timesheets, so the ones read from the repository are only replaced if the batch is written
+    private List<Timesheet> approveBatch(List<Timesheet> batch, int adminId) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Timesheet> decided = new ArrayList<>(batch.size());
+        for (Timesheet pending : batch) {
+            Timesheet t = DataPersistence.copy(pending);
+            t.setApprovalStatus(TimesheetStatus.APPROVED);
+            t.setApprovedByAdminId(adminId);
+            t.setApprovedHours(t.getTotalHours());
+            t.setApprovalDate(now);
+            decided.add(t);
+        }
+        return timesheets.updateAll(decided);
+    }
+
+    private List<Timesheet> rejectBatch(List<Timesheet> batch, int adminId, String reason) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Timesheet> decided = new ArrayList<>(batch.size());
+        for (Timesheet pending : batch) {
+            Timesheet t = DataPersistence.copy(pending);
+            t.setApprovalStatus(TimesheetStatus.REJECTED);
+            t.setApprovedByAdminId(adminId);
+            t.setRejectionReason(reason);
+            t.setApprovalDate(now);
+            decided.add(t);
+        }
+        return timesheets.updateAll(decided);
+    }
+
+    private List<Timesheet> findPending(Collection<Integer> timesheetIds) {
+        List<Timesheet> batch = new ArrayList<>(timesheetIds.size());
+        for (int id : new LinkedHashSet<>(timesheetIds)) {
+            timesheets.findById(id)
+                    .filter(t -> t.getApprovalStatus() == TimesheetStatus.PENDING)
+                    .ifPresent(batch::add);
+        }
+        return batch;
+    }
+
+    private void requireAdmin(int adminId) {
+        Role role = admins.findById(adminId).map(SystemAdmin::getRole).orElse(null);
+        if (role != Role.ADMIN && role != Role.SUPER_ADMIN) {
+            throw new IllegalArgumentException("Only administrators can approve or reject timesheets in bulk");
+        }
+    }
+
+    private List<Timesheet> findAll(Collection<Integer> timesheetIds) {
+        List<Timesheet> batch = new ArrayList<>(timesheetIds.size());
+        for (int id : timesheetIds) {
+            batch.add(timesheets.findById(id).orElseThrow());
+        }
+        return batch;
+    }
+    
     /**
      * Submit timesheet for a specific event
      */
     public Timesheet submitForEvent(int volunteerId, int eventId, String eventName) {
         // Find attendance record for this volunteer and event
-        Attendance attendanceRecord = attendance.findByVolunteer(volunteerId).stream()
-            .filter(a -> a.getEventId() == eventId)
+        Attendance attendanceRecord = attendance.findByVolunteerAndEvent(volunteerId, eventId).stream()
             .filter(a -> a.getCheckInTime() != null && a.getCheckOutTime() != null)
             .findFirst()
             .orElseThrow(() -> new RuntimeException("No completed attendance record found for this event"));
@@ -92,7 +262,44 @@ public class TimesheetService {
         return timesheets.delete(timesheetId);
     }
     
+    // Returns how many of the timesheets existed
+    public int deleteAll(Collection<Integer> timesheetIds) {
+        return timesheets.deleteAll(timesheetIds);
+    }
+    
+    public boolean hasTimesheetForEvent(int volunteerId, int eventId) {
+        return timesheets.existsByVolunteerAndEvent(volunteerId, eventId);
+    }
+    
     public List<Timesheet> listAll() {
         return timesheets.findAll();
     }
+
+    public Page<Timesheet> listPage(PageRequest request) {
+        return timesheets.findPage(request);
+    }
+
+    public Page<Timesheet> listPageByVolunteer(int volunteerId, PageRequest request) {
+        return timesheets.findPageByVolunteer(volunteerId, request);
+    }
+
+    public Page<Timesheet> listPageByStatus(TimesheetStatus status, PageRequest request) {
+        return timesheets.findPageByApprovalStatus(status, request);
+    }
+
+    public Page<Timesheet> listPendingPage(PageRequest request) {
+        return timesheets.findPendingApprovalsPage(request);
+    }
+
+    public List<Timesheet> listNewestFirst() {
+        return timesheets.findAllByCreatedDate();
+    }
+
+    public List<Timesheet> listByStatus(TimesheetStatus status) {
+        return timesheets.findByApprovalStatus(status);
+    }
+
+    public int countByStatus(TimesheetStatus status) {
+        return timesheets.countByApprovalStatus(status);
+    }
 }
@@ -0,0 +1,221 @@
+package com.fstgc.vms.service;
+
+import com.fstgc.vms.model.Attendance;
+import com.fstgc.vms.model.Award;
+import com.fstgc.vms.model.Volunteer;
+import com.fstgc.vms.repository.AttendanceRepository;
+import com.fstgc.vms.repository.AwardRepository;
+import com.fstgc.vms.repository.Leaderboard;
+import com.fstgc.vms.repository.VolunteerRepository;
+import com.fstgc.vms.util.DataPersistence;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-volunteer totals (hours, events attended, badges), read from the leaderboards the
+ * attendance and award repositories keep up to date as they write, instead of being
+ * recomputed from every record on each read. The attendance and award services report
+ * their writes so the events attended and badges earned stored on each Volunteer follow.
+ * One instance is shared by the whole application (see RepositoryRegistry.getAggregates()).
+ */
+public class VolunteerAggregates {
+    // Hours differing by less than this are treated as equal when checking for drift
+    private static final double HOURS_TOLERANCE = 0.005;
+    // Minutes between background drift checks; 0 turns them off
+    private static final long VERIFY_INTERVAL_MINUTES = Long.getLong("vms.aggregates.verifyMinutes", 60);
+
+    private final VolunteerRepository volunteers;
+    private final AttendanceRepository attendance;
+    private final AwardRepository awards;
+    private ScheduledExecutorService verifier;
+
+    public static class Totals {
+        private double hours;
+        private double completedHours;
+        private int eventsAttended;
+        private int badgesEarned;
+
+        Totals() {}
+
+        Totals(double hours, double completedHours, int eventsAttended, int badgesEarned) {
+            this.hours = round(hours);
+            this.completedHours = round(completedHours);
+            this.eventsAttended = eventsAttended;
+            this.badgesEarned = badgesEarned;
+        }
+
+        // Hours on all attendance records
+        public double getHours() { return hours; }
+        // Hours on records that were both checked in and checked out
+        public double getCompletedHours() { return completedHours; }
+        public int getEventsAttended() { return eventsAttended; }
+        public int getBadgesEarned() { return badgesEarned; }
+
+        private void add(Attendance a) {
+            hours = round(hours + a.getHoursWorked());
+            if (a.getCheckInTime() != null) {
+                eventsAttended++;
+                if (a.getCheckOutTime() != null) {
+                    completedHours = round(completedHours + a.getHoursWorked());
+                }
+            }
+        }
+
+        private static double round(double hours) {
+            return Math.round(hours * 100.0) / 100.0;
+        }
+    }
+
+    public VolunteerAggregates(VolunteerRepository volunteers, AttendanceRepository attendance, AwardRepository awards) {
+        this.volunteers = volunteers;
+        this.attendance = attendance;
+        this.awards = awards;
+        rebuild();
+    }
+
+    public Totals get(int volunteerId) {
+        return new Totals(attendance.hoursLeaderboard().scoreOf(volunteerId),
+                attendance.completedHoursLeaderboard().scoreOf(volunteerId),
+                (int) Math.round(attendance.eventsLeaderboard().scoreOf(volunteerId)),
+                (int) Math.round(awards.badgeLeaderboard().scoreOf(volunteerId)));
+    }
+
+    // Called once an attendance record has been saved or edited
+    public void recordAttendance(Attendance a) {
+        syncVolunteer(a.getVolunteerId());
+    }
+
+    // Called once an attendance record has been deleted
+    public void removeAttendance(Attendance a) {
+        syncVolunteer(a.getVolunteerId());
+    }
+
+    public void recordAward(Award award) {
+        syncVolunteer(award.getVolunteerId());
+    }
+
+    // Runs verify() every vms.aggregates.verifyMinutes on a daemon thread, reporting drift to stderr
+    public synchronized void startVerification() {
+        if (VERIFY_INTERVAL_MINUTES <= 0 || verifier != null) {
+            return;
+        }
+        verifier = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "vms-aggregate-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verifier.scheduleWithFixedDelay(() -> {
+            try {
+                verify().forEach(line -> System.err.println("Aggregate drift: " + line));
+            } catch (RuntimeException e) {
+                System.err.println("Aggregate verification failed: " + e.getMessage());
+            }
+        }, VERIFY_INTERVAL_MINUTES, VERIFY_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stopVerification() {
+        if (verifier != null) {
+            verifier.shutdownNow();
+            verifier = null;
+        }
+    }
+
+    /**
+     * Recomputes every total from the attendance and award records and compares the result
+     * with the leaderboards and the counts stored on each Volunteer. Returns one line per
+     * difference found; nothing is changed.
+     */
+    public List<String> verify() {
+        Map<Integer, Totals> expected = compute(attendance.findAll(), awards.findAll());
+        Map<Integer, Totals> maintained = maintained();
+        List<String> drift = new ArrayList<>();
+        Set<Integer> ids = new TreeSet<>(expected.keySet());
+        ids.addAll(maintained.keySet());
+        for (int id : ids) {
+            Totals want = expected.getOrDefault(id, new Totals());
+            Totals have = maintained.getOrDefault(id, new Totals());
+            if (Math.abs(want.hours - have.hours) > HOURS_TOLERANCE
+                    || Math.abs(want.completedHours - have.completedHours) > HOURS_TOLERANCE
+                    || want.eventsAttended != have.eventsAttended
+                    || want.badgesEarned != have.badgesEarned) {
+                drift.add(String.format("Volunteer %d: maintained %.2f hrs (%.2f completed), %d events, %d badges;"
+                                + " recomputed %.2f hrs (%.2f completed), %d events, %d badges",
+                        id, have.hours, have.completedHours, have.eventsAttended, have.badgesEarned,
+                        want.hours, want.completedHours, want.eventsAttended, want.badgesEarned));
+            }
+        }
+        for (Volunteer v : volunteers.findAll()) {
+            Totals want = expected.getOrDefault(v.getId(), new Totals());
+            if (v.getEventsAttended() != want.eventsAttended || v.getBadgesEarned() != want.badgesEarned) {
+                drift.add(String.format("Volunteer %d: stored %d events, %d badges; recomputed %d events, %d badges",
+                        v.getId(), v.getEventsAttended(), v.getBadgesEarned(), want.eventsAttended, want.badgesEarned));
+            }
+        }
+        return drift;
+    }
+
+    // Brings the counts stored on every Volunteer in line with the leaderboards, writing only those that differ.
+    // The corrected volunteers are copies, so the stored ones stay as they were if the batch fails
+    public void rebuild() {
+        Map<Integer, Totals> current = maintained();
+        List<Volunteer> changed = new ArrayList<>();
+        for (Volunteer v : volunteers.findAll()) {
+            Totals t = current.getOrDefault(v.getId(), new Totals());
+            if (v.getEventsAttended() != t.eventsAttended || v.getBadgesEarned() != t.badgesEarned) {
+                Volunteer corrected = DataPersistence.copy(v);
+                corrected.setEventsAttended(t.eventsAttended);
+                corrected.setBadgesEarned(t.badgesEarned);
+                changed.add(corrected);
+            }
+        }
+        if (!changed.isEmpty()) {
+            volunteers.updateAll(changed);
+        }
+    }
+
+    // Every volunteer's totals as the leaderboards hold them, one page read per leaderboard
+    private Map<Integer, Totals> maintained() {
+        Map<Integer, Totals> result = new HashMap<>();
+        for (Leaderboard.Entry e : all(attendance.hoursLeaderboard())) {
+            result.computeIfAbsent(e.getVolunteerId(), id -> new Totals()).hours = Totals.round(e.getScore());
+        }
+        for (Leaderboard.Entry e : all(attendance.completedHoursLeaderboard())) {
+            result.computeIfAbsent(e.getVolunteerId(), id -> new Totals()).completedHours = Totals.round(e.getScore());
+        }
+        for (Leaderboard.Entry e : all(attendance.eventsLeaderboard())) {
+            result.computeIfAbsent(e.getVolunteerId(), id -> new Totals()).eventsAttended = (int) Math.round(e.getScore());
+        }
+        for (Leaderboard.Entry e : all(awards.badgeLeaderboard())) {
+            result.computeIfAbsent(e.getVolunteerId(), id -> new Totals()).badgesEarned = (int) Math.round(e.getScore());
+        }
+        return result;
+    }
+
+    private static List<Leaderboard.Entry> all(Leaderboard leaderboard) {
+        return leaderboard.page(0, Integer.MAX_VALUE);
+    }
+
+    private static Map<Integer, Totals> compute(List<Attendance> records, List<Award> awarded) {
+        Map<Integer, Totals> result = new HashMap<>();
+        for (Attendance a : records) {
+            result.computeIfAbsent(a.getVolunteerId(), id -> new Totals()).add(a);
+        }
+        for (Award award : awarded) {
+            result.computeIfAbsent(award.getVolunteerId(), id -> new Totals()).badgesEarned++;
+        }
+        return result;
+    }
+
+    private void syncVolunteer(int volunteerId) {
+        volunteers.findById(volunteerId).ifPresent(v -> {
+            Totals t = get(v.getId());
+            if (v.getEventsAttended() != t.eventsAttended || v.getBadgesEarned() != t.badgesEarned) {
+                v.setEventsAttended(t.eventsAttended);
+                v.setBadgesEarned(t.badgesEarned);
+                volunteers.update(v);
+            }
+        });
+    }
+}
@@ -4,6 +4,8 @@ import com.fstgc.vms.model.Volunteer;
 import com.fstgc.vms.model.enums.BadgeTier;
 import com.fstgc.vms.model.enums.VolunteerStatus;
 import com.fstgc.vms.repository.AttendanceRepository;
+import com.fstgc.vms.repository.Page;
+import com.fstgc.vms.repository.PageRequest;
 import com.fstgc.vms.repository.VolunteerRepository;
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +13,7 @@ import java.util.Optional;
 public class VolunteerService {
     private final VolunteerRepository repository;
     private AttendanceRepository attendanceRepository;
+    private VolunteerAggregates aggregates;
 
     public VolunteerService(VolunteerRepository repository) {
         this.repository = repository;
@@ -21,6 +24,11 @@ public class VolunteerService {
         this.attendanceRepository = attendanceRepository;
     }
 
+    // Optional aggregate store; when set, totals are read from it instead of the attendance records
+    public void setAggregates(VolunteerAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
     public Volunteer register(Volunteer volunteer) {
         // Validate email format
         if (!isValidEmail(volunteer.getEmail())) {
@@ -121,6 +129,11 @@ public class VolunteerService {
     public Optional<Volunteer> getByEmail(String email) { return repository.findByEmail(email); }
 
     public List<Volunteer> list() { return repository.findAll(); }
+    public Page<Volunteer> listPage(PageRequest request) { return repository.findPage(request); }
+    public List<Volunteer> listByStatus(VolunteerStatus status) { return repository.filterByStatus(status); }
+    public Page<Volunteer> listPageByStatus(VolunteerStatus status, PageRequest request) { return repository.findPageByStatus(status, request); }
+    public int countByStatus(VolunteerStatus status) { return repository.countByStatus(status); }
+    public List<Volunteer> search(String query, int limit) { return repository.search(query, limit); }
     public void delete(int id) { repository.delete(id); }
     
     /**
@@ -128,7 +141,7 @@ public class VolunteerService {
      * Tiers: Bronze (10+ hours), Silver (50+ hours), Gold (100+ hours), Platinum (200+ hours)
      */
     public void updateVolunteerTier(int volunteerId) {
-        if (attendanceRepository == null) {
+        if (attendanceRepository == null && aggregates == null) {
             return; // Cannot calculate tier without attendance data
         }
         
@@ -139,11 +152,7 @@ public class VolunteerService {
         
         Volunteer volunteer = volunteerOpt.get();
         
-        // Calculate total hours from attendance records
-        double totalHours = attendanceRepository.findByVolunteer(volunteerId).stream()
-            .filter(a -> a.getCheckInTime() != null && a.getCheckOutTime() != null)
-            .mapToDouble(a -> a.getHoursWorked())
-            .sum();
+        double totalHours = getTotalHoursWorked(volunteerId);
         
         // Determine tier based on hours
         BadgeTier newTier = null;
@@ -168,6 +177,9 @@ public class VolunteerService {
      * Get total hours worked by volunteer from attendance records
      */
     public double getTotalHoursWorked(int volunteerId) {
+        if (aggregates != null) {
+            return aggregates.get(volunteerId).getCompletedHours();
+        }
         if (attendanceRepository == null) {
             return 0.0;
         }
@@ -177,4 +189,18 @@ public class VolunteerService {
             .mapToDouble(a -> a.getHoursWorked())
             .sum();
     }
+
+    /**
+     * Hours, events attended and badges for a volunteer from the aggregate store
+     */
+    public VolunteerAggregates.Totals getTotals(int volunteerId) {
+        return aggregates != null ? aggregates.get(volunteerId) : new VolunteerAggregates.Totals();
+    }
+
+    /**
+     * Recompute the aggregates from scratch and describe any differences from the maintained values
+     */
+    public List<String> verifyAggregates() {
+        return aggregates != null ? aggregates.verify() : List.of();
+    }
 }
@@ -9,7 +9,7 @@ import com.fstgc.vms.model.Event;
 
 import com.fstgc.vms.model.SystemAdmin;
 import com.fstgc.vms.model.enums.*;
-import com.fstgc.vms.repository.memory.*;
+import com.fstgc.vms.repository.*;
 import com.fstgc.vms.service.*;
 
 import javax.swing.*;
@@ -22,7 +22,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 public class SystemUI extends JFrame {
     private final VolunteerController volunteerController;
@@ -32,6 +37,7 @@ public class SystemUI extends JFrame {
     private final AnnouncementController announcementController;
     private final AwardController awardController;
     private final AuthenticationService authService;
+    private final RepositoryRegistry repositories;
 
     private JTabbedPane tabbedPane;
     private JPanel mainPanel;
@@ -46,21 +52,30 @@ public class SystemUI extends JFrame {
     private static final Color CARD_BG = Color.WHITE;
     private static final Color TEXT_PRIMARY = new Color(31, 41, 55);
     private static final Color TEXT_SECONDARY = new Color(107, 114, 128);
+    // Rows or cards shown per Load More in the volunteer, event and timesheet lists
+    private static final int LIST_PAGE_SIZE = 50;
 
-    public SystemUI(AuthenticationService authService) {
+    public SystemUI(AuthenticationService authService, RepositoryRegistry repositories) {
         this.authService = authService;
+        this.repositories = repositories;
         
         // Initialize services and controllers
-        InMemoryAttendanceRepository attendanceRepository = new InMemoryAttendanceRepository();
-        VolunteerService volunteerService = new VolunteerService(new InMemoryVolunteerRepository());
+        AttendanceRepository attendanceRepository = repositories.getAttendanceRepository();
+        VolunteerService volunteerService = new VolunteerService(repositories.getVolunteerRepository());
         volunteerService.setAttendanceRepository(attendanceRepository); // Enable tier calculation
-        InMemoryEventRepository eventRepository = new InMemoryEventRepository();
+        EventRepository eventRepository = repositories.getEventRepository();
         EventService eventService = new EventService(eventRepository);
-        InMemoryTimesheetRepository timesheetRepository = new InMemoryTimesheetRepository();
-        AttendanceService attendanceService = new AttendanceService(attendanceRepository, eventRepository, timesheetRepository);
-        TimesheetService timesheetService = new TimesheetService(timesheetRepository, attendanceRepository);
-        AnnouncementService announcementService = new AnnouncementService(new InMemoryAnnouncementRepository());
-        AwardService awardService = new AwardService(new InMemoryAwardRepository());
+        TimesheetRepository timesheetRepository = repositories.getTimesheetRepository();
+        AttendanceService attendanceService = new AttendanceService(attendanceRepository, eventRepository,
+            timesheetRepository, repositories.getEventCapacity(), repositories.getWaitlist(), repositories::beginWork);
+        TimesheetService timesheetService = new TimesheetService(timesheetRepository, attendanceRepository,
+            repositories.getAdminRepository());
+        AnnouncementService announcementService = new AnnouncementService(repositories.getAnnouncementRepository());
+        AwardService awardService = new AwardService(repositories.getAwardRepository());
+        VolunteerAggregates aggregates = repositories.getAggregates();
+        volunteerService.setAggregates(aggregates);
+        attendanceService.setAggregates(aggregates);
+        awardService.setAggregates(aggregates);
 
         this.volunteerController = new VolunteerController(volunteerService);
         this.eventController = new EventController(eventService);
@@ -198,7 +213,7 @@ public class SystemUI extends JFrame {
                         LoginDialog loginDialog = new LoginDialog(null, authService);
                         loginDialog.setVisible(true);
                         if (loginDialog.isAuthenticated()) {
-                            SystemUI gui = new SystemUI(authService);
+                            SystemUI gui = new SystemUI(authService, repositories);
                             gui.launch();
                         } else {
                             System.exit(0);
@@ -268,10 +283,8 @@ public class SystemUI extends JFrame {
             badgesLabel = "Total Badges (All Users)";
             
             // Check badges for all volunteers when admin views dashboard
-            for (Volunteer vol : volunteers) {
-                if (vol.getStatus() == VolunteerStatus.ACTIVE) {
-                    checkAndAwardBadges(vol.getId());
-                }
+            for (Volunteer vol : volunteerController.listByStatus(VolunteerStatus.ACTIVE)) {
+                checkAndAwardBadges(vol.getId());
             }
         } else {
             // Volunteers and Coordinators see their personal stats
@@ -652,6 +665,42 @@ public class SystemUI extends JFrame {
         return table;
     }
 
+    /**
+     * Fills a list one page at a time, starting from the first request: items the filter
+     * accepts are passed to show, and further pages are read until a page's worth has been
+     * shown or none are left. The returned button shows the next page and hides itself once
+     * everything is shown; the first page is shown before it is returned.
+     */
+    private <T> JButton createLoadMoreButton(Function<PageRequest, Page<T>> fetch, PageRequest first,
+                                             Predicate<T> filter, Consumer<T> show) {
+        JButton loadMore = createModernButton("Load More", TEXT_SECONDARY);
+        PageRequest[] next = {first};
+        Runnable load = () -> {
+            int shown = 0;
+            while (next[0] != null && shown < first.getLimit()) {
+                Page<T> page = fetch.apply(next[0]);
+                for (T item : page.getItems()) {
+                    if (filter.test(item)) {
+                        show.accept(item);
+                        shown++;
+                    }
+                }
+                next[0] = page.nextRequest();
+            }
+            loadMore.setVisible(next[0] != null);
+        };
+        loadMore.addActionListener(e -> {
+            load.run();
+            JRootPane root = SwingUtilities.getRootPane(loadMore);
+            if (root != null) {
+                root.revalidate();
+                root.repaint();
+            }
+        });
+        load.run();
+        return loadMore;
+    }
+
     private JPanel createVolunteerPanel() {
         JPanel panel = new JPanel(new BorderLayout(15, 15));
         panel.setBackground(GRAY_BG);
@@ -768,22 +817,22 @@ public class SystemUI extends JFrame {
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(null);
 
-        // Populate table
-        List<Volunteer> volunteers = volunteerController.listAll();
-        for (Volunteer v : volunteers) {
-            String auditInfo = v.getLastModifiedBy() != null ? 
-                v.getLastModifiedBy() + " (" + (v.getLastModifiedDate() != null ? 
-                v.getLastModifiedDate().toLocalDate().toString() : "N/A") + ")" : "N/A";
-            tableModel.addRow(new Object[]{
-                v.getId(),
-                v.getFirstName() + " " + v.getLastName(),
-                v.getEmail(),
-                v.getPhone(),
-                String.format("%.1f hrs", calculateTotalHours(v.getId())),
-                v.getStatus(),
-                auditInfo
+        // Populate table a page at a time, in id order
+        JButton loadMoreBtn = createLoadMoreButton(volunteerController::listPage,
+            PageRequest.of(0, LIST_PAGE_SIZE), v -> true, v -> {
+                String auditInfo = v.getLastModifiedBy() != null ? 
+                    v.getLastModifiedBy() + " (" + (v.getLastModifiedDate() != null ? 
+                    v.getLastModifiedDate().toLocalDate().toString() : "N/A") + ")" : "N/A";
+                tableModel.addRow(new Object[]{
+                    v.getId(),
+                    v.getFirstName() + " " + v.getLastName(),
+                    v.getEmail(),
+                    v.getPhone(),
+                    String.format("%.1f hrs", calculateTotalHours(v.getId())),
+                    v.getStatus(),
+                    auditInfo
+                });
             });
-        }
 
         // Action buttons for admins
         JPanel actionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
@@ -835,6 +884,7 @@ public class SystemUI extends JFrame {
             showChangeVolunteerStatusDialog(id);
         });
 
+        actionsPanel.add(loadMoreBtn);
         actionsPanel.add(statusBtn);
         actionsPanel.add(editBtn);
         actionsPanel.add(deleteBtn);
@@ -1136,22 +1186,18 @@ public class SystemUI extends JFrame {
     }
     
     private int getBadgesEarnedCount(int volunteerId) {
-        // Get actual badge count from award records
-        return awardController.getAwardsByVolunteer(volunteerId).size();
+        // Badge count maintained as awards are assigned
+        return volunteerController.getTotals(volunteerId).getBadgesEarned();
     }
     
     private double calculateTotalHours(int volunteerId) {
-        // Calculate total hours from all attendance records for this volunteer
-        return attendanceController.byVolunteer(volunteerId).stream()
-            .mapToDouble(a -> a.getHoursWorked())
-            .sum();
+        // Hours from all attendance records, maintained as attendance is recorded and edited
+        return volunteerController.getTotals(volunteerId).getHours();
     }
     
     private int calculateEventsAttended(int volunteerId) {
-        // Calculate total events attended from attendance records for this volunteer
-        return (int) attendanceController.byVolunteer(volunteerId).stream()
-            .filter(a -> a.getCheckInTime() != null)
-            .count();
+        // Events checked in to, maintained as attendance is recorded and deleted
+        return volunteerController.getTotals(volunteerId).getEventsAttended();
     }
 
     private JPanel createEventPanel() {
@@ -1184,201 +1230,86 @@ public class SystemUI extends JFrame {
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         contentPanel.setBackground(GRAY_BG);
         
-        // Get all events and separate them
-        List<com.fstgc.vms.model.Event> allEvents = eventController.listAll();
         LocalDate today = LocalDate.now();
         boolean isAdmin = (currentRole == Role.ADMIN || currentRole == Role.SUPER_ADMIN);
         
-        // For non-admin users, show their registered events first
-        if (!isAdmin) {
-            // Get current volunteer's ID
-            Volunteer currentVol = volunteerController.listAll().stream()
-                .filter(v -> v.getEmail().equals(authService.getCurrentUser().getEmail()))
-                .findFirst()
-                .orElse(null);
-            
-            if (currentVol != null) {
-                // Get attendance records for this volunteer (these represent registrations)
-                List<Attendance> myAttendances = attendanceController.byVolunteer(currentVol.getId());
-                List<Integer> registeredEventIds = myAttendances.stream()
-                    .map(Attendance::getEventId)
-                    .toList();
-                
-                List<com.fstgc.vms.model.Event> myRegisteredEvents = allEvents.stream()
-                    .filter(e -> registeredEventIds.contains(e.getEventId()))
-                    .filter(e -> !e.getEventDate().isBefore(today)) // Only upcoming
-                    .filter(e -> e.getStatus() != EventStatus.COMPLETED && e.getStatus() != EventStatus.CANCELLED)
-                    .sorted((e1, e2) -> e1.getEventDate().compareTo(e2.getEventDate()))
-                    .toList();
-                
-                if (!myRegisteredEvents.isEmpty()) {
-                    JLabel myEventsLabel = new JLabel("✓ My Registered Events");
-                    myEventsLabel.setFont(getEmojiFont(20).deriveFont(Font.BOLD));
-                    myEventsLabel.setForeground(GREEN);
-                    myEventsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                    myEventsLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-                    contentPanel.add(myEventsLabel);
-                    
-                    JPanel myEventsGrid = new JPanel(new GridLayout(0, 3, 15, 15));
-                    myEventsGrid.setBackground(GRAY_BG);
-                    myEventsGrid.setAlignmentX(Component.LEFT_ALIGNMENT);
-                    for (com.fstgc.vms.model.Event event : myRegisteredEvents) {
-                        myEventsGrid.add(createEventCard(event));
-                    }
-                    contentPanel.add(myEventsGrid);
-                    contentPanel.add(Box.createVerticalStrut(30));
-                }
-            }
-        }
-        
-        // Get registered event IDs for filtering (only for non-admin users)
+        // Events the current volunteer is registered for (their attendance records), for non-admin users
         List<Integer> registeredEventIds = new ArrayList<>();
         if (!isAdmin) {
-            Volunteer currentVol = volunteerController.listAll().stream()
-                .filter(v -> v.getEmail().equals(authService.getCurrentUser().getEmail()))
-                .findFirst()
-                .orElse(null);
+            Volunteer currentVol = volunteerController.getByEmail(authService.getCurrentUser().getEmail()).orElse(null);
             if (currentVol != null) {
-                List<Attendance> myAttendances = attendanceController.byVolunteer(currentVol.getId());
-                registeredEventIds = myAttendances.stream()
+                registeredEventIds = attendanceController.byVolunteer(currentVol.getId()).stream()
                     .map(Attendance::getEventId)
                     .toList();
             }
         }
         
-        final List<Integer> finalRegisteredEventIds = registeredEventIds;
-        List<com.fstgc.vms.model.Event> upcomingEvents = allEvents.stream()
-            .filter(e -> !e.getEventDate().isBefore(today))
-            .filter(e -> e.getStatus() != EventStatus.COMPLETED && e.getStatus() != EventStatus.CANCELLED)
-            .filter(e -> {
-                // For non-admin users, hide events at full capacity OR already registered for
-                if (!isAdmin) {
-                    // Hide if already registered
-                    if (finalRegisteredEventIds.contains(e.getEventId())) {
-                        return false;
-                    }
-                    // Hide if at full capacity
-                    int totalCapacity = e.getCapacity() + e.getCurrentRegistrations();
-                    return e.getCurrentRegistrations() < totalCapacity;
-                }
-                // Admins see all events
-                return true;
-            })
-            .sorted((e1, e2) -> e1.getEventDate().compareTo(e2.getEventDate()))
-            .toList();
-            
-        // Combine past and completed events into one list
-        List<com.fstgc.vms.model.Event> pastAndCompletedEvents = allEvents.stream()
-            .filter(e -> e.getEventDate().isBefore(today) || e.getStatus() == EventStatus.COMPLETED)
-            .filter(e -> e.getStatus() != EventStatus.CANCELLED)
-            .sorted((e1, e2) -> e2.getEventDate().compareTo(e1.getEventDate())) // Most recent first
-            .toList();
+        // For non-admin users, show their registered events first
+        if (!registeredEventIds.isEmpty()) {
+            List<com.fstgc.vms.model.Event> myRegisteredEvents = registeredEventIds.stream()
+                .distinct()
+                .map(eventController::get)
+                .filter(e -> e != null && e.getEventDate() != null)
+                .filter(e -> !e.getEventDate().isBefore(today)) // Only upcoming
+                .filter(e -> e.getStatus() != EventStatus.COMPLETED && e.getStatus() != EventStatus.CANCELLED)
+                .sorted(java.util.Comparator.comparing(com.fstgc.vms.model.Event::getEventDate))
+                .toList();
             
-        List<com.fstgc.vms.model.Event> cancelledEvents = allEvents.stream()
-            .filter(e -> e.getStatus() == EventStatus.CANCELLED)
-            .sorted((e1, e2) -> e2.getEventDate().compareTo(e1.getEventDate())) // Most recent first
-            .toList();
+            if (!myRegisteredEvents.isEmpty()) {
+                JLabel myEventsLabel = new JLabel("✓ My Registered Events");
+                myEventsLabel.setFont(getEmojiFont(20).deriveFont(Font.BOLD));
+                myEventsLabel.setForeground(GREEN);
+                myEventsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+                myEventsLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
+                contentPanel.add(myEventsLabel);
+                
+                JPanel myEventsGrid = new JPanel(new GridLayout(0, 3, 15, 15));
+                myEventsGrid.setBackground(GRAY_BG);
+                myEventsGrid.setAlignmentX(Component.LEFT_ALIGNMENT);
+                for (com.fstgc.vms.model.Event event : myRegisteredEvents) {
+                    myEventsGrid.add(createEventCard(event));
+                }
+                contentPanel.add(myEventsGrid);
+                contentPanel.add(Box.createVerticalStrut(30));
+            }
+        }
         
         // Create horizontal layout with 3 columns (Upcoming, Past/Completed, Cancelled)
         JPanel horizontalSections = new JPanel(new GridLayout(1, 3, 15, 0));
         horizontalSections.setBackground(GRAY_BG);
         horizontalSections.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
         
-        // Upcoming Events Section
-        JPanel upcomingSection = new JPanel();
-        upcomingSection.setLayout(new BoxLayout(upcomingSection, BoxLayout.Y_AXIS));
-        upcomingSection.setBackground(GRAY_BG);
+        // Each column reads its events a page at a time
+        PageRequest firstPage = PageRequest.of(0, LIST_PAGE_SIZE);
         
+        // Upcoming: earliest first, starting from today; non-admin users don't see events they are
+        // registered for here, while full events stay visible so they can join the waitlist
+        final List<Integer> finalRegisteredEventIds = registeredEventIds;
         JLabel upcomingLabel = new JLabel("📅 Upcoming");
         upcomingLabel.setFont(getEmojiFont(14).deriveFont(Font.BOLD));
         upcomingLabel.setForeground(TEXT_PRIMARY);
-        upcomingLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        upcomingLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-        upcomingSection.add(upcomingLabel);
-        
-        if (upcomingEvents.isEmpty()) {
-            JLabel noUpcomingLabel = new JLabel("No upcoming events");
-            noUpcomingLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
-            noUpcomingLabel.setForeground(TEXT_SECONDARY);
-            noUpcomingLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            upcomingSection.add(noUpcomingLabel);
-        } else {
-            JPanel upcomingGrid = new JPanel(new GridLayout(0, 1, 0, 15));
-            upcomingGrid.setBackground(GRAY_BG);
-            upcomingGrid.setAlignmentX(Component.LEFT_ALIGNMENT);
-            for (com.fstgc.vms.model.Event event : upcomingEvents) {
-                upcomingGrid.add(createEventCard(event));
-            }
-            JScrollPane upcomingScroll = new JScrollPane(upcomingGrid);
-            upcomingScroll.setBorder(null);
-            upcomingScroll.setBackground(GRAY_BG);
-            upcomingScroll.getVerticalScrollBar().setUnitIncrement(16);
-            upcomingSection.add(upcomingScroll);
-        }
-        
-        // Past & Completed Events Section (combined)
-        JPanel pastCompletedSection = new JPanel();
-        pastCompletedSection.setLayout(new BoxLayout(pastCompletedSection, BoxLayout.Y_AXIS));
-        pastCompletedSection.setBackground(GRAY_BG);
+        JPanel upcomingSection = createEventColumn(upcomingLabel, "No upcoming events", eventController::listPage,
+            firstPage.orderedBy(PageRequest.Order.DATE).after(new Page.Cursor(PageRequest.Order.DATE, today, 0)),
+            e -> e.getEventDate() != null
+                && e.getStatus() != EventStatus.COMPLETED && e.getStatus() != EventStatus.CANCELLED
+                && !finalRegisteredEventIds.contains(e.getEventId()));
         
+        // Past & Completed (combined), most recent first
         JLabel pastCompletedLabel = new JLabel("📚 Past & Completed");
         pastCompletedLabel.setFont(getEmojiFont(14).deriveFont(Font.BOLD));
         pastCompletedLabel.setForeground(TEXT_PRIMARY);
-        pastCompletedLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        pastCompletedLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-        pastCompletedSection.add(pastCompletedLabel);
-        
-        if (pastAndCompletedEvents.isEmpty()) {
-            JLabel noPastCompletedLabel = new JLabel("No past or completed events");
-            noPastCompletedLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
-            noPastCompletedLabel.setForeground(TEXT_SECONDARY);
-            noPastCompletedLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            pastCompletedSection.add(noPastCompletedLabel);
-        } else {
-            JPanel pastCompletedGrid = new JPanel(new GridLayout(0, 1, 0, 15));
-            pastCompletedGrid.setBackground(GRAY_BG);
-            pastCompletedGrid.setAlignmentX(Component.LEFT_ALIGNMENT);
-            for (com.fstgc.vms.model.Event event : pastAndCompletedEvents) {
-                pastCompletedGrid.add(createEventCard(event));
-            }
-            JScrollPane pastCompletedScroll = new JScrollPane(pastCompletedGrid);
-            pastCompletedScroll.setBorder(null);
-            pastCompletedScroll.setBackground(GRAY_BG);
-            pastCompletedScroll.getVerticalScrollBar().setUnitIncrement(16);
-            pastCompletedSection.add(pastCompletedScroll);
-        }
-        
-        // Cancelled Events Section
-        JPanel cancelledSection = new JPanel();
-        cancelledSection.setLayout(new BoxLayout(cancelledSection, BoxLayout.Y_AXIS));
-        cancelledSection.setBackground(GRAY_BG);
+        JPanel pastCompletedSection = createEventColumn(pastCompletedLabel, "No past or completed events",
+            eventController::listPage, firstPage.orderedBy(PageRequest.Order.DATE_DESC),
+            e -> e.getStatus() != EventStatus.CANCELLED
+                && (e.getStatus() == EventStatus.COMPLETED || (e.getEventDate() != null && e.getEventDate().isBefore(today))));
         
+        // Cancelled, most recent first
         JLabel cancelledLabel = new JLabel("❌ Cancelled");
         cancelledLabel.setFont(getEmojiFont(12).deriveFont(Font.BOLD));
         cancelledLabel.setForeground(new Color(239, 68, 68));
-        cancelledLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        cancelledLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-        cancelledSection.add(cancelledLabel);
-        
-        if (cancelledEvents.isEmpty()) {
-            JLabel noCancelledLabel = new JLabel("No cancelled events");
-            noCancelledLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
-            noCancelledLabel.setForeground(TEXT_SECONDARY);
-            noCancelledLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            cancelledSection.add(noCancelledLabel);
-        } else {
-            JPanel cancelledGrid = new JPanel(new GridLayout(0, 1, 0, 15));
-            cancelledGrid.setBackground(GRAY_BG);
-            cancelledGrid.setAlignmentX(Component.LEFT_ALIGNMENT);
-            for (com.fstgc.vms.model.Event event : cancelledEvents) {
-                cancelledGrid.add(createEventCard(event));
-            }
-            JScrollPane cancelledScroll = new JScrollPane(cancelledGrid);
-            cancelledScroll.setBorder(null);
-            cancelledScroll.setBackground(GRAY_BG);
-            cancelledScroll.getVerticalScrollBar().setUnitIncrement(16);
-            cancelledSection.add(cancelledScroll);
-        }
+        JPanel cancelledSection = createEventColumn(cancelledLabel, "No cancelled events",
+            request -> eventController.listPageByStatus(EventStatus.CANCELLED, request),
+            firstPage.orderedBy(PageRequest.Order.DATE_DESC), e -> true);
         
         // Add all sections to horizontal layout
         horizontalSections.add(upcomingSection);
@@ -1397,6 +1328,42 @@ public class SystemUI extends JFrame {
         return panel;
     }
     
+    // One column of event cards under its label, filled a page at a time with a Load More button
+    private JPanel createEventColumn(JLabel label, String emptyText,
+                                     Function<PageRequest, Page<com.fstgc.vms.model.Event>> fetch,
+                                     PageRequest first, Predicate<com.fstgc.vms.model.Event> filter) {
+        JPanel section = new JPanel();
+        section.setLayout(new BoxLayout(section, BoxLayout.Y_AXIS));
+        section.setBackground(GRAY_BG);
+        
+        label.setAlignmentX(Component.LEFT_ALIGNMENT);
+        label.setBorder(new EmptyBorder(0, 0, 10, 0));
+        section.add(label);
+        
+        JPanel grid = new JPanel(new GridLayout(0, 1, 0, 15));
+        grid.setBackground(GRAY_BG);
+        grid.setAlignmentX(Component.LEFT_ALIGNMENT);
+        JButton loadMoreBtn = createLoadMoreButton(fetch, first, filter, event -> grid.add(createEventCard(event)));
+        
+        if (grid.getComponentCount() == 0) {
+            JLabel emptyLabel = new JLabel(emptyText);
+            emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
+            emptyLabel.setForeground(TEXT_SECONDARY);
+            emptyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            section.add(emptyLabel);
+        } else {
+            JScrollPane scroll = new JScrollPane(grid);
+            scroll.setBorder(null);
+            scroll.setBackground(GRAY_BG);
+            scroll.getVerticalScrollBar().setUnitIncrement(16);
+            scroll.setAlignmentX(Component.LEFT_ALIGNMENT);
+            section.add(scroll);
+            loadMoreBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
+            section.add(loadMoreBtn);
+        }
+        return section;
+    }
+    
     private JPanel createEventCard(com.fstgc.vms.model.Event event) {
         JPanel card = createModernCard();
         card.setLayout(new BorderLayout(10, 10));
@@ -1546,16 +1513,39 @@ public class SystemUI extends JFrame {
             buttonPanel.add(deleteBtn);
         }
         
-        // Register button for all roles except SUPER_ADMIN (if event is upcoming and not at capacity)
+        // Register button for all roles except SUPER_ADMIN (if event is upcoming); a full event offers its waitlist
         if (currentRole != Role.SUPER_ADMIN) {
             LocalDate today = LocalDate.now();
             boolean canRegister = !event.getEventDate().isBefore(today) && 
-                                 event.getCurrentRegistrations() < totalCapacity &&
                                  event.getStatus() != EventStatus.CANCELLED &&
                                  event.getStatus() != EventStatus.COMPLETED;
             
-            if (canRegister) {
-                JButton registerBtn = new JButton("Register");
+            // A volunteer already on the waitlist sees their place in line instead
+            int waitlistPosition = canRegister
+                ? volunteerController.getByEmail(authService.getCurrentUser().getEmail())
+                    .map(v -> attendanceController.waitlistPosition(v.getId(), event.getEventId()))
+                    .orElse(0)
+                : 0;
+            
+            if (waitlistPosition > 0) {
+                JLabel positionLabel = new JLabel("Waitlist #" + waitlistPosition);
+                positionLabel.setFont(new Font("Segoe UI", Font.BOLD, 11));
+                positionLabel.setForeground(ORANGE);
+                
+                JButton leaveBtn = new JButton("Leave Waitlist");
+                leaveBtn.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+                leaveBtn.setForeground(ORANGE);
+                leaveBtn.setBackground(Color.WHITE);
+                leaveBtn.setBorder(BorderFactory.createLineBorder(ORANGE, 1));
+                leaveBtn.setFocusPainted(false);
+                leaveBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
+                leaveBtn.addActionListener(e -> leaveWaitlist(event.getEventId()));
+                
+                buttonPanel.add(positionLabel);
+                buttonPanel.add(leaveBtn);
+            } else if (canRegister) {
+                boolean full = event.getCurrentRegistrations() >= totalCapacity;
+                JButton registerBtn = new JButton(full ? "Join Waitlist" : "Register");
                 registerBtn.setFont(new Font("Segoe UI", Font.BOLD, 11));
                 registerBtn.setForeground(Color.WHITE);
                 registerBtn.setBackground(GREEN);
@@ -1698,19 +1688,32 @@ public class SystemUI extends JFrame {
         JButton cancelBtn = createModernButton("Cancel", TEXT_SECONDARY);
         cancelBtn.addActionListener(e -> dialog.dispose());
         
+        // The capacity field shows the free places at this moment; saving applies the difference
+        int shownCapacity = event.getCapacity();
         JButton saveBtn = createModernButton("Save Changes", PRIMARY_BLUE);
         saveBtn.addActionListener(e -> {
             try {
                 DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("MM-dd-yyyy");
-                event.setTitle(titleField.getText());
-                event.setEventDate(LocalDate.parse(dateField.getText(), inputFormatter));
-                event.setLocation(locationField.getText());
-                event.setCapacity(Integer.parseInt(capacityField.getText()));
-                event.setEventType((EventType) typeCombo.getSelectedItem());
-                event.setLastModifiedBy(authService.getCurrentUser().getUsername());
-                event.setLastModifiedDate(LocalDateTime.now());
+                String title = titleField.getText();
+                LocalDate date = LocalDate.parse(dateField.getText(), inputFormatter);
+                String location = locationField.getText();
+                int newCapacity = Integer.parseInt(capacityField.getText());
+                if (newCapacity < 0) {
+                    throw new IllegalArgumentException("Capacity must be >= 0");
+                }
+                EventType type = (EventType) typeCombo.getSelectedItem();
+                String modifiedBy = authService.getCurrentUser().getUsername();
                 
-                eventController.update(event);
+                // Applied to the current event under its lock, so places taken while the dialog was open are kept;
+                // a raised capacity goes to volunteers on the waitlist first
+                attendanceController.updateEvent(eventId, newCapacity - shownCapacity, current -> {
+                    current.setTitle(title);
+                    current.setEventDate(date);
+                    current.setLocation(location);
+                    current.setEventType(type);
+                    current.setLastModifiedBy(modifiedBy);
+                    current.setLastModifiedDate(LocalDateTime.now());
+                });
                 JOptionPane.showMessageDialog(dialog, 
                     "Event updated successfully!",
                     "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -1782,11 +1785,14 @@ public class SystemUI extends JFrame {
         saveBtn.addActionListener(e -> {
             try {
                 EventStatus newStatus = (EventStatus) statusCombo.getSelectedItem();
-                event.setStatus(newStatus);
-                event.setLastModifiedBy(authService.getCurrentUser().getUsername());
-                event.setLastModifiedDate(LocalDateTime.now());
+                String modifiedBy = authService.getCurrentUser().getUsername();
                 
-                eventController.update(event);
+                // Written under the event's lock, so it cannot overwrite a registration made meanwhile
+                attendanceController.updateEvent(event.getEventId(), 0, current -> {
+                    current.setStatus(newStatus);
+                    current.setLastModifiedBy(modifiedBy);
+                    current.setLastModifiedDate(LocalDateTime.now());
+                });
                 JOptionPane.showMessageDialog(dialog, 
                     "Event status updated to " + newStatus + "!",
                     "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -1816,23 +1822,17 @@ public class SystemUI extends JFrame {
             return;
         }
         
-        // Check if event is at capacity
+        // A full event offers a place on its waitlist instead
         int totalCapacity = event.getCapacity() + event.getCurrentRegistrations();
-        if (event.getCurrentRegistrations() >= totalCapacity) {
-            JOptionPane.showMessageDialog(this, 
-                "Sorry, this event is at full capacity.", 
-                "Event Full", 
-                JOptionPane.WARNING_MESSAGE);
-            refreshAllPanels();
-            return;
-        }
+        boolean full = event.getCurrentRegistrations() >= totalCapacity;
         
         // Confirm registration
         int confirm = JOptionPane.showConfirmDialog(this,
-            "Register for event: " + event.getTitle() + "?\n" +
+            (full ? "This event is at full capacity.\nJoin the waitlist for: " : "Register for event: ")
+                + event.getTitle() + "?\n" +
             "Date: " + event.getEventDate() + "\n" +
             "Location: " + event.getLocation(),
-            "Confirm Registration",
+            full ? "Join Waitlist" : "Confirm Registration",
             JOptionPane.YES_NO_OPTION,
             JOptionPane.QUESTION_MESSAGE);
             
@@ -1864,10 +1864,37 @@ public class SystemUI extends JFrame {
                 return;
             }
             
+            int position = attendanceController.waitlistPosition(currentVol.getId(), eventId);
+            if (position > 0) {
+                JOptionPane.showMessageDialog(this, 
+                    "You are already number " + position + " on the waitlist for this event.", 
+                    "Already on Waitlist", 
+                    JOptionPane.WARNING_MESSAGE);
+                refreshAllPanels();
+                return;
+            }
+            
             // Create attendance record to track registration
             // This will also increment registration count and decrease capacity
             // For event registration, record 0 hours initially - they can update later
-            attendanceController.recordAttendance(currentVol.getId(), eventId, 0.0);
+            // If the event filled up meanwhile the volunteer is put on its waitlist
+            AttendanceService.SignUp signUp;
+            try {
+                signUp = attendanceController.recordOrWaitlist(currentVol.getId(), eventId, 0.0);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Registration Failed", JOptionPane.WARNING_MESSAGE);
+                refreshAllPanels();
+                return;
+            }
+            if (signUp.isWaitlisted()) {
+                JOptionPane.showMessageDialog(this, 
+                    "You are number " + signUp.getWaitlistPosition() + " on the waitlist for " + event.getTitle() + ".\n" +
+                    "You will be registered automatically when a place frees up.",
+                    "Added to Waitlist", 
+                    JOptionPane.INFORMATION_MESSAGE);
+                refreshAllPanels();
+                return;
+            }
             
             // Refresh event to get updated counts
             event = eventController.get(eventId);
@@ -1889,6 +1916,33 @@ public class SystemUI extends JFrame {
         }
     }
     
+    private void leaveWaitlist(int eventId) {
+        Event event = eventController.get(eventId);
+        Volunteer currentVol = volunteerController.getByEmail(authService.getCurrentUser().getEmail()).orElse(null);
+        if (event == null || currentVol == null) {
+            JOptionPane.showMessageDialog(this, "Event or volunteer profile not found!", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Leave the waitlist for: " + event.getTitle() + "?\n" +
+            "You will lose your place in line.",
+            "Leave Waitlist",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        
+        // The volunteer may have been given a place in the meantime
+        if (attendanceController.leaveWaitlist(currentVol.getId(), eventId)) {
+            JOptionPane.showMessageDialog(this, "You have left the waitlist for " + event.getTitle() + ".", "Left Waitlist", JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(this, "You are no longer on the waitlist for this event.", "Leave Waitlist", JOptionPane.WARNING_MESSAGE);
+        }
+        refreshAllPanels();
+    }
+    
     private void deleteEvent(int eventId) {
         if (eventController.delete(eventId)) {
             JOptionPane.showMessageDialog(this, "Event deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -2072,9 +2126,8 @@ public class SystemUI extends JFrame {
         }
         
         // Get published and completed events for dropdown
-        List<Event> availableEvents = eventController.listAll().stream()
+        List<Event> availableEvents = eventController.listByDate().stream()
             .filter(e -> e.getStatus() == EventStatus.PUBLISHED || e.getStatus() == EventStatus.COMPLETED)
-            .sorted((e1, e2) -> e1.getEventDate().compareTo(e2.getEventDate()))
             .collect(java.util.stream.Collectors.toList());
         
         // Create event dropdown with custom display
@@ -2199,103 +2252,36 @@ public class SystemUI extends JFrame {
         }
         
         headerPanel.add(titleLabel, BorderLayout.WEST);
-        headerPanel.add(createBtn, BorderLayout.EAST);
+        boolean isAdmin = (currentRole == Role.ADMIN || currentRole == Role.SUPER_ADMIN);
+        if (!isAdmin) {
+            headerPanel.add(createBtn, BorderLayout.EAST);
+        } else {
+            JButton bulkBtn = createModernButton("Bulk Approve / Reject", ORANGE);
+            bulkBtn.addActionListener(e -> showBulkTimesheetDialog());
+            JPanel actionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+            actionsPanel.setBackground(GRAY_BG);
+            actionsPanel.add(bulkBtn);
+            actionsPanel.add(createBtn);
+            headerPanel.add(actionsPanel, BorderLayout.EAST);
+        }
         
         panel.add(headerPanel, BorderLayout.NORTH);
 
-        // Get all timesheets and filter by role
-        List<Timesheet> allTimesheets = timesheetController.listAll();
-        if (currentRole == Role.VOLUNTEER) {
-            int currentUserId = authService.getCurrentUser().getId();
-            allTimesheets = allTimesheets.stream()
-                .filter(ts -> ts.getVolunteerId() == currentUserId)
-                .toList();
-        }
-        
-        // Separate into pending, approved, and rejected
-        List<Timesheet> pendingTimesheets = allTimesheets.stream()
-            .filter(ts -> ts.getApprovalStatus() == TimesheetStatus.PENDING)
-            .sorted((ts1, ts2) -> ts2.getCreatedDate().compareTo(ts1.getCreatedDate()))
-            .toList();
-            
-        List<Timesheet> approvedTimesheets = allTimesheets.stream()
-            .filter(ts -> ts.getApprovalStatus() == TimesheetStatus.APPROVED)
-            .sorted((ts1, ts2) -> ts2.getCreatedDate().compareTo(ts1.getCreatedDate()))
-            .toList();
-            
-        List<Timesheet> rejectedTimesheets = allTimesheets.stream()
-            .filter(ts -> ts.getApprovalStatus() == TimesheetStatus.REJECTED)
-            .sorted((ts1, ts2) -> ts2.getCreatedDate().compareTo(ts1.getCreatedDate()))
-            .toList();
-        
         // Create main content panel with sections
         JPanel contentPanel = new JPanel();
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         contentPanel.setBackground(GRAY_BG);
         
-        // Pending Section
-        JLabel pendingLabel = new JLabel("⏳ Pending Timesheets (" + pendingTimesheets.size() + ")");
-        pendingLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
-        pendingLabel.setForeground(ORANGE);
-        pendingLabel.setBorder(new EmptyBorder(10, 0, 10, 0));
-        contentPanel.add(pendingLabel);
-        
-        JPanel pendingGrid = new JPanel(new GridLayout(0, 3, 15, 15));
-        pendingGrid.setBackground(GRAY_BG);
-        for (Timesheet ts : pendingTimesheets) {
-            pendingGrid.add(createTimesheetCard(ts));
-        }
-        if (pendingTimesheets.isEmpty()) {
-            JLabel emptyLabel = new JLabel("No pending timesheets");
-            emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
-            emptyLabel.setForeground(TEXT_SECONDARY);
-            pendingGrid.add(emptyLabel);
-        }
-        contentPanel.add(pendingGrid);
-        
+        // Pending, approved and rejected sections, each newest first and read a page at a time
+        boolean ownOnly = currentRole == Role.VOLUNTEER;
+        addTimesheetSection(contentPanel, TimesheetStatus.PENDING, "⏳ Pending Timesheets", ORANGE,
+            "No pending timesheets", ownOnly);
         contentPanel.add(Box.createVerticalStrut(30));
-        
-        // Approved Section
-        JLabel approvedLabel = new JLabel("✓ Approved Timesheets (" + approvedTimesheets.size() + ")");
-        approvedLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
-        approvedLabel.setForeground(GREEN);
-        approvedLabel.setBorder(new EmptyBorder(10, 0, 10, 0));
-        contentPanel.add(approvedLabel);
-        
-        JPanel approvedGrid = new JPanel(new GridLayout(0, 3, 15, 15));
-        approvedGrid.setBackground(GRAY_BG);
-        for (Timesheet ts : approvedTimesheets) {
-            approvedGrid.add(createTimesheetCard(ts));
-        }
-        if (approvedTimesheets.isEmpty()) {
-            JLabel emptyLabel = new JLabel("No approved timesheets");
-            emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
-            emptyLabel.setForeground(TEXT_SECONDARY);
-            approvedGrid.add(emptyLabel);
-        }
-        contentPanel.add(approvedGrid);
-        
+        addTimesheetSection(contentPanel, TimesheetStatus.APPROVED, "✓ Approved Timesheets", GREEN,
+            "No approved timesheets", ownOnly);
         contentPanel.add(Box.createVerticalStrut(30));
-        
-        // Rejected Section
-        JLabel rejectedLabel = new JLabel("✕ Rejected Timesheets (" + rejectedTimesheets.size() + ")");
-        rejectedLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
-        rejectedLabel.setForeground(new Color(239, 68, 68));
-        rejectedLabel.setBorder(new EmptyBorder(10, 0, 10, 0));
-        contentPanel.add(rejectedLabel);
-        
-        JPanel rejectedGrid = new JPanel(new GridLayout(0, 3, 15, 15));
-        rejectedGrid.setBackground(GRAY_BG);
-        for (Timesheet ts : rejectedTimesheets) {
-            rejectedGrid.add(createTimesheetCard(ts));
-        }
-        if (rejectedTimesheets.isEmpty()) {
-            JLabel emptyLabel = new JLabel("No rejected timesheets");
-            emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
-            emptyLabel.setForeground(TEXT_SECONDARY);
-            rejectedGrid.add(emptyLabel);
-        }
-        contentPanel.add(rejectedGrid);
+        addTimesheetSection(contentPanel, TimesheetStatus.REJECTED, "✕ Rejected Timesheets", new Color(239, 68, 68),
+            "No rejected timesheets", ownOnly);
         
         JScrollPane scrollPane = new JScrollPane(contentPanel);
         scrollPane.setBorder(null);
@@ -2306,6 +2292,51 @@ public class SystemUI extends JFrame {
         return panel;
     }
     
+    // A titled grid of timesheet cards with one status, newest first, filled a page at a time.
+    // Volunteers (ownOnly) page through their own timesheets, so their count covers those loaded so far
+    private void addTimesheetSection(JPanel contentPanel, TimesheetStatus status, String title, Color color,
+                                     String emptyText, boolean ownOnly) {
+        JLabel sectionLabel = new JLabel(title);
+        sectionLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        sectionLabel.setForeground(color);
+        sectionLabel.setBorder(new EmptyBorder(10, 0, 10, 0));
+        contentPanel.add(sectionLabel);
+        
+        JPanel grid = new JPanel(new GridLayout(0, 3, 15, 15));
+        grid.setBackground(GRAY_BG);
+        PageRequest firstPage = PageRequest.of(0, LIST_PAGE_SIZE).orderedBy(PageRequest.Order.DATE_DESC);
+        JButton loadMoreBtn;
+        if (ownOnly) {
+            int currentUserId = authService.getCurrentUser().getId();
+            int[] shown = {0};
+            sectionLabel.setText(title + " (0)");
+            loadMoreBtn = createLoadMoreButton(
+                request -> timesheetController.listPageByVolunteer(currentUserId, request), firstPage,
+                ts -> ts.getApprovalStatus() == status,
+                ts -> {
+                    grid.add(createTimesheetCard(ts));
+                    sectionLabel.setText(title + " (" + ++shown[0] + ")");
+                });
+        } else {
+            sectionLabel.setText(title + " (" + timesheetController.countByStatus(status) + ")");
+            loadMoreBtn = createLoadMoreButton(
+                request -> timesheetController.listPageByStatus(status, request), firstPage,
+                ts -> true, ts -> grid.add(createTimesheetCard(ts)));
+        }
+        if (grid.getComponentCount() == 0) {
+            JLabel emptyLabel = new JLabel(emptyText);
+            emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
+            emptyLabel.setForeground(TEXT_SECONDARY);
+            grid.add(emptyLabel);
+        }
+        contentPanel.add(grid);
+        
+        JPanel loadMorePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 10));
+        loadMorePanel.setBackground(GRAY_BG);
+        loadMorePanel.add(loadMoreBtn);
+        contentPanel.add(loadMorePanel);
+    }
+    
     private JPanel createTimesheetCard(Timesheet timesheet) {
         JPanel card = createModernCard();
         card.setLayout(new BorderLayout(10, 10));
@@ -2939,10 +2970,8 @@ public class SystemUI extends JFrame {
         List<com.fstgc.vms.model.Award> awardsToDisplay = new ArrayList<>();
         if (isAdmin) {
             // Show all awards from all active volunteers
-            for (Volunteer vol : volunteerController.listAll()) {
-                if (vol.getStatus() == VolunteerStatus.ACTIVE) {
-                    awardsToDisplay.addAll(awardController.getAwardsByVolunteer(vol.getId()));
-                }
+            for (Volunteer vol : volunteerController.listByStatus(VolunteerStatus.ACTIVE)) {
+                awardsToDisplay.addAll(awardController.getAwardsByVolunteer(vol.getId()));
             }
         } else {
             // Show only current user's awards
@@ -3008,11 +3037,19 @@ public class SystemUI extends JFrame {
         leaderList.setLayout(new BoxLayout(leaderList, BoxLayout.Y_AXIS));
         leaderList.setBackground(CARD_BG);
         
-        // Filter to only active volunteers and sort by badge count
-        List<Volunteer> volunteers = volunteerController.listAll().stream()
-            .filter(v -> v.getStatus() == VolunteerStatus.ACTIVE)
-            .sorted((a, b) -> Integer.compare(getBadgesEarnedCount(b.getId()), getBadgesEarnedCount(a.getId())))
-            .toList();
+        // Active volunteers in badge leaderboard order, then those without badges
+        Map<Integer, Volunteer> activeById = new LinkedHashMap<>();
+        for (Volunteer vol : volunteerController.listByStatus(VolunteerStatus.ACTIVE)) {
+            activeById.put(vol.getId(), vol);
+        }
+        List<Volunteer> volunteers = new ArrayList<>(activeById.size());
+        for (Leaderboard.Entry entry : awardController.badgeLeaderboard().top(Integer.MAX_VALUE)) {
+            Volunteer vol = activeById.remove(entry.getVolunteerId());
+            if (vol != null) {
+                volunteers.add(vol);
+            }
+        }
+        volunteers.addAll(activeById.values());
         
         Color[] medalColors = {new Color(255, 215, 0), new Color(192, 192, 192), new Color(205, 127, 50)};
         int rank = 1;
@@ -3332,21 +3369,14 @@ public class SystemUI extends JFrame {
         }
         
         // Get completed attendance records for this volunteer that don't have timesheets yet
-        List<Attendance> completedAttendance = attendanceController.listAll().stream()
-            .filter(a -> a.getVolunteerId() == volunteerId)
+        List<Attendance> completedAttendance = attendanceController.byVolunteer(volunteerId).stream()
             .filter(a -> a.getCheckInTime() != null && a.getCheckOutTime() != null)
             .filter(a -> a.getHoursWorked() > 0)
             .toList();
         
         // Filter out events that already have timesheets
-        List<Integer> existingTimesheetEventIds = timesheetController.listAll().stream()
-            .filter(ts -> ts.getVolunteerId() == volunteerId)
-            .filter(ts -> ts.getEventId() != null)
-            .map(Timesheet::getEventId)
-            .toList();
-        
         List<Attendance> availableAttendance = completedAttendance.stream()
-            .filter(a -> !existingTimesheetEventIds.contains(a.getEventId()))
+            .filter(a -> !timesheetController.hasTimesheetForEvent(volunteerId, a.getEventId()))
             .toList();
         
         if (availableAttendance.isEmpty()) {
@@ -3647,10 +3677,7 @@ public class SystemUI extends JFrame {
     
     private void showApproveTimesheetDialog(int volunteerId) {
         // Get pending timesheets for this volunteer
-        List<Timesheet> pendingTimesheets = timesheetController.listAll().stream()
-            .filter(ts -> ts.getVolunteerId() == volunteerId)
-            .filter(ts -> ts.getApprovalStatus() == TimesheetStatus.PENDING)
-            .toList();
+        List<Timesheet> pendingTimesheets = timesheetController.listPending(TimesheetFilter.any().volunteer(volunteerId));
         
         if (pendingTimesheets.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No pending timesheets found for this volunteer!", "Info", JOptionPane.INFORMATION_MESSAGE);
@@ -3701,10 +3728,7 @@ public class SystemUI extends JFrame {
     
     private void showRejectTimesheetDialog(int volunteerId) {
         // Get pending timesheets for this volunteer
-        List<Timesheet> pendingTimesheets = timesheetController.listAll().stream()
-            .filter(ts -> ts.getVolunteerId() == volunteerId)
-            .filter(ts -> ts.getApprovalStatus() == TimesheetStatus.PENDING)
-            .toList();
+        List<Timesheet> pendingTimesheets = timesheetController.listPending(TimesheetFilter.any().volunteer(volunteerId));
         
         if (pendingTimesheets.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No pending timesheets found for this volunteer!", "Info", JOptionPane.INFORMATION_MESSAGE);
@@ -3757,6 +3781,138 @@ public class SystemUI extends JFrame {
         }
     }
     
+    // Approves or rejects, in one batch, every pending timesheet matching the criteria entered
+    private void showBulkTimesheetDialog() {
+        JDialog dialog = new JDialog(this, "Bulk Approve / Reject Timesheets", true);
+        dialog.setSize(500, 480);
+        dialog.setLocationRelativeTo(this);
+        
+        JPanel mainPanel = new JPanel(new BorderLayout(15, 15));
+        mainPanel.setBackground(CARD_BG);
+        mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        
+        JLabel hintLabel = new JLabel("Leave a field empty to match any value");
+        hintLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
+        hintLabel.setForeground(TEXT_SECONDARY);
+        
+        JPanel formPanel = new JPanel(new GridLayout(7, 2, 10, 15));
+        formPanel.setBackground(CARD_BG);
+        
+        JTextField volunteerField = createModernTextField();
+        JTextField eventField = createModernTextField();
+        JTextField fromField = createModernTextField();
+        JTextField toField = createModernTextField();
+        JTextField maxHoursField = createModernTextField();
+        JComboBox<String> decisionCombo = new JComboBox<>(new String[]{"Approve", "Reject"});
+        decisionCombo.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        JTextField reasonField = createModernTextField();
+        reasonField.setEnabled(false);
+        decisionCombo.addActionListener(e -> reasonField.setEnabled(decisionCombo.getSelectedIndex() == 1));
+        
+        formPanel.add(createLabel("Volunteer ID:"));
+        formPanel.add(volunteerField);
+        formPanel.add(createLabel("Event ID:"));
+        formPanel.add(eventField);
+        formPanel.add(createLabel("Period From (YYYY-MM-DD):"));
+        formPanel.add(fromField);
+        formPanel.add(createLabel("Period To (YYYY-MM-DD):"));
+        formPanel.add(toField);
+        formPanel.add(createLabel("Max Hours:"));
+        formPanel.add(maxHoursField);
+        formPanel.add(createLabel("Decision:"));
+        formPanel.add(decisionCombo);
+        formPanel.add(createLabel("Rejection Reason:"));
+        formPanel.add(reasonField);
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setBackground(CARD_BG);
+        
+        JButton cancelBtn = createModernButton("Cancel", TEXT_SECONDARY);
+        cancelBtn.addActionListener(e -> dialog.dispose());
+        
+        JButton applyBtn = createModernButton("Apply", GREEN);
+        applyBtn.addActionListener(e -> {
+            TimesheetFilter filter = TimesheetFilter.any();
+            try {
+                if (!volunteerField.getText().trim().isEmpty()) {
+                    filter = filter.volunteer(Integer.parseInt(volunteerField.getText().trim()));
+                }
+                if (!eventField.getText().trim().isEmpty()) {
+                    filter = filter.event(Integer.parseInt(eventField.getText().trim()));
+                }
+                LocalDate from = fromField.getText().trim().isEmpty() ? null : LocalDate.parse(fromField.getText().trim());
+                LocalDate to = toField.getText().trim().isEmpty() ? null : LocalDate.parse(toField.getText().trim());
+                filter = filter.between(from, to);
+                if (!maxHoursField.getText().trim().isEmpty()) {
+                    filter = filter.maxHours(Double.parseDouble(maxHoursField.getText().trim()));
+                }
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(dialog,
+                    "Invalid criteria: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            boolean approve = decisionCombo.getSelectedIndex() == 0;
+            String reason = reasonField.getText().trim();
+            if (!approve && reason.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog,
+                    "Please enter a rejection reason",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            // The confirmed timesheets are exactly the ones decided; any decided by someone else meanwhile are skipped
+            List<Integer> matchingIds = timesheetController.listPending(filter).stream()
+                .map(Timesheet::getTimesheetId)
+                .toList();
+            int matching = matchingIds.size();
+            if (matching == 0) {
+                JOptionPane.showMessageDialog(dialog, "No pending timesheets match these criteria.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            int confirm = JOptionPane.showConfirmDialog(dialog,
+                (approve ? "Approve " : "Reject ") + matching + " pending timesheet(s)?",
+                approve ? "Confirm Approval" : "Confirm Rejection",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.QUESTION_MESSAGE);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
+            }
+            
+            try {
+                int adminId = authService.getCurrentUser().getId();
+                TimesheetService.BatchSummary summary = approve
+                    ? timesheetController.approvePending(matchingIds, adminId)
+                    : timesheetController.rejectPending(matchingIds, adminId, reason);
+                dialog.dispose();
+                refreshTimesheetPanel();
+                String skipped = summary.getCount() < matching
+                    ? String.format("%n%d timesheet(s) were no longer pending and were left unchanged.", matching - summary.getCount())
+                    : "";
+                JOptionPane.showMessageDialog(this,
+                    String.format("%s %d timesheet(s) from %d volunteer(s), %.2f hrs in total.",
+                        approve ? "Approved" : "Rejected", summary.getCount(), summary.getVolunteerCount(), summary.getTotalHours()) + skipped,
+                    "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(dialog,
+                    "Error deciding timesheets: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        
+        buttonPanel.add(cancelBtn);
+        buttonPanel.add(applyBtn);
+        
+        mainPanel.add(hintLabel, BorderLayout.NORTH);
+        mainPanel.add(formPanel, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        
+        dialog.add(mainPanel);
+        dialog.setVisible(true);
+    }
+    
     private void showCreateTimesheetDialog() {
         JDialog dialog = new JDialog(this, "Create Timesheet for Event", true);
         dialog.setSize(500, 450);
@@ -3802,21 +3958,14 @@ public class SystemUI extends JFrame {
                 int volunteerId = Integer.parseInt(selected.split(" - ")[0]);
                 
                 // Get completed attendance records without timesheets
-                List<Attendance> completedAttendance = attendanceController.listAll().stream()
-                    .filter(a -> a.getVolunteerId() == volunteerId)
+                List<Attendance> completedAttendance = attendanceController.byVolunteer(volunteerId).stream()
                     .filter(a -> a.getCheckInTime() != null && a.getCheckOutTime() != null)
                     .filter(a -> a.getHoursWorked() > 0)
                     .toList();
                 
                 // Filter out events with existing timesheets
-                List<Integer> existingTimesheetEventIds = timesheetController.listAll().stream()
-                    .filter(ts -> ts.getVolunteerId() == volunteerId)
-                    .filter(ts -> ts.getEventId() != null)
-                    .map(Timesheet::getEventId)
-                    .toList();
-                
                 List<Attendance> availableAttendance = completedAttendance.stream()
-                    .filter(a -> !existingTimesheetEventIds.contains(a.getEventId()))
+                    .filter(a -> !timesheetController.hasTimesheetForEvent(volunteerId, a.getEventId()))
                     .toList();
                 
                 // Populate event dropdown
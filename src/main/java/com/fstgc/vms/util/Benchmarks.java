@@ -0,0 +1,88 @@
+package com.fstgc.vms.util;
+
+import com.fstgc.vms.model.Timesheet;
+import com.fstgc.vms.model.enums.TimesheetStatus;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shared pieces of the storage benchmarks in this package: sample data shaped like a real
+ * timesheet collection, and a heap probe. The probe reports how far the heap's peak rose
+ * above what was in use when it was reset, summed over the heap pools, which is close to
+ * but not exactly the extra memory a piece of work needed.
+ */
+final class Benchmarks {
+    private static final String[] EVENTS = {"Beach Cleanup", "Food Drive", "Tree Planting", "Blood Donation",
+            "Library Sorting", "Coastal Survey", "Soup Kitchen", "Charity Run"};
+    private static final String[] ADMINS = {"admin", "coordinator", "jdelacruz", "msantos"};
+
+    private Benchmarks() {}
+
+    // n timesheets with ids 1..n; the same n always gives the same data
+    static Map<Integer, Timesheet> timesheets(int n) {
+        Random random = new Random(n);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDateTime created = start.atStartOfDay();
+        Map<Integer, Timesheet> result = new LinkedHashMap<>();
+        for (int id = 1; id <= n; id++) {
+            Timesheet t = new Timesheet();
+            t.setTimesheetId(id);
+            t.setVolunteerId(1 + random.nextInt(Math.max(1, n / 50)));
+            int eventId = 1 + random.nextInt(EVENTS.length * 40);
+            t.setEventId(eventId);
+            t.setAttendanceId(id);
+            t.setEventName(EVENTS[eventId % EVENTS.length]);
+            LocalDate day = start.plusDays(random.nextInt(700));
+            t.setPeriodStartDate(day);
+            t.setPeriodEndDate(day);
+            t.setTotalHours(1 + random.nextInt(16) / 2.0);
+            t.setCreatedDate(created.plusSeconds(id * 37L));
+            t.setLastModifiedBy(ADMINS[random.nextInt(ADMINS.length)]);
+            t.setLastModifiedDate(t.getCreatedDate().plusHours(2));
+            if (random.nextInt(3) > 0) {
+                t.setApprovalStatus(TimesheetStatus.APPROVED);
+                t.setApprovedHours(t.getTotalHours());
+                t.setApprovedByAdminId(1);
+                t.setApprovalDate(t.getCreatedDate().plusDays(1));
+            }
+            result.put(id, t);
+        }
+        return result;
+    }
+
+    // Collects garbage and starts a new peak measurement; returns the heap in use now
+    static long resetHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    // How far the heap's peak rose above baseline since resetHeap()
+    static long peakAbove(long baseline) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return Math.max(0, peak - baseline);
+    }
+
+    static String megabytes(long bytes) {
+        return String.format("%,.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,427 @@
+package com.fstgc.vms.util;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary collection format. A file starts with the entity's field layout (names,
+ * type tags and enum constant names), followed by a table of the distinct strings and then
+ * the entities. Ids and ints are zigzag varints, dates are epoch days, date-times epoch
+ * seconds plus nanos, enums ordinals, and strings indexes into the string table, so
+ * repeated values such as eventName or lastModifiedBy are stored once.
+ * Fields are matched by name on load: fields missing from the file keep the value the
+ * entity's constructor gives them, and fields no longer in the class are skipped.
+ */
+class BinaryCodec implements StorageCodec {
+    private static final int MAGIC = 0x564D5342; // "VMSB"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_COUNT = 1 << 26;
+
+    // Field type tags
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int BOOLEAN = 4;
+    private static final int BOXED_INT = 5;
+    private static final int BOXED_LONG = 6;
+    private static final int BOXED_DOUBLE = 7;
+    private static final int BOXED_BOOLEAN = 8;
+    private static final int STRING = 9;
+    private static final int DATE = 10;
+    private static final int DATE_TIME = 11;
+    private static final int TIME = 12;
+    private static final int ENUM = 13;
+
+    private final Map<Class<?>, Schema> schemas = new ConcurrentHashMap<>();
+
+    // The persisted fields of an entity class, superclass fields first
+    private static class Schema {
+        final Constructor<?> constructor;
+        final List<Slot> slots = new ArrayList<>();
+        final Map<String, Slot> byName = new HashMap<>();
+
+        Schema(Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+    }
+
+    private static class Slot {
+        final Field field;
+        final int tag;
+
+        Slot(Field field, int tag) {
+            this.field = field;
+            this.tag = tag;
+        }
+    }
+
+    // A field as described by a file header, bound to the class field it loads into (if any)
+    private static class FileField {
+        final int tag;
+        final Slot slot;
+        final Object[] constants; // enum constants by the ordinal stored in the file
+
+        FileField(int tag, Slot slot, Object[] constants) {
+            this.tag = tag;
+            this.slot = slot;
+            this.constants = constants;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "binary";
+    }
+
+    @Override
+    public String extension() {
+        return "bin";
+    }
+
+    @Override
+    public void write(OutputStream out, Class<?> type, Map<Integer, ?> entities) throws IOException {
+        Schema schema = schemaOf(type);
+
+        // First pass collects the distinct strings so each is written once
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Object entity : entities.values()) {
+            for (Slot slot : schema.slots) {
+                if (slot.tag == STRING) {
+                    String value = (String) get(slot, entity);
+                    if (value != null) {
+                        strings.putIfAbsent(value, strings.size());
+                    }
+                }
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        writeVarLong(data, schema.slots.size());
+        for (Slot slot : schema.slots) {
+            writeString(data, slot.field.getName());
+            data.writeByte(slot.tag);
+            if (slot.tag == ENUM) {
+                Object[] constants = slot.field.getType().getEnumConstants();
+                writeVarLong(data, constants.length);
+                for (Object constant : constants) {
+                    writeString(data, ((Enum<?>) constant).name());
+                }
+            }
+        }
+        writeVarLong(data, strings.size());
+        for (String value : strings.keySet()) {
+            writeString(data, value);
+        }
+
+        writeVarLong(data, entities.size());
+        for (Map.Entry<Integer, ?> entry : entities.entrySet()) {
+            writeVarLong(data, zigzag(entry.getKey()));
+            for (Slot slot : schema.slots) {
+                writeValue(data, slot, get(slot, entry.getValue()), strings);
+            }
+        }
+        data.flush();
+    }
+
+    @Override
+    public void read(InputStream in, Class<?> type, Map<Integer, Object> target) throws IOException {
+        Schema schema = schemaOf(type);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a binary collection file");
+        }
+        int version = data.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported binary format version " + version);
+        }
+
+        FileField[] fields = new FileField[readCount(data)];
+        for (int i = 0; i < fields.length; i++) {
+            String name = readString(data);
+            int tag = data.readUnsignedByte();
+            Object[] constants = null;
+            if (tag == ENUM) {
+                constants = new Object[readCount(data)];
+                for (int c = 0; c < constants.length; c++) {
+                    constants[c] = readString(data);
+                }
+            }
+            Slot slot = schema.byName.get(name);
+            if (slot != null && slot.tag != tag) {
+                throw new IOException("Field " + name + " of " + type.getSimpleName() + " changed type");
+            }
+            if (slot != null && constants != null) {
+                // Resolve by name so reordered enum constants still load; removed ones become null
+                for (int c = 0; c < constants.length; c++) {
+                    constants[c] = enumConstant(slot.field.getType(), (String) constants[c]);
+                }
+            }
+            fields[i] = new FileField(tag, slot, constants);
+        }
+        String[] strings = new String[readCount(data)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(data);
+        }
+
+        int count = readCount(data);
+        for (int i = 0; i < count; i++) {
+            int id = (int) unzigzag(readVarLong(data));
+            Object entity = newInstance(schema);
+            for (FileField field : fields) {
+                Object value = readValue(data, field, strings);
+                if (field.slot != null) {
+                    set(field.slot, entity, value);
+                }
+            }
+            target.put(id, entity);
+        }
+    }
+
+    private Schema schemaOf(Class<?> type) {
+        return schemas.computeIfAbsent(type, BinaryCodec::buildSchema);
+    }
+
+    private static Schema buildSchema(Class<?> type) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.push(c);
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            Schema schema = new Schema(constructor);
+            for (Class<?> c : hierarchy) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Slot slot = new Slot(field, tagOf(field));
+                    schema.slots.add(slot);
+                    schema.byName.put(field.getName(), slot);
+                }
+            }
+            return schema;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getSimpleName() + " needs a no-argument constructor", e);
+        }
+    }
+
+    private static int tagOf(Field field) {
+        Class<?> t = field.getType();
+        if (t == int.class) return INT;
+        if (t == long.class) return LONG;
+        if (t == double.class) return DOUBLE;
+        if (t == boolean.class) return BOOLEAN;
+        if (t == Integer.class) return BOXED_INT;
+        if (t == Long.class) return BOXED_LONG;
+        if (t == Double.class) return BOXED_DOUBLE;
+        if (t == Boolean.class) return BOXED_BOOLEAN;
+        if (t == String.class) return STRING;
+        if (t == LocalDate.class) return DATE;
+        if (t == LocalDateTime.class) return DATE_TIME;
+        if (t == LocalTime.class) return TIME;
+        if (t.isEnum()) return ENUM;
+        throw new IllegalArgumentException("Unsupported field type " + t.getName() + " for " + field.getName());
+    }
+
+    private static void writeValue(DataOutputStream out, Slot slot, Object value, Map<String, Integer> strings)
+            throws IOException {
+        switch (slot.tag) {
+            case INT, LONG -> writeVarLong(out, zigzag(((Number) value).longValue()));
+            case DOUBLE -> out.writeDouble((Double) value);
+            case BOOLEAN -> out.writeBoolean((Boolean) value);
+            case BOXED_INT, BOXED_LONG, BOXED_DOUBLE, BOXED_BOOLEAN -> {
+                out.writeBoolean(value != null);
+                if (value instanceof Double d) {
+                    out.writeDouble(d);
+                } else if (value instanceof Boolean b) {
+                    out.writeBoolean(b);
+                } else if (value != null) {
+                    writeVarLong(out, zigzag(((Number) value).longValue()));
+                }
+            }
+            // Nullable values are stored shifted by one so that 0 can mean null
+            case STRING -> writeVarLong(out, value == null ? 0 : strings.get(value) + 1);
+            case DATE -> writeVarLong(out, value == null ? 0 : zigzag(((LocalDate) value).toEpochDay()) + 1);
+            case DATE_TIME -> {
+                if (value == null) {
+                    writeVarLong(out, 0);
+                } else {
+                    LocalDateTime dateTime = (LocalDateTime) value;
+                    writeVarLong(out, zigzag(dateTime.toEpochSecond(ZoneOffset.UTC)) + 1);
+                    writeVarLong(out, dateTime.getNano());
+                }
+            }
+            case TIME -> {
+                if (value == null) {
+                    writeVarLong(out, 0);
+                } else {
+                    LocalTime time = (LocalTime) value;
+                    writeVarLong(out, time.toSecondOfDay() + 1);
+                    writeVarLong(out, time.getNano());
+                }
+            }
+            case ENUM -> writeVarLong(out, value == null ? 0 : ((Enum<?>) value).ordinal() + 1);
+            default -> throw new IllegalStateException("Unknown tag " + slot.tag);
+        }
+    }
+
+    private static Object readValue(DataInputStream in, FileField field, String[] strings) throws IOException {
+        switch (field.tag) {
+            case INT:
+                return (int) unzigzag(readVarLong(in));
+            case LONG:
+                return unzigzag(readVarLong(in));
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case BOXED_INT:
+                return in.readBoolean() ? (int) unzigzag(readVarLong(in)) : null;
+            case BOXED_LONG:
+                return in.readBoolean() ? unzigzag(readVarLong(in)) : null;
+            case BOXED_DOUBLE:
+                return in.readBoolean() ? in.readDouble() : null;
+            case BOXED_BOOLEAN:
+                return in.readBoolean() ? in.readBoolean() : null;
+            case STRING: {
+                long index = readVarLong(in);
+                if (index > strings.length) {
+                    throw new IOException("String index out of range: " + index);
+                }
+                return index == 0 ? null : strings[(int) index - 1];
+            }
+            case DATE: {
+                long day = readVarLong(in);
+                return day == 0 ? null : LocalDate.ofEpochDay(unzigzag(day - 1));
+            }
+            case DATE_TIME: {
+                long seconds = readVarLong(in);
+                if (seconds == 0) {
+                    return null;
+                }
+                return LocalDateTime.ofEpochSecond(unzigzag(seconds - 1), (int) readVarLong(in), ZoneOffset.UTC);
+            }
+            case TIME: {
+                long seconds = readVarLong(in);
+                if (seconds == 0) {
+                    return null;
+                }
+                return LocalTime.ofSecondOfDay(seconds - 1).withNano((int) readVarLong(in));
+            }
+            case ENUM: {
+                long ordinal = readVarLong(in);
+                if (ordinal == 0 || field.constants == null) {
+                    return null;
+                }
+                if (ordinal > field.constants.length) {
+                    throw new IOException("Enum ordinal out of range: " + ordinal);
+                }
+                return field.constants[(int) ordinal - 1];
+            }
+            default:
+                throw new IOException("Unknown field type tag " + field.tag);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> type, String name) {
+        try {
+            return Enum.valueOf((Class) type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Object newInstance(Schema schema) throws IOException {
+        try {
+            return schema.constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Cannot create " + schema.constructor.getDeclaringClass().getSimpleName(), e);
+        }
+    }
+
+    private static Object get(Slot slot, Object entity) {
+        try {
+            return slot.field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void set(Slot slot, Object entity, Object value) throws IOException {
+        if (value == null && slot.field.getType().isPrimitive()) {
+            return;
+        }
+        try {
+            slot.field.set(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cannot load field " + slot.field.getName(), e);
+        }
+    }
+
+    private static long zigzag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private static long unzigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Reads a length or count, rejecting values a damaged file could make absurdly large
+    private static int readCount(DataInputStream in) throws IOException {
+        long count = readVarLong(in);
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IOException("Invalid count " + count);
+        }
+        return (int) count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readCount(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.fstgc.vms.util;
+
+import com.fstgc.vms.model.Timesheet;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares the two storage codecs, JSON and binary, on a timesheet collection. For each size
+ * it saves and loads the collection with both and prints the best wall time of a few rounds,
+ * the heap's peak rise and the file size. Files go to a temporary directory and the checksum
+ * footer is left out, so only the codecs are measured:
+ *   java -Xmx4g -cp <classpath> com.fstgc.vms.util.CodecBenchmark [records ...]
+ * The default sizes are 10,000, 100,000 and 1,000,000 records.
+ */
+public class CodecBenchmark {
+    private static final int ROUNDS = 3;
+
+    private interface Step {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[] {10_000, 100_000, 1_000_000};
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", "").replace(",", ""));
+        }
+        StorageCodec[] codecs = {new JsonCodec(DataPersistence.gson()), new BinaryCodec()};
+        Path dir = Files.createTempDirectory("vms-codec-bench");
+        try {
+            // Lets the JIT compile both codecs before anything is measured
+            for (StorageCodec codec : codecs) {
+                run(dir, codec, Benchmarks.timesheets(5_000), false);
+            }
+            System.out.printf("%-10s %-10s %-5s %10s %14s %14s%n", "records", "format", "step", "time", "peak heap", "file");
+            for (int size : sizes) {
+                Map<Integer, Timesheet> data = Benchmarks.timesheets(size);
+                for (StorageCodec codec : codecs) {
+                    run(dir, codec, data, true);
+                }
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void run(Path dir, StorageCodec codec, Map<Integer, Timesheet> data, boolean print)
+            throws IOException {
+        Path file = dir.resolve("timesheets-" + data.size() + codec.extension());
+        measure(print, data.size(), codec.name(), "save", file, () -> {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                codec.write(out, Timesheet.class, data);
+            }
+        });
+        measure(print, data.size(), codec.name(), "load", file, () -> {
+            Map<Integer, Object> target = new HashMap<>();
+            try (InputStream in = Files.newInputStream(file)) {
+                codec.read(in, Timesheet.class, target);
+            }
+            if (target.size() != data.size()) {
+                throw new IllegalStateException(codec.name() + " loaded " + target.size() + " of " + data.size() + " records");
+            }
+        });
+        Files.deleteIfExists(file);
+    }
+
+    // Best time of ROUNDS runs; the peak heap is the largest seen in any of them
+    private static void measure(boolean print, int size, String format, String step, Path file, Step work)
+            throws IOException {
+        long bestMs = Long.MAX_VALUE;
+        long peak = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long baseline = Benchmarks.resetHeap();
+            long started = System.nanoTime();
+            work.run();
+            bestMs = Math.min(bestMs, (System.nanoTime() - started) / 1_000_000);
+            peak = Math.max(peak, Benchmarks.peakAbove(baseline));
+        }
+        if (print) {
+            System.out.printf("%,-10d %-10s %-5s %7d ms %14s %14s%n", size, format, step, bestMs,
+                    Benchmarks.megabytes(peak), Benchmarks.megabytes(Files.size(file)));
+        }
+    }
+}
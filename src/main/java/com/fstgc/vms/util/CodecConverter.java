@@ -0,0 +1,50 @@
+package com.fstgc.vms.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts the collection files in the database directory to another storage format.
+ * Run it from the application's working directory while the application is closed:
+ *   java -cp <classpath> com.fstgc.vms.util.CodecConverter binary
+ * and then start the application with the matching -Dvms.persistence.codec setting.
+ */
+public class CodecConverter {
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: CodecConverter <json|binary>");
+            System.exit(1);
+        }
+        StorageCodec target;
+        try {
+            target = DataPersistence.codec(args[0]);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean converted = DataPersistence.convert(target);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        long total = 0;
+        for (DataPersistence.Dataset dataset : DataPersistence.Dataset.values()) {
+            Path file = dataset.file(target);
+            try {
+                long size = Files.size(file);
+                total += size;
+                System.out.printf("%-14s %,12d bytes%n", dataset.key, size);
+            } catch (IOException e) {
+                System.out.printf("%-14s %12s%n", dataset.key, "missing");
+            }
+        }
+        System.out.printf("%-14s %,12d bytes in %d ms%n", "total", total, elapsedMs);
+
+        if (!converted) {
+            System.err.println("Some collections could not be converted; see the errors above");
+            System.exit(1);
+        }
+        System.out.println("Start the application with -Dvms.persistence.codec=" + target.name());
+    }
+}
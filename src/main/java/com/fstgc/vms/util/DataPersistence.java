@@ -2,69 +2,160 @@ package com.fstgc.vms.util;
 
 import com.fstgc.vms.model.*;
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import java.io.*;
-import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
+/**
+ * Persists all repository data under the database directory, one snapshot file per collection
+ * (volunteers.json, events.json, ...). Only collections that changed are rewritten.
+ * Snapshot files are JSON by default; -Dvms.persistence.codec=binary selects the compact
+ * BinaryCodec (volunteers.bin, ...). Files in the other format are converted on startup.
+ * initialize() only locates the files and reads the journal; each collection is decoded
+ * from a memory-mapped view of its file the first time it is accessed, or earlier on
+ * background threads once loadInBackground() is called.
+ * In journal mode (the default) every mutation appends one compact record to
+ * vmsdatabase.journal; the journal is folded into the snapshot files every
+ * COMPACTION_THRESHOLD records and replayed on top of them by initialize().
+ * Changes made inside atomically() are appended together as one record.
+ * Run with -Dvms.persistence.mode=snapshot to rewrite the snapshot on every mutation instead.
+ * Writes happen on a background thread that batches bursts of changes into one flush;
+ * use flush() or awaitDurable() when a change must reach the disk before continuing.
+ * Snapshot files are written to a temporary file and renamed into place, end with a
+ * length and CRC32 footer, and keep their previous generation as a .bak file that
+ * initialize() falls back to when the current one is damaged.
+ */
 public class DataPersistence {
     private static final String DATA_DIR = "database";
-    private static final String DATA_FILE = DATA_DIR + File.separator + "vmsdatabase.txt";
+    // Single-file database used before collections were split; only read to migrate its contents
+    private static final String LEGACY_DATA_FILE = DATA_DIR + File.separator + "vmsdatabase.txt";
+    private static final String JOURNAL_FILE = DATA_DIR + File.separator + "vmsdatabase.journal";
+    private static final boolean JOURNAL_MODE =
+            !"snapshot".equalsIgnoreCase(System.getProperty("vms.persistence.mode", "journal"));
+    // Number of journal records after which the journal is folded into a fresh snapshot
+    private static final int COMPACTION_THRESHOLD = Integer.getInteger("vms.journal.compactAfter", 500);
+    // Holds the journal's records while the snapshot that replaces them is being written
+    private static final String COMPACTING_FILE = JOURNAL_FILE + ".compacting";
+    // Quiet period after a change before it is written, and the longest a change may wait
+    private static final long SAVE_DELAY_MS = Long.getLong("vms.persistence.saveDelayMs", 200);
+    private static final long MAX_LATENCY_MS = Long.getLong("vms.persistence.maxLatencyMs", 1000);
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    // Set to false to skip fsync; faster, but a power loss can lose the last changes
+    private static final boolean FSYNC =
+            Boolean.parseBoolean(System.getProperty("vms.persistence.fsync", "true"));
+    // Last line of every snapshot file: "#vms length=<body bytes> crc32=<hex>"
+    private static final String FOOTER_PREFIX = "#vms ";
+    private static final int MAX_FOOTER_LENGTH = 64;
+    // Windows cannot rename a file while a mapping of it is alive, and mappings are only released by GC
+    private static final boolean MMAP = Boolean.parseBoolean(System.getProperty("vms.persistence.mmap",
+            String.valueOf(!System.getProperty("os.name", "").startsWith("Windows"))));
+    // Guards the in-memory data and the bookkeeping below
+    private static final Object lock = new Object();
+    // Serializes file writes; always taken before lock
+    private static final Object ioLock = new Object();
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "vms-persistence-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean shutdownHookRegistered = new AtomicBoolean(false);
     private static VMSDatabase database = new VMSDatabase();
+    private static FileChannel journalChannel;
+    private static Writer journal;
+    private static int journalRecords = 0;
+    private static ScheduledFuture<?> pendingFlush;
+    private static long firstPendingAt = 0; // System.nanoTime() of the oldest unflushed change, 0 if none
+    // Collections whose snapshot file must be rewritten by the next flush
+    private static final EnumSet<Dataset> dirty = EnumSet.noneOf(Dataset.class);
+    // Collections with journal records that their snapshot file does not contain yet
+    private static final EnumSet<Dataset> journaled = EnumSet.noneOf(Dataset.class);
+    private static boolean compactionDue = false;
+    // Set when a journal could be neither read nor moved aside; journal files are then never deleted
+    private static boolean journalsPinned = false;
+    // Collections that have a file but have not been decoded yet, with the format they are stored in
+    private static final EnumMap<Dataset, StorageCodec> unloaded = new EnumMap<>(Dataset.class);
+    // Journal records of collections in unloaded, applied once the collection is decoded
+    private static final EnumMap<Dataset, List<JournalRecord>> pendingReplay = new EnumMap<>(Dataset.class);
+    // Collections being decoded by a background loader; lock.notifyAll() is called when one finishes
+    private static final EnumSet<Dataset> loading = EnumSet.noneOf(Dataset.class);
+    // Changes are numbered so callers can wait for the ones they made
+    private static long changeCount = 0;
+    private static long attemptedCount = 0;
+    private static long durableCount = 0;
+    // Compact output: snapshot files and journal records are written without pretty printing
     private static final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
-            .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe())
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter().nullSafe())
+            .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter().nullSafe())
             .create();
-    
+    private static final List<StorageCodec> CODECS = List.of(new JsonCodec(gson), new BinaryCodec());
+    private static final StorageCodec codec = codec(System.getProperty("vms.persistence.codec", "json"));
+
     // Custom adapter for LocalDateTime
-    static class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+    static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
         private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        
+
         @Override
-        public JsonElement serialize(LocalDateTime dateTime, Type type, JsonSerializationContext context) {
-            return new JsonPrimitive(dateTime.format(formatter));
+        public void write(JsonWriter out, LocalDateTime dateTime) throws IOException {
+            out.value(dateTime.format(formatter));
         }
-        
+
         @Override
-        public LocalDateTime deserialize(JsonElement json, Type type, JsonDeserializationContext context) {
-            return LocalDateTime.parse(json.getAsString(), formatter);
+        public LocalDateTime read(JsonReader in) throws IOException {
+            return LocalDateTime.parse(in.nextString(), formatter);
         }
     }
-    
+
     // Custom adapter for LocalDate
-    static class LocalDateAdapter implements JsonSerializer<LocalDate>, JsonDeserializer<LocalDate> {
+    static class LocalDateAdapter extends TypeAdapter<LocalDate> {
         private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
-        
+
         @Override
-        public JsonElement serialize(LocalDate date, Type type, JsonSerializationContext context) {
-            return new JsonPrimitive(date.format(formatter));
+        public void write(JsonWriter out, LocalDate date) throws IOException {
+            out.value(date.format(formatter));
         }
-        
+
         @Override
-        public LocalDate deserialize(JsonElement json, Type type, JsonDeserializationContext context) {
-            return LocalDate.parse(json.getAsString(), formatter);
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString(), formatter);
         }
     }
-    
+
     // Custom adapter for LocalTime
-    static class LocalTimeAdapter implements JsonSerializer<LocalTime>, JsonDeserializer<LocalTime> {
+    static class LocalTimeAdapter extends TypeAdapter<LocalTime> {
         private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_TIME;
-        
+
         @Override
-        public JsonElement serialize(LocalTime time, Type type, JsonSerializationContext context) {
-            return new JsonPrimitive(time.format(formatter));
+        public void write(JsonWriter out, LocalTime time) throws IOException {
+            out.value(time.format(formatter));
         }
-        
+
         @Override
-        public LocalTime deserialize(JsonElement json, Type type, JsonDeserializationContext context) {
-            return LocalTime.parse(json.getAsString(), formatter);
+        public LocalTime read(JsonReader in) throws IOException {
+            return LocalTime.parse(in.nextString(), formatter);
         }
     }
 
@@ -77,8 +168,110 @@ public class DataPersistence {
         Map<Integer, Timesheet> timesheets = new HashMap<>();
         Map<Integer, SystemAdmin> admins = new HashMap<>();
         Map<Integer, Award> awards = new HashMap<>();
+        Map<Integer, WaitlistEntry> waitlist = new HashMap<>();
+    }
+
+    // The collections of VMSDatabase, named as they appear in the snapshot and journal
+    enum Dataset {
+        VOLUNTEERS("volunteers", Volunteer.class),
+        EVENTS("events", Event.class),
+        ATTENDANCE("attendance", Attendance.class),
+        ANNOUNCEMENTS("announcements", Announcement.class),
+        TIMESHEETS("timesheets", Timesheet.class),
+        ADMINS("admins", SystemAdmin.class),
+        AWARDS("awards", Award.class),
+        WAITLIST("waitlist", WaitlistEntry.class);
+
+        final String key;
+        final Class<?> type;
+
+        Dataset(String key, Class<?> type) {
+            this.key = key;
+            this.type = type;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Integer, Object> in(VMSDatabase db) {
+            Map<?, ?> map = switch (this) {
+                case VOLUNTEERS -> db.volunteers;
+                case EVENTS -> db.events;
+                case ATTENDANCE -> db.attendance;
+                case ANNOUNCEMENTS -> db.announcements;
+                case TIMESHEETS -> db.timesheets;
+                case ADMINS -> db.admins;
+                case AWARDS -> db.awards;
+                case WAITLIST -> db.waitlist;
+            };
+            return (Map<Integer, Object>) map;
+        }
+
+        Path file(StorageCodec codec) {
+            return Paths.get(DATA_DIR, key + "." + codec.extension());
+        }
+
+        // The generation that file() replaced, kept until the next save
+        Path backup(StorageCodec codec) {
+            return Paths.get(DATA_DIR, key + "." + codec.extension() + ".bak");
+        }
+
+        static Dataset fromKey(String key) {
+            for (Dataset dataset : values()) {
+                if (dataset.key.equals(key)) {
+                    return dataset;
+                }
+            }
+            throw new IllegalArgumentException("Unknown collection: " + key);
+        }
+    }
+
+    // Parsed snapshot footer
+    static class Footer {
+        final long length;
+        final long crc;
+
+        Footer(long length, long crc) {
+            this.length = length;
+            this.crc = crc;
+        }
     }
 
+    // One line of the journal
+    static class JournalRecord {
+        String op; // "put", "delete", or "commit" for a group written by atomically()
+        String collection;
+        int id;
+        JsonElement data; // the full entity for "put", absent for "delete"
+        List<JournalRecord> changes; // the records of a "commit"
+
+        JournalRecord(String op, Dataset dataset, int id, JsonElement data) {
+            this.op = op;
+            this.collection = dataset.key;
+            this.id = id;
+            this.data = data;
+        }
+
+        JournalRecord(List<JournalRecord> changes) {
+            this.op = "commit";
+            this.changes = changes;
+        }
+    }
+
+    // A save or delete held back by atomically(); entity is null for a delete
+    private static class PendingChange {
+        final Dataset dataset;
+        final int id;
+        final Object entity;
+
+        PendingChange(Dataset dataset, int id, Object entity) {
+            this.dataset = dataset;
+            this.id = id;
+            this.entity = entity;
+        }
+    }
+
+    // Changes made by the current thread inside atomically(), or null outside of it
+    private static final ThreadLocal<List<PendingChange>> transaction = new ThreadLocal<>();
+
     public static void initialize() {
         // Create database directory if it doesn't exist
         File dir = new File(DATA_DIR);
@@ -86,99 +279,1003 @@ public class DataPersistence {
             dir.mkdirs();
             System.out.println("Created database directory: " + DATA_DIR);
         }
-        loadDatabase();
+        synchronized (ioLock) {
+            synchronized (lock) {
+                loadDatabase();
+                // A journal left mid-compaction is older than the current one, so it is replayed first;
+                // both are always replayed, since the current one holds acknowledged writes either way
+                boolean compactingIntact = replayJournal(Paths.get(COMPACTING_FILE));
+                boolean journalIntact = replayJournal(Paths.get(JOURNAL_FILE));
+                // A torn record must not be followed by new appends, and snapshot mode
+                // has no use for a leftover journal once it has been replayed
+                if (!compactingIntact || !journalIntact || (!JOURNAL_MODE && journalRecords > 0)) {
+                    compactNow();
+                } else if (journalRecords >= COMPACTION_THRESHOLD) {
+                    // Folded in by the writer thread so startup does not have to decode the collections
+                    compactionDue = true;
+                    scheduleFlush(false);
+                }
+                if (!dirty.isEmpty()) {
+                    scheduleFlush(true);
+                }
+                if (JOURNAL_MODE && journal == null) {
+                    openJournal();
+                }
+            }
+        }
+        if (shutdownHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DataPersistence::shutdown, "vms-persistence-shutdown"));
+        }
+    }
+
+    static StorageCodec codec(String name) {
+        for (StorageCodec candidate : CODECS) {
+            if (candidate.name().equalsIgnoreCase(name)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage codec: " + name);
     }
 
+    // Finds the collection files; they are decoded later by ensureLoaded()
     private static void loadDatabase() {
-        File file = new File(DATA_FILE);
-        if (!file.exists()) {
-            database = new VMSDatabase();
+        database = new VMSDatabase();
+        unloaded.clear();
+        pendingReplay.clear();
+        VMSDatabase legacy = null;
+        for (Dataset dataset : Dataset.values()) {
+            StorageCodec stored = storedCodec(dataset);
+            if (stored != null) {
+                unloaded.put(dataset, stored);
+            } else if (new File(LEGACY_DATA_FILE).exists()) {
+                if (legacy == null) {
+                    legacy = loadLegacyDatabase();
+                }
+                dataset.in(database).putAll(dataset.in(legacy));
+                dirty.add(dataset); // migrated into its own file by the first flush
+            }
+        }
+    }
+
+    /**
+     * Starts decoding every collection that has not been loaded yet, in parallel on background
+     * threads. Callers that need a collection before its loader is done wait for it.
+     */
+    public static void loadInBackground() {
+        List<Dataset> pending;
+        synchronized (lock) {
+            pending = new ArrayList<>(unloaded.keySet());
+        }
+        if (pending.isEmpty()) {
             return;
         }
+        int threads = Math.min(pending.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService loaders = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "vms-persistence-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Dataset dataset : pending) {
+            loaders.execute(() -> loadAsync(dataset));
+        }
+        loaders.shutdown();
+    }
 
+    // Decodes a collection without holding the lock, so other collections stay usable meanwhile
+    private static void loadAsync(Dataset dataset) {
+        StorageCodec stored;
+        synchronized (lock) {
+            stored = unloaded.remove(dataset);
+            if (stored == null) {
+                return; // already loaded on demand
+            }
+            loading.add(dataset);
+        }
+        Map<Integer, Object> decoded = new HashMap<>();
+        boolean recovered = false;
         try {
-            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-            database = gson.fromJson(json, VMSDatabase.class);
-            if (database == null) {
-                database = new VMSDatabase();
+            recovered = loadGenerations(dataset, stored, decoded);
+        } finally {
+            synchronized (lock) {
+                install(dataset, stored, decoded, recovered);
+                loading.remove(dataset);
+                lock.notifyAll();
             }
-            System.out.println("Database loaded successfully from " + DATA_FILE);
+        }
+    }
+
+    /**
+     * Makes sure a collection is decoded, decoding it on the calling thread unless a background
+     * loader already has it. Called with the lock held; waiting releases it.
+     */
+    private static void ensureLoaded(Dataset dataset) {
+        boolean interrupted = false;
+        while (loading.contains(dataset)) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                interrupted = true; // the collection is still needed, so keep waiting
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        StorageCodec stored = unloaded.remove(dataset);
+        if (stored == null) {
+            return;
+        }
+        Map<Integer, Object> decoded = new HashMap<>();
+        install(dataset, stored, decoded, loadGenerations(dataset, stored, decoded));
+    }
+
+    // Adds a decoded collection to the database and applies its journal records. Called with the lock held.
+    private static void install(Dataset dataset, StorageCodec stored, Map<Integer, Object> decoded, boolean recovered) {
+        dataset.in(database).putAll(decoded);
+        if (recovered || stored != codec) {
+            // Rewrites a fresh current generation, in the configured format
+            dirty.add(dataset);
+            scheduleFlush(false);
+        }
+        List<JournalRecord> records = pendingReplay.remove(dataset);
+        if (records != null) {
+            for (JournalRecord record : records) {
+                try {
+                    apply(record);
+                } catch (RuntimeException e) {
+                    System.err.println("Ignoring unreadable journal record for " + dataset.key + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Returns a collection of the in-memory database, decoding it first if needed. Called with the lock held.
+    private static Map<Integer, Object> collection(Dataset dataset) {
+        ensureLoaded(dataset);
+        return dataset.in(database);
+    }
+
+    // The format a collection is currently stored in, preferring the configured one; null if it has no file
+    private static StorageCodec storedCodec(Dataset dataset) {
+        List<StorageCodec> candidates = new ArrayList<>(CODECS);
+        candidates.remove(codec);
+        candidates.add(0, codec);
+        for (StorageCodec candidate : candidates) {
+            if (Files.exists(dataset.file(candidate)) || Files.exists(dataset.backup(candidate))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads the current generation of a collection, or the previous one if the current file
+     * is missing or fails its checksum. A damaged file is moved aside so the next save cannot
+     * replace the good backup with it.
+     * @return true if the collection did not come from the current file and should be rewritten
+     */
+    private static boolean loadGenerations(Dataset dataset, StorageCodec format, Map<Integer, Object> target) {
+        Path file = dataset.file(format);
+        if (Files.exists(file)) {
+            if (loadCollection(dataset, format, file, target)) {
+                return false;
+            }
+            target.clear();
+            Path corrupt = Paths.get(file + ".corrupt");
+            try {
+                Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("Moved damaged " + file + " to " + corrupt);
+            } catch (IOException e) {
+                System.err.println("Error moving damaged " + file + " aside: " + e.getMessage());
+            }
+        }
+        Path backup = dataset.backup(format);
+        if (Files.exists(backup) && loadCollection(dataset, format, backup, target)) {
+            System.out.println("Recovered " + dataset.key + " from previous generation " + backup);
+            return true;
+        }
+        target.clear();
+        System.err.println("No readable generation of " + dataset.key + "; starting with it empty");
+        return false;
+    }
+
+    /**
+     * Decodes a collection file into target. The body is memory-mapped, so the checksum pass
+     * and the decoder read the page cache directly; it is verified before anything is decoded.
+     * @return false if the file could not be read or does not match its footer
+     */
+    private static boolean loadCollection(Dataset dataset, StorageCodec format, Path file, Map<Integer, Object> target) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Files written before footers were added are accepted unchecked
+            Footer footer = readFooter(channel);
+            long length = footer != null ? footer.length : channel.size();
+            ByteBuffer body = MMAP ? channel.map(FileChannel.MapMode.READ_ONLY, 0, length) : readFully(channel, length);
+            if (footer != null) {
+                CRC32 crc = new CRC32();
+                crc.update(body.duplicate());
+                if (crc.getValue() != footer.crc) {
+                    System.err.println("Checksum mismatch in " + file);
+                    return false;
+                }
+            }
+            format.read(new ByteBufferInputStream(body), dataset.type, target);
+            System.out.println("Loaded " + dataset.key + " from " + file);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading " + dataset.key + " from " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("file too large: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        channel.position(0);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // read the whole body
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads the footer from the end of a snapshot file.
+     * @return null if the file has no footer
+     * @throws IOException if the footer is present but does not describe the file
+     */
+    private static Footer readFooter(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int tailLength = (int) Math.min(size, MAX_FOOTER_LENGTH);
+        ByteBuffer tail = ByteBuffer.allocate(tailLength);
+        channel.position(size - tailLength);
+        while (tail.hasRemaining() && channel.read(tail) >= 0) {
+            // read the whole tail
+        }
+        String text = new String(tail.array(), 0, tail.position(), StandardCharsets.US_ASCII);
+        int start = text.lastIndexOf('\n' + FOOTER_PREFIX);
+        if (start < 0 || !text.endsWith("\n")) {
+            if (text.contains(FOOTER_PREFIX)) {
+                throw new IOException("truncated footer");
+            }
+            return null;
+        }
+        long length = -1;
+        long crc = -1;
+        for (String field : text.substring(start + 1 + FOOTER_PREFIX.length(), text.length() - 1).split(" ")) {
+            if (field.startsWith("length=")) {
+                length = Long.parseLong(field.substring("length=".length()));
+            } else if (field.startsWith("crc32=")) {
+                crc = Long.parseLong(field.substring("crc32=".length()), 16);
+            }
+        }
+        // The body is followed by a newline and the footer line
+        if (length != size - tailLength + start || crc < 0) {
+            throw new IOException("footer does not match file length " + size);
+        }
+        return new Footer(length, crc);
+    }
+
+    // Feeds a (mapped) buffer to a codec
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return len == 0 ? 0 : -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static VMSDatabase loadLegacyDatabase() {
+        try (Reader reader = Files.newBufferedReader(Paths.get(LEGACY_DATA_FILE), StandardCharsets.UTF_8)) {
+            VMSDatabase legacy = gson.fromJson(reader, VMSDatabase.class);
+            System.out.println("Migrating database from " + LEGACY_DATA_FILE);
+            return legacy != null ? legacy : new VMSDatabase();
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Error loading database from " + LEGACY_DATA_FILE + ": " + e.getMessage());
+            return new VMSDatabase();
+        }
+    }
+
+    /**
+     * Streams a collection to a temporary file, syncs it and renames it over the current file,
+     * which becomes the backup. A crash at any point leaves either the old or the new
+     * generation intact. Call syncDirectory() once the batch of saves is done.
+     */
+    private static boolean saveCollection(Dataset dataset, Map<Integer, Object> contents) {
+        return saveCollection(dataset, codec, contents);
+    }
+
+    private static boolean saveCollection(Dataset dataset, StorageCodec format, Map<Integer, Object> contents) {
+        Path file = dataset.file(format);
+        Path temp = Paths.get(file + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CRC32 crc = new CRC32();
+                format.write(new CheckedOutputStream(Channels.newOutputStream(channel), crc), dataset.type, contents);
+                String footer = "\n" + FOOTER_PREFIX + "length=" + channel.position()
+                        + " crc32=" + Long.toHexString(crc.getValue()) + "\n";
+                ByteBuffer bytes = ByteBuffer.wrap(footer.getBytes(StandardCharsets.US_ASCII));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                if (FSYNC) {
+                    channel.force(true);
+                }
+            }
+            if (Files.exists(file)) {
+                Files.move(file, dataset.backup(format), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            for (StorageCodec other : CODECS) {
+                if (other != format) {
+                    // Stale copies in another format must not be picked up by a later start
+                    Files.deleteIfExists(dataset.file(other));
+                    Files.deleteIfExists(dataset.backup(other));
+                }
+            }
+            System.out.println("Saved " + dataset.key + " to " + file);
+            return true;
         } catch (IOException e) {
-            System.err.println("Error loading database from " + DATA_FILE + ": " + e.getMessage());
-            database = new VMSDatabase();
+            System.err.println("Error saving " + dataset.key + " to " + file + ": " + e.getMessage());
+            return false;
         }
     }
 
-    private static void saveDatabase() {
+    // Makes the renames of a batch of saves durable with one directory sync
+    private static void syncDirectory() {
+        if (!FSYNC) {
+            return;
+        }
+        try (FileChannel dir = FileChannel.open(Paths.get(DATA_DIR), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory (e.g. Windows); the renames are still atomic there
+        }
+    }
+
+    /**
+     * Applies a journal file on top of the loaded snapshot. Unreadable records are skipped;
+     * a file that cannot be read at all is moved aside to a .unreadable file, never dropped.
+     * @return false if a record or the file could not be read
+     */
+    private static boolean replayJournal(Path path) {
+        if (!Files.exists(path)) {
+            return true;
+        }
+
+        int replayed = 0;
+        boolean intact = true;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    apply(gson.fromJson(line, JournalRecord.class));
+                    replayed++;
+                } catch (JsonParseException | IllegalArgumentException e) {
+                    // A crash during an append leaves a partial line; the records around it are intact
+                    System.err.println("Ignoring unreadable journal record in " + path + ": " + e.getMessage());
+                    intact = false;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading journal " + path + ": " + e.getMessage());
+            setAside(path);
+            intact = false;
+        }
+        if (replayed > 0) {
+            System.out.println("Replayed " + replayed + " journal records from " + path);
+        }
+        journalRecords += replayed;
+        return intact;
+    }
+
+    // Keeps a journal that could not be replayed out of the way of compaction
+    private static void setAside(Path path) {
+        Path aside = Paths.get(path + ".unreadable");
+        for (int n = 1; Files.exists(aside); n++) {
+            aside = Paths.get(path + ".unreadable." + n);
+        }
         try {
-            String json = gson.toJson(database);
-            Files.write(new File(DATA_FILE).toPath(), json.getBytes(StandardCharsets.UTF_8));
-            System.out.println("Database saved successfully to " + DATA_FILE);
+            Files.move(path, aside);
+            System.err.println("Moved unreadable journal to " + aside + "; its records have not been applied");
         } catch (IOException e) {
-            System.err.println("Error saving database to " + DATA_FILE + ": " + e.getMessage());
+            System.err.println("Cannot move unreadable journal " + path + " aside, keeping all journals: " + e.getMessage());
+            journalsPinned = true;
         }
     }
 
+    private static void apply(JournalRecord record) {
+        if ("commit".equals(record.op)) {
+            // The whole line has been parsed, so a torn commit never gets here; check every op before applying any
+            if (record.changes == null) {
+                throw new IllegalArgumentException("Commit record without changes");
+            }
+            for (JournalRecord change : record.changes) {
+                if (!"put".equals(change.op) && !"delete".equals(change.op)) {
+                    throw new IllegalArgumentException("Unknown journal operation in commit: " + change.op);
+                }
+                Dataset.fromKey(change.collection);
+            }
+            record.changes.forEach(DataPersistence::apply);
+            return;
+        }
+        Dataset dataset = Dataset.fromKey(record.collection);
+        journaled.add(dataset);
+        if (!"put".equals(record.op) && !"delete".equals(record.op)) {
+            throw new IllegalArgumentException("Unknown journal operation: " + record.op);
+        }
+        if (unloaded.containsKey(dataset)) {
+            pendingReplay.computeIfAbsent(dataset, d -> new ArrayList<>()).add(record);
+            return;
+        }
+        Map<Integer, Object> target = dataset.in(database);
+        if ("put".equals(record.op)) {
+            target.put(record.id, gson.fromJson(record.data, dataset.type));
+        } else {
+            target.remove(record.id);
+        }
+    }
+
+    private static void openJournal() {
+        try {
+            journalChannel = FileChannel.open(Paths.get(JOURNAL_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            journal = new BufferedWriter(Channels.newWriter(journalChannel, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // Mutations fall back to full snapshot saves while the journal is unavailable
+            System.err.println("Error opening journal " + JOURNAL_FILE + ": " + e.getMessage());
+            journal = null;
+            journalChannel = null;
+        }
+    }
+
+    private static void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.flush();
+            if (FSYNC) {
+                journalChannel.force(false);
+            }
+            journal.close();
+        }
+        journal = null;
+        journalChannel = null;
+    }
+
+    /**
+     * Rewrites every collection in the given format, folding in the journal, and removes the
+     * files in other formats. Used by CodecConverter while the application is not running.
+     * @return false if a collection could not be written; the journal is kept in that case
+     */
+    static boolean convert(StorageCodec target) {
+        synchronized (ioLock) {
+            synchronized (lock) {
+                loadDatabase();
+                replayJournal(Paths.get(COMPACTING_FILE));
+                replayJournal(Paths.get(JOURNAL_FILE));
+                boolean converted = true;
+                for (Dataset dataset : Dataset.values()) {
+                    converted &= saveCollection(dataset, target, collection(dataset));
+                }
+                syncDirectory();
+                dirty.clear();
+                journaled.clear();
+                if (converted && !journalsPinned) {
+                    try {
+                        Files.deleteIfExists(Paths.get(COMPACTING_FILE));
+                        Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+                        journalRecords = 0;
+                    } catch (IOException e) {
+                        System.err.println("Error removing journal " + JOURNAL_FILE + ": " + e.getMessage());
+                    }
+                }
+                return converted;
+            }
+        }
+    }
+
+    // Writes the journaled collections and discards the journals; only used before the writer thread takes over
+    private static void compactNow() {
+        dirty.addAll(journaled);
+        for (Dataset dataset : EnumSet.copyOf(dirty)) {
+            if (!saveCollection(dataset, collection(dataset))) {
+                return; // keep the journal, it is still needed to rebuild the current state
+            }
+            dirty.remove(dataset);
+        }
+        syncDirectory();
+        journaled.clear();
+        if (journalsPinned) {
+            return;
+        }
+        try {
+            closeJournal();
+            Files.deleteIfExists(Paths.get(COMPACTING_FILE));
+            Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+            journalRecords = 0;
+        } catch (IOException e) {
+            System.err.println("Error resetting journal " + JOURNAL_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the records written so far aside so that new appends go to an empty journal
+     * while the snapshot that covers them is written. Called with the lock held.
+     */
+    private static void rotateJournal() {
+        Path current = Paths.get(JOURNAL_FILE);
+        Path compacting = Paths.get(COMPACTING_FILE);
+        try {
+            closeJournal();
+            if (Files.exists(compacting)) {
+                // An earlier snapshot failed; its records are still needed, so keep them together,
+                // on a line of their own in case the older file ends in a torn record
+                byte[] records = Files.readAllBytes(current);
+                if (!endsWithNewline(compacting)) {
+                    Files.write(compacting, new byte[] {'\n'}, StandardOpenOption.APPEND);
+                }
+                Files.write(compacting, records, StandardOpenOption.APPEND);
+                Files.delete(current);
+            } else {
+                Files.move(current, compacting, StandardCopyOption.ATOMIC_MOVE);
+            }
+            journalRecords = 0;
+        } catch (IOException e) {
+            System.err.println("Error rotating journal " + JOURNAL_FILE + ": " + e.getMessage());
+        }
+        openJournal();
+    }
+
+    private static boolean endsWithNewline(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private static void put(Dataset dataset, int id, Object entity) {
+        List<PendingChange> pending = transaction.get();
+        if (pending != null) {
+            pending.add(new PendingChange(dataset, id, entity));
+            return;
+        }
+        synchronized (lock) {
+            collection(dataset).put(id, entity);
+            record("put", dataset, id, entity);
+        }
+    }
+
+    private static void remove(Dataset dataset, int id) {
+        List<PendingChange> pending = transaction.get();
+        if (pending != null) {
+            pending.add(new PendingChange(dataset, id, null));
+            return;
+        }
+        synchronized (lock) {
+            if (collection(dataset).remove(id) != null) {
+                record("delete", dataset, id, null);
+            }
+        }
+    }
+
+    /**
+     * Runs work with the saves and deletes it makes on this thread held back, then applies
+     * them all at once and appends them to the journal as a single commit record, so a
+     * crash leaves either all of them or none. Nothing is kept if work throws. A call made
+     * inside work joins the outer one. In snapshot mode the changed collections are still
+     * rewritten one file at a time.
+     */
+    public static void atomically(Runnable work) {
+        if (transaction.get() != null) {
+            work.run();
+            return;
+        }
+        List<PendingChange> pending = new ArrayList<>();
+        transaction.set(pending);
+        try {
+            work.run();
+        } finally {
+            transaction.remove();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            List<JournalRecord> records = new ArrayList<>(pending.size());
+            EnumSet<Dataset> datasets = EnumSet.noneOf(Dataset.class);
+            for (PendingChange change : pending) {
+                Map<Integer, Object> target = collection(change.dataset);
+                if (change.entity != null) {
+                    target.put(change.id, change.entity);
+                    records.add(new JournalRecord("put", change.dataset, change.id, gson.toJsonTree(change.entity)));
+                } else if (target.remove(change.id) != null) {
+                    records.add(new JournalRecord("delete", change.dataset, change.id, null));
+                } else {
+                    continue;
+                }
+                datasets.add(change.dataset);
+            }
+            if (records.size() == 1) {
+                append(records.get(0), datasets);
+            } else if (!records.isEmpty()) {
+                append(new JournalRecord(records), datasets);
+            }
+        }
+    }
+
+    private static void record(String op, Dataset dataset, int id, Object entity) {
+        JsonElement data = entity != null ? gson.toJsonTree(entity) : null;
+        append(new JournalRecord(op, dataset, id, data), EnumSet.of(dataset));
+    }
+
+    // Buffers one journal record, covering changes to the given collections, for the writer thread. Called with the lock held.
+    private static void append(JournalRecord record, EnumSet<Dataset> datasets) {
+        changeCount++;
+        if (journal != null) {
+            try {
+                journal.write(gson.toJson(record));
+                journal.write('\n');
+                journaled.addAll(datasets);
+                if (++journalRecords >= COMPACTION_THRESHOLD) {
+                    compactionDue = true;
+                }
+            } catch (IOException e) {
+                System.err.println("Error appending to journal " + JOURNAL_FILE + ": " + e.getMessage());
+                dirty.addAll(datasets); // the snapshot still captures the changes
+            }
+        } else {
+            dirty.addAll(datasets);
+        }
+        scheduleFlush(false);
+    }
+
+    // Replaces a whole collection; the next flush rewrites its snapshot file
+    private static void replace(Dataset dataset, Map<Integer, ?> contents) {
+        synchronized (lock) {
+            Map<Integer, Object> target = collection(dataset);
+            target.clear();
+            target.putAll(contents);
+            changeCount++;
+            dirty.add(dataset);
+            scheduleFlush(false);
+        }
+    }
+
+    /**
+     * Debounces flushes: each change pushes the flush back by SAVE_DELAY_MS, but never
+     * further than MAX_LATENCY_MS after the oldest unflushed change. Called with the lock held.
+     */
+    private static void scheduleFlush(boolean immediate) {
+        if (writer.isShutdown()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (firstPendingAt == 0) {
+            firstPendingAt = now;
+        }
+        long deadline = immediate ? now : Math.min(now + TimeUnit.MILLISECONDS.toNanos(SAVE_DELAY_MS),
+                firstPendingAt + TimeUnit.MILLISECONDS.toNanos(MAX_LATENCY_MS));
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+        }
+        pendingFlush = writer.schedule(DataPersistence::flushPending, Math.max(0, deadline - now), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Writes every change made so far in one go: the buffered journal records are flushed and
+     * synced together (group commit), and the snapshot files of changed collections are
+     * rewritten if they are due.
+     */
+    private static void flushPending() {
+        synchronized (ioLock) {
+            long target;
+            Map<Dataset, Map<Integer, Object>> snapshots = new EnumMap<>(Dataset.class);
+            synchronized (lock) {
+                target = changeCount;
+                firstPendingAt = 0;
+                if (pendingFlush != null) {
+                    pendingFlush.cancel(false);
+                    pendingFlush = null;
+                }
+                if (journal != null) {
+                    try {
+                        journal.flush();
+                    } catch (IOException e) {
+                        System.err.println("Error flushing journal " + JOURNAL_FILE + ": " + e.getMessage());
+                        compactionDue = true;
+                    }
+                }
+                if (journal != null && (compactionDue || !dirty.isEmpty())) {
+                    // Once the journal is moved aside, every collection it touched must be rewritten
+                    dirty.addAll(journaled);
+                    journaled.clear();
+                    compactionDue = false;
+                    rotateJournal();
+                }
+                // Waiting for a background loader releases the lock, so every dirty collection
+                // is loaded before any snapshot is taken
+                for (Dataset dataset : EnumSet.copyOf(dirty)) {
+                    ensureLoaded(dataset);
+                }
+                for (Dataset dataset : dirty) {
+                    // Shallow copy so the collection can be serialized without holding the lock
+                    snapshots.put(dataset, new HashMap<>(collection(dataset)));
+                }
+                dirty.clear();
+            }
+
+            // The slow part runs without the lock so callers can keep mutating
+            boolean durable = true;
+            if (journalChannel != null && FSYNC) {
+                try {
+                    journalChannel.force(false);
+                } catch (IOException e) {
+                    System.err.println("Error syncing journal " + JOURNAL_FILE + ": " + e.getMessage());
+                    durable = false;
+                }
+            }
+            EnumSet<Dataset> failed = EnumSet.noneOf(Dataset.class);
+            for (Map.Entry<Dataset, Map<Integer, Object>> entry : snapshots.entrySet()) {
+                if (!saveCollection(entry.getKey(), entry.getValue())) {
+                    failed.add(entry.getKey());
+                }
+            }
+            if (!snapshots.isEmpty()) {
+                syncDirectory();
+            }
+            if (!snapshots.isEmpty() && failed.isEmpty() && !journalsPinned) {
+                try {
+                    Files.deleteIfExists(Paths.get(COMPACTING_FILE));
+                } catch (IOException e) {
+                    System.err.println("Error removing " + COMPACTING_FILE + ": " + e.getMessage());
+                }
+            }
+
+            synchronized (lock) {
+                // Retried on the next flush; in journal mode the compacting file still holds the changes
+                dirty.addAll(failed);
+                if (!failed.isEmpty() && journal == null) {
+                    durable = false;
+                }
+                attemptedCount = Math.max(attemptedCount, target);
+                if (durable) {
+                    durableCount = Math.max(durableCount, target);
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // The Gson used for entities, with the java.time adapters; also used by the JDBC repositories
+    public static Gson gson() {
+        return gson;
+    }
+
+    // A deep copy of entity made through its JSON form, or null for null; lets a change be
+    // prepared or undone without touching the instance a repository holds
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T entity) {
+        return entity != null ? (T) gson.fromJson(gson.toJsonTree(entity), entity.getClass()) : null;
+    }
+
+    /**
+     * Starts writing all pending changes now instead of waiting for the debounce delay.
+     */
+    public static void flush() {
+        synchronized (lock) {
+            if (changeCount > attemptedCount) {
+                scheduleFlush(true);
+            }
+        }
+    }
+
+    /**
+     * Blocks until every change made before this call has been written to disk.
+     * @return false if the write failed or the wait was interrupted
+     */
+    public static boolean awaitDurable() {
+        synchronized (lock) {
+            long target = changeCount;
+            if (durableCount >= target) {
+                return true;
+            }
+            if (writer.isShutdown()) {
+                return false;
+            }
+            scheduleFlush(true);
+            try {
+                while (attemptedCount < target) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return durableCount >= target;
+        }
+    }
+
+    /**
+     * Writes all pending changes on the calling thread and stops the writer thread.
+     * Registered as a shutdown hook by initialize().
+     */
+    public static void shutdown() {
+        writer.shutdown();
+        flushPending();
+        synchronized (ioLock) {
+            synchronized (lock) {
+                try {
+                    closeJournal();
+                } catch (IOException e) {
+                    System.err.println("Error closing journal " + JOURNAL_FILE + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    public static void saveVolunteer(Volunteer volunteer) {
+        put(Dataset.VOLUNTEERS, volunteer.getId(), volunteer);
+    }
+
+    public static void deleteVolunteer(int id) {
+        remove(Dataset.VOLUNTEERS, id);
+    }
+
     public static void saveVolunteers(Map<Integer, Volunteer> volunteers) {
-        database.volunteers = new HashMap<>(volunteers);
-        saveDatabase();
+        replace(Dataset.VOLUNTEERS, volunteers);
     }
 
     public static Map<Integer, Volunteer> loadVolunteers() {
-        return new HashMap<>(database.volunteers);
+        synchronized (lock) {
+            ensureLoaded(Dataset.VOLUNTEERS);
+            return new HashMap<>(database.volunteers);
+        }
+    }
+
+    public static void saveEvent(Event event) {
+        put(Dataset.EVENTS, event.getEventId(), event);
+    }
+
+    public static void deleteEvent(int eventId) {
+        remove(Dataset.EVENTS, eventId);
     }
 
     public static void saveEvents(Map<Integer, Event> events) {
-        database.events = new HashMap<>(events);
-        saveDatabase();
+        replace(Dataset.EVENTS, events);
     }
 
     public static Map<Integer, Event> loadEvents() {
-        return new HashMap<>(database.events);
+        synchronized (lock) {
+            ensureLoaded(Dataset.EVENTS);
+            return new HashMap<>(database.events);
+        }
+    }
+
+    public static void saveAttendanceRecord(Attendance attendance) {
+        put(Dataset.ATTENDANCE, attendance.getAttendanceId(), attendance);
+    }
+
+    public static void deleteAttendanceRecord(int attendanceId) {
+        remove(Dataset.ATTENDANCE, attendanceId);
     }
 
     public static void saveAttendance(Map<Integer, Attendance> attendance) {
-        database.attendance = new HashMap<>(attendance);
-        saveDatabase();
+        replace(Dataset.ATTENDANCE, attendance);
     }
 
     public static Map<Integer, Attendance> loadAttendance() {
-        return new HashMap<>(database.attendance);
+        synchronized (lock) {
+            ensureLoaded(Dataset.ATTENDANCE);
+            return new HashMap<>(database.attendance);
+        }
+    }
+
+    public static void saveAnnouncement(Announcement announcement) {
+        put(Dataset.ANNOUNCEMENTS, announcement.getAnnouncementId(), announcement);
+    }
+
+    public static void deleteAnnouncement(int announcementId) {
+        remove(Dataset.ANNOUNCEMENTS, announcementId);
     }
 
     public static void saveAnnouncements(Map<Integer, Announcement> announcements) {
-        database.announcements = new HashMap<>(announcements);
-        saveDatabase();
+        replace(Dataset.ANNOUNCEMENTS, announcements);
     }
 
     public static Map<Integer, Announcement> loadAnnouncements() {
-        return new HashMap<>(database.announcements);
+        synchronized (lock) {
+            ensureLoaded(Dataset.ANNOUNCEMENTS);
+            return new HashMap<>(database.announcements);
+        }
+    }
+
+    public static void saveTimesheet(Timesheet timesheet) {
+        put(Dataset.TIMESHEETS, timesheet.getTimesheetId(), timesheet);
+    }
+
+    public static void deleteTimesheet(int timesheetId) {
+        remove(Dataset.TIMESHEETS, timesheetId);
     }
 
     public static void saveTimesheets(Map<Integer, Timesheet> timesheets) {
-        database.timesheets = new HashMap<>(timesheets);
-        saveDatabase();
+        replace(Dataset.TIMESHEETS, timesheets);
     }
 
     public static Map<Integer, Timesheet> loadTimesheets() {
-        return new HashMap<>(database.timesheets);
+        synchronized (lock) {
+            ensureLoaded(Dataset.TIMESHEETS);
+            return new HashMap<>(database.timesheets);
+        }
+    }
+
+    public static void saveAdmin(SystemAdmin admin) {
+        put(Dataset.ADMINS, admin.getId(), admin);
     }
 
     public static void saveAdmins(Map<Integer, SystemAdmin> admins) {
-        database.admins = new HashMap<>(admins);
-        saveDatabase();
+        replace(Dataset.ADMINS, admins);
     }
 
     public static Map<Integer, SystemAdmin> loadAdmins() {
-        return new HashMap<>(database.admins);
+        synchronized (lock) {
+            ensureLoaded(Dataset.ADMINS);
+            return new HashMap<>(database.admins);
+        }
+    }
+
+    public static void saveAward(Award award) {
+        put(Dataset.AWARDS, award.getAwardId(), award);
     }
 
     public static void saveAwards(Map<Integer, Award> awards) {
-        database.awards = new HashMap<>(awards);
-        saveDatabase();
+        replace(Dataset.AWARDS, awards);
     }
 
     public static Map<Integer, Award> loadAwards() {
-        return new HashMap<>(database.awards);
+        synchronized (lock) {
+            ensureLoaded(Dataset.AWARDS);
+            return new HashMap<>(database.awards);
+        }
+    }
+
+    public static void saveWaitlistEntry(WaitlistEntry entry) {
+        put(Dataset.WAITLIST, entry.getEntryId(), entry);
+    }
+
+    public static void deleteWaitlistEntry(int entryId) {
+        remove(Dataset.WAITLIST, entryId);
+    }
+
+    public static Map<Integer, WaitlistEntry> loadWaitlist() {
+        synchronized (lock) {
+            ensureLoaded(Dataset.WAITLIST);
+            return new HashMap<>(database.waitlist);
+        }
     }
 }
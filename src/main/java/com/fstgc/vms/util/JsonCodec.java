@@ -0,0 +1,60 @@
+package com.fstgc.vms.util;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Stores a collection as one JSON object keyed by id, streamed entity by entity
+ * so the text is never held in memory as a whole.
+ */
+class JsonCodec implements StorageCodec {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Gson gson;
+
+    JsonCodec(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public String extension() {
+        return "json";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(OutputStream out, Class<?> type, Map<Integer, ?> entities) throws IOException {
+        TypeAdapter<Object> adapter = (TypeAdapter<Object>) gson.getAdapter(type);
+        JsonWriter writer = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        writer.beginObject();
+        for (Map.Entry<Integer, ?> entry : entities.entrySet()) {
+            writer.name(String.valueOf(entry.getKey()));
+            adapter.write(writer, entry.getValue());
+        }
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Override
+    public void read(InputStream in, Class<?> type, Map<Integer, Object> target) throws IOException {
+        TypeAdapter<?> adapter = gson.getAdapter(type);
+        JsonReader reader = gson.newJsonReader(new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            int id = Integer.parseInt(reader.nextName());
+            target.put(id, adapter.read(reader));
+        }
+        reader.endObject();
+    }
+}
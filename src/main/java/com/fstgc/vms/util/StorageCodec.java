@@ -0,0 +1,24 @@
+package com.fstgc.vms.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Encodes one collection of entities, keyed by id, to and from a snapshot file.
+ * DataPersistence wraps the streams with the checksum footer, so codecs only deal
+ * with the body. Implementations must flush but not close the streams they are given.
+ */
+public interface StorageCodec {
+
+    // Short name used by -Dvms.persistence.codec and the converter tool
+    String name();
+
+    // File extension of collection files written by this codec, without the dot
+    String extension();
+
+    void write(OutputStream out, Class<?> type, Map<Integer, ?> entities) throws IOException;
+
+    void read(InputStream in, Class<?> type, Map<Integer, Object> target) throws IOException;
+}
@@ -0,0 +1,109 @@
+package com.fstgc.vms.util;
+
+import com.fstgc.vms.model.Timesheet;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares the streaming JSON codec with the way collections used to be stored: the whole
+ * pretty-printed file built as one String before writing, and read back through
+ * readAllBytes, a String and fromJson. For each size it saves and loads a timesheet
+ * collection both ways and prints the wall time, the heap's peak rise and the file size.
+ * Files go to a temporary directory and the checksum footer is left out, so only the
+ * codecs are measured. Give the JVM room for the largest size, e.g.
+ *   java -Xmx4g -cp <classpath> com.fstgc.vms.util.StreamingBenchmark [records ...]
+ * The default sizes are 10,000, 100,000 and 1,000,000 records.
+ */
+public class StreamingBenchmark {
+    private static final Gson GSON = DataPersistence.gson();
+    private static final Gson PRETTY = GSON.newBuilder().setPrettyPrinting().create();
+    private static final Type MAP_TYPE = TypeToken.getParameterized(Map.class, Integer.class, Timesheet.class).getType();
+
+    private interface Step {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[] {10_000, 100_000, 1_000_000};
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", "").replace(",", ""));
+        }
+        Path dir = Files.createTempDirectory("vms-streaming-bench");
+        try {
+            // Lets the JIT compile both paths before anything is measured
+            run(dir, 5_000, false);
+            System.out.printf("%-10s %-10s %-5s %10s %14s %14s%n", "records", "format", "step", "time", "peak heap", "file");
+            for (int size : sizes) {
+                run(dir, size, true);
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void run(Path dir, int size, boolean print) throws IOException {
+        JsonCodec codec = new JsonCodec(GSON);
+        Path stringFile = dir.resolve("string-" + size + ".json");
+        Path streamFile = dir.resolve("stream-" + size + ".json");
+        save(codec, stringFile, streamFile, size, print);
+
+        // The loaded maps are kept until both loads are measured, as an application would keep them
+        Map<?, ?>[] loaded = new Map<?, ?>[2];
+        measure(print, size, "string", "load", stringFile, () -> {
+            String json = new String(Files.readAllBytes(stringFile), StandardCharsets.UTF_8);
+            loaded[0] = GSON.fromJson(json, MAP_TYPE);
+        });
+        loaded[0] = null;
+        measure(print, size, "stream", "load", streamFile, () -> {
+            Map<Integer, Object> target = new HashMap<>();
+            try (InputStream in = Files.newInputStream(streamFile)) {
+                codec.read(in, Timesheet.class, target);
+            }
+            loaded[1] = target;
+        });
+        loaded[1] = null;
+        Files.deleteIfExists(stringFile);
+        Files.deleteIfExists(streamFile);
+    }
+
+    // The collection is only reachable from here, so it is gone before the loads are measured
+    private static void save(JsonCodec codec, Path stringFile, Path streamFile, int size, boolean print)
+            throws IOException {
+        Map<Integer, Timesheet> data = Benchmarks.timesheets(size);
+        measure(print, size, "string", "save", stringFile, () ->
+                Files.write(stringFile, PRETTY.toJson(data, MAP_TYPE).getBytes(StandardCharsets.UTF_8)));
+        measure(print, size, "stream", "save", streamFile, () -> {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(streamFile))) {
+                codec.write(out, Timesheet.class, data);
+            }
+        });
+    }
+
+    private static void measure(boolean print, int size, String format, String step, Path file, Step work)
+            throws IOException {
+        long baseline = Benchmarks.resetHeap();
+        long started = System.nanoTime();
+        work.run();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        long peak = Benchmarks.peakAbove(baseline);
+        if (print) {
+            System.out.printf("%,-10d %-10s %-5s %7d ms %14s %14s%n", size, format, step, elapsedMs,
+                    Benchmarks.megabytes(peak), Benchmarks.megabytes(Files.size(file)));
+        }
+    }
+}